@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A generator of synthetic site sources.
+ *
+ * The corpus is made of a home page and of sections of
+ * {@value #PAGES_PER_SECTION} pages, each page has a document header, a few
+ * sections with paragraphs, source listings including shared snippets, tables
+ * and admonitions. Only the blocks supported by both the basic and the vuetify
+ * backends are used.
+ *
+ * The generation is deterministic: the content of a page only depends on its
+ * index, a corpus of {@code n} pages is a prefix of any bigger corpus.
+ *
+ * @author rgrecour
+ */
+public final class Corpus {
+
+    /**
+     * The source path of the home page.
+     */
+    public static final String HOME_PAGE = "home.adoc";
+
+    /**
+     * The number of pages per section.
+     */
+    public static final int PAGES_PER_SECTION = 10;
+
+    private static final int SNIPPETS = 10;
+    private static final long SEED = 0x5174_6567_656EL;
+    private static final String[] WORDS = new String[]{
+        "helidon", "config", "server", "routing", "handler", "request",
+        "response", "reactive", "stream", "security", "provider", "tracing",
+        "metrics", "health", "client", "service", "endpoint", "media",
+        "support", "builder", "the", "a", "of", "with", "and", "to", "is",
+        "for", "in", "on", "as", "by", "an", "this", "that", "each"
+    };
+
+    private final File dir;
+    private final int pages;
+
+    private Corpus(File dir, int pages) {
+        this.dir = dir;
+        this.pages = pages;
+    }
+
+    /**
+     * Create a corpus under {@code target/benchmarks/corpus-<pages>}.
+     *
+     * @param pages the number of pages, including the home page
+     * @return the created corpus
+     */
+    public static Corpus create(int pages) {
+        return create(Paths.get("target", "benchmarks", "corpus-" + pages).toFile(), pages);
+    }
+
+    /**
+     * Create a corpus in the given directory.
+     *
+     * @param dir the directory to generate the sources in
+     * @param pages the number of pages, including the home page
+     * @return the created corpus
+     */
+    public static Corpus create(File dir, int pages) {
+        if (pages < 1) {
+            throw new IllegalArgumentException("pages must be greater than 0");
+        }
+        Path root = dir.toPath();
+        try {
+            for (int i = 0; i < SNIPPETS; i++) {
+                write(root.resolve(snippetPath(i)), snippet(i));
+            }
+            write(root.resolve(HOME_PAGE), page(0, "Home"));
+            for (int i = 1; i < pages; i++) {
+                write(root.resolve(pagePath(i)), page(i, "Page " + i));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return new Corpus(dir.getAbsoluteFile(), pages);
+    }
+
+    /**
+     * Get the relative paths of the sources of a corpus, without generating
+     * it.
+     *
+     * @param pages the number of pages, including the home page
+     * @return the relative paths of the pages and snippets
+     */
+    public static List<String> paths(int pages) {
+        List<String> paths = new ArrayList<>();
+        paths.add(HOME_PAGE);
+        for (int i = 1; i < pages; i++) {
+            paths.add(pagePath(i));
+        }
+        for (int i = 0; i < SNIPPETS; i++) {
+            paths.add(snippetPath(i));
+        }
+        return paths;
+    }
+
+    /**
+     * Get the source directory.
+     *
+     * @return the source directory
+     */
+    public File dir() {
+        return dir;
+    }
+
+    /**
+     * Get the number of pages.
+     *
+     * @return the number of pages, including the home page
+     */
+    public int pages() {
+        return pages;
+    }
+
+    /**
+     * Get the page filters that select all the pages of the corpus.
+     *
+     * @return {@code List<SourcePathFilter>}
+     */
+    public List<SourcePathFilter> pageFilters() {
+        return Collections.singletonList(SourcePathFilter.builder()
+                .includes(Collections.singletonList("**/*.adoc"))
+                .build());
+    }
+
+    /**
+     * Get the vuetify navigation of the corpus, one sub-group per section.
+     *
+     * @return the navigation
+     */
+    public VuetifyNavigation navigation() {
+        List<VuetifyNavigation.Item> items = new ArrayList<>();
+        for (int i = 0; i < sections(pages); i++) {
+            String section = sectionDir(i);
+            items.add(VuetifyNavigation.SubGroup.builder()
+                    .pathprefix("/" + section)
+                    .items(Collections.singletonList(VuetifyNavigation.Pages.builder()
+                            .includes(Collections.singletonList(section + "/*.adoc"))
+                            .build()))
+                    .title("Section " + i)
+                    .glyph(Glyph.builder()
+                            .type("icon")
+                            .value("code")
+                            .build())
+                    .build());
+        }
+        return VuetifyNavigation.builder()
+                .title("Benchmark")
+                .items(Collections.singletonList(VuetifyNavigation.Group.builder()
+                        .items(items)
+                        .title("Documentation")
+                        .build()))
+                .build();
+    }
+
+    /**
+     * Create a site for the corpus.
+     *
+     * @param backend the backend name, {@code basic} or {@code vuetify}
+     * @param threads the number of rendering threads
+     * @return the created site
+     */
+    public Site site(String backend, int threads) {
+        Site.Builder builder = Site.builder()
+                .pages(pageFilters())
+                .renderingThreads(threads);
+        switch (backend) {
+            case ("basic"):
+                builder.backend(new BasicBackend());
+                break;
+            case ("vuetify"):
+                builder.backend(VuetifyBackend.builder()
+                        .homePage(HOME_PAGE)
+                        .releases(Collections.singletonList("1.0"))
+                        .navigation(navigation())
+                        .build());
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown backend: " + backend);
+        }
+        return builder.build();
+    }
+
+    private static int sections(int pages) {
+        return (pages - 1 + PAGES_PER_SECTION - 1) / PAGES_PER_SECTION;
+    }
+
+    private static String sectionDir(int section) {
+        return String.format("section-%02d", section);
+    }
+
+    private static String pagePath(int index) {
+        return String.format("%s/page-%04d.adoc", sectionDir((index - 1) / PAGES_PER_SECTION), index);
+    }
+
+    private static String snippetPath(int index) {
+        return String.format("snippets/Snippet%d.java", index);
+    }
+
+    private static void write(Path path, String content) throws IOException {
+        Files.createDirectories(path.getParent());
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String snippet(int index) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("public class Snippet").append(index).append(" {\n\n");
+        for (int i = 0; i <= index; i++) {
+            sb.append("    public String method").append(i).append("() {\n")
+                    .append("        return \"value").append(i).append("\";\n")
+                    .append("    }\n\n");
+        }
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private static String page(int index, String title) {
+        Random random = new Random(SEED + index);
+        String includePrefix = index == 0 ? "" : "../";
+        StringBuilder sb = new StringBuilder();
+        sb.append("= ").append(title).append('\n')
+                .append(":description: ").append(sentence(random, 8)).append('\n')
+                .append(":keywords: ").append(word(random)).append(", ").append(word(random)).append('\n')
+                .append('\n')
+                .append(paragraph(random)).append("\n\n");
+        int sections = 2 + random.nextInt(4);
+        for (int s = 1; s <= sections; s++) {
+            sb.append("== ").append(capitalize(sentence(random, 3))).append("\n\n");
+            int blocks = 2 + random.nextInt(5);
+            for (int b = 0; b < blocks; b++) {
+                switch (random.nextInt(6)) {
+                    case 0:
+                        sb.append("[source,java]\n")
+                                .append(".").append(capitalize(sentence(random, 3))).append('\n')
+                                .append("----\n")
+                                .append("include::").append(includePrefix)
+                                .append(snippetPath(random.nextInt(SNIPPETS))).append("[]\n")
+                                .append("----\n\n");
+                        break;
+                    case 1:
+                        sb.append("[cols=\"1,2\"]\n|===\n|Name |Description\n\n");
+                        for (int r = 0; r < 2 + random.nextInt(6); r++) {
+                            sb.append("|`").append(word(random)).append("` |")
+                                    .append(sentence(random, 6)).append('\n');
+                        }
+                        sb.append("|===\n\n");
+                        break;
+                    case 2:
+                        sb.append("NOTE: ").append(sentence(random, 12)).append("\n\n");
+                        break;
+                    case 3:
+                        sb.append("=== ").append(capitalize(sentence(random, 2))).append("\n\n")
+                                .append(paragraph(random)).append("\n\n");
+                        break;
+                    default:
+                        sb.append(paragraph(random)).append("\n\n");
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String paragraph(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int sentences = 2 + random.nextInt(5);
+        for (int i = 0; i < sentences; i++) {
+            if (i > 0) {
+                sb.append(i % 3 == 0 ? " +\n" : "\n");
+            }
+            sb.append(capitalize(sentence(random, 6 + random.nextInt(10)))).append('.');
+        }
+        return sb.toString();
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            String word = word(random);
+            switch (random.nextInt(12)) {
+                case 0:
+                    sb.append('*').append(word).append('*');
+                    break;
+                case 1:
+                    sb.append('_').append(word).append('_');
+                    break;
+                case 2:
+                    sb.append('`').append(word).append('`');
+                    break;
+                default:
+                    sb.append(word);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String capitalize(String str) {
+        return Character.toUpperCase(str.charAt(0)) + str.substring(1);
+    }
+}
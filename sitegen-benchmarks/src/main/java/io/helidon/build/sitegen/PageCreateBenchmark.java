@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of {@link Page#create(java.util.List, java.util.List, java.io.File, Backend, int)},
+ * i.e. the filtering of the source paths and the reading of the page
+ * metadata.
+ *
+ * A new site engine is registered before each invocation so that the cached
+ * document headers are not re-used.
+ *
+ * @author rgrecour
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageCreateBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int pages;
+
+    @Param({"1"})
+    private int threads;
+
+    private Corpus corpus;
+    private List<SourcePath> sourcePaths;
+    private Backend backend;
+
+    /**
+     * Generate the corpus.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        corpus = Corpus.create(pages);
+        sourcePaths = SourcePath.scan(corpus.dir());
+        backend = corpus.site("basic", threads).getBackend();
+    }
+
+    /**
+     * Register a new site engine.
+     */
+    @Setup(Level.Invocation)
+    public void resetEngine() {
+        Site.THREADLOCAL.set(backend.getName());
+        SiteEngine.register(backend.getName(), SiteEngine.builder().build());
+    }
+
+    /**
+     * Create the pages.
+     *
+     * @return the created pages
+     */
+    @Benchmark
+    public Map<String, Page> create() {
+        return Page.create(sourcePaths, corpus.pageFilters(), corpus.dir(), backend, threads);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.io.File;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * End-to-end benchmark of {@link Site#generate(java.io.File, java.io.File)}.
+ *
+ * A new {@link Site} is created for each invocation, like for each execution
+ * of the {@code generate} goal. The Asciidoctor runtimes are pooled and are
+ * thus created only once per trial.
+ *
+ * @author rgrecour
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SiteGenerateBenchmark {
+
+    @Param({"basic", "vuetify"})
+    private String backend;
+
+    @Param({"10", "100", "1000"})
+    private int pages;
+
+    @Param({"1"})
+    private int threads;
+
+    private Corpus corpus;
+    private File outputdir;
+
+    /**
+     * Generate the corpus.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        corpus = Corpus.create(pages);
+        outputdir = Paths.get("target", "benchmarks", "site-" + backend + "-" + pages).toFile();
+    }
+
+    /**
+     * Generate the site.
+     */
+    @Benchmark
+    public void generate() {
+        corpus.site(backend, threads).generate(corpus.dir(), outputdir);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the source path pattern matching.
+ *
+ * @author rgrecour
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SourcePathBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int pages;
+
+    @Param({"**/*.adoc", "section-0*/*.adoc", "**/page-00?1.adoc", "snippets/**"})
+    private String pattern;
+
+    private List<SourcePath> sourcePaths;
+    private SourcePathPattern compiledPattern;
+
+    /**
+     * Create the source paths of the corpus.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        sourcePaths = new ArrayList<>();
+        for (String path : Corpus.paths(pages)) {
+            sourcePaths.add(new SourcePath(path));
+        }
+        compiledPattern = SourcePathPattern.compile(pattern);
+    }
+
+    /**
+     * Match all the source paths against the pattern.
+     *
+     * @return the number of matches
+     */
+    @Benchmark
+    public int matches() {
+        int matches = 0;
+        for (SourcePath sourcePath : sourcePaths) {
+            if (sourcePath.matches(pattern)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Match all the source paths against the pre-compiled pattern.
+     *
+     * @return the number of matches
+     */
+    @Benchmark
+    public int compiledMatches() {
+        int matches = 0;
+        for (SourcePath sourcePath : sourcePaths) {
+            if (compiledPattern.matches(sourcePath)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Filter the source paths with the pattern as include.
+     *
+     * @return the filtered source paths
+     */
+    @Benchmark
+    public List<SourcePath> filter() {
+        return SourcePath.filter(sourcePaths,
+                Collections.singletonList(pattern),
+                Collections.singletonList("**/_*"));
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the source directory scan.
+ *
+ * @author rgrecour
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SourcePathScanBenchmark {
+
+    @Param({"100", "1000"})
+    private int pages;
+
+    private Corpus corpus;
+    private List<SourcePathPattern> includes;
+
+    /**
+     * Generate the corpus.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        corpus = Corpus.create(pages);
+        includes = SourcePathPattern.compile(Collections.singletonList("section-00/*.adoc"));
+    }
+
+    /**
+     * Scan all the files of the corpus.
+     *
+     * @return the scanned source paths
+     */
+    @Benchmark
+    public List<SourcePath> scan() {
+        return SourcePath.scan(corpus.dir());
+    }
+
+    /**
+     * Scan the corpus with the directories pruned by an include pattern.
+     *
+     * @return the scanned source paths
+     */
+    @Benchmark
+    public List<SourcePath> prunedScan() {
+        return SourcePath.scan(corpus.dir(), includes);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of {@link VuetifyNavigation#resolve(java.util.Collection)}.
+ *
+ * @author rgrecour
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VuetifyNavigationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int pages;
+
+    private VuetifyNavigation navigation;
+    private Collection<Page> allPages;
+
+    /**
+     * Generate the corpus and create the pages.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        Corpus corpus = Corpus.create(pages);
+        Site site = corpus.site("vuetify", 1);
+        navigation = corpus.navigation();
+        allPages = Page.create(SourcePath.scan(corpus.dir()), corpus.pageFilters(),
+                corpus.dir(), site.getBackend()).values();
+    }
+
+    /**
+     * Resolve the navigation.
+     *
+     * @return the resolved navigation
+     */
+    @Benchmark
+    public VuetifyNavigation resolve() {
+        return navigation.resolve(allPages);
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.asciidoctor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the {@link IncludePreprocessor} conversions.
+ *
+ * The document is made of repeated fragments that mix plain text, asciidoc
+ * includes and numbered includes, outside and inside of source blocks. The
+ * full bracketed form is derived from it by replacing each include directive
+ * with included text, as done by the Asciidoctor reader.
+ *
+ * @author rgrecour
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IncludePreprocessorBenchmark {
+
+    private static final int INCLUDED_LINES = 4;
+
+    @Param({"100", "1000", "10000"})
+    private int size;
+
+    private List<String> lines;
+    private List<String> bracketedLines;
+
+    /**
+     * Create the document, made of at least {@code size} lines.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        lines = new ArrayList<>();
+        lines.add("= Document");
+        lines.add("");
+        for (int i = 0; lines.size() < size; i++) {
+            lines.add("== Section " + i);
+            lines.add("");
+            lines.add("Some text before the includes.");
+            lines.add("include::fragment" + i + ".adoc[]");
+            lines.add("A buffer");
+            lines.add("// _include::0-4:lines" + i + ".adoc[]");
+            for (int j = 0; j < 5; j++) {
+                lines.add("included line " + j);
+            }
+            lines.add("");
+            lines.add("[source,java]");
+            lines.add("----");
+            lines.add("// not included");
+            lines.add("include::Source" + i + ".java[]");
+            lines.add("more text");
+            lines.add("----");
+            lines.add("");
+            lines.add("[source]");
+            lines.add(".Title");
+            lines.add("// _include::1-3:Numbered" + i + ".java[]");
+            lines.add("----");
+            lines.add("// not included");
+            for (int j = 0; j < 3; j++) {
+                lines.add("numbered line " + j);
+            }
+            lines.add("----");
+            lines.add("");
+        }
+        bracketedLines = new ArrayList<>();
+        for (String line : IncludePreprocessor.convertHybridToBracketed(lines)) {
+            if (line.startsWith("include::")) {
+                for (int j = 0; j < INCLUDED_LINES; j++) {
+                    bracketedLines.add("included text " + j);
+                }
+            } else {
+                bracketedLines.add(line);
+            }
+        }
+    }
+
+    /**
+     * Convert the document to the bracketed form.
+     *
+     * @return the converted lines
+     */
+    @Benchmark
+    public List<String> convertHybridToBracketed() {
+        return IncludePreprocessor.convertHybridToBracketed(lines);
+    }
+
+    /**
+     * Convert the full bracketed form to the numbered form.
+     *
+     * @return the converted lines
+     */
+    @Benchmark
+    public List<String> convertBracketedToNumbered() {
+        return IncludePreprocessor.convertBracketedToNumbered(bracketedLines);
+    }
+
+    /**
+     * Convert the full bracketed form to the natural form.
+     *
+     * @return the converted lines
+     */
+    @Benchmark
+    public List<String> convertBracketedToNatural() {
+        return IncludePreprocessor.convertBracketedToNatural(bracketedLines);
+    }
+}
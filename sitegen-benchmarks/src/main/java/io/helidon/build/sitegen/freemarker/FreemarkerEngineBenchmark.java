@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.freemarker;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.asciidoctor.Asciidoctor;
+import org.asciidoctor.ast.Document;
+import org.asciidoctor.ast.StructuralNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of {@link FreemarkerEngine#renderString(java.lang.String, org.asciidoctor.ast.ContentNode)}
+ * for the block templates.
+ *
+ * @author rgrecour
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FreemarkerEngineBenchmark {
+
+    private static final String DOCUMENT = "= Document\n\n"
+            + "== Section\n\n"
+            + "A paragraph with *bold*, _italic_ and `monospace` text +\n"
+            + "and a line break.\n\n"
+            + "[source,java]\n"
+            + ".Title\n"
+            + "----\n"
+            + "public class Foo {\n"
+            + "    public String bar() {\n"
+            + "        return \"bar\";\n"
+            + "    }\n"
+            + "}\n"
+            + "----\n\n"
+            + "[cols=\"1,2\"]\n"
+            + "|===\n"
+            + "|Name |Description\n\n"
+            + "|`foo` |The foo\n"
+            + "|`bar` |The bar\n"
+            + "|===\n\n"
+            + "NOTE: An admonition paragraph.\n";
+
+    @Param({"basic", "vuetify"})
+    private String backend;
+
+    @Param({"paragraph", "listing", "table", "admonition"})
+    private String nodeName;
+
+    private Asciidoctor asciidoctor;
+    private FreemarkerEngine engine;
+    private StructuralNode node;
+
+    /**
+     * Load the document and select the node to render.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        asciidoctor = Asciidoctor.Factory.create();
+        Document document = asciidoctor.load(DOCUMENT, new HashMap<>());
+        document.setAttribute("templateSession", new TemplateSession(), true);
+        node = find(document.getBlocks(), nodeName);
+        if (node == null) {
+            throw new IllegalStateException("Unable to find node: " + nodeName);
+        }
+        engine = new FreemarkerEngine(backend, null, null);
+    }
+
+    /**
+     * Shutdown the Asciidoctor runtime.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        asciidoctor.shutdown();
+    }
+
+    /**
+     * Render the node.
+     *
+     * @return the rendered output
+     */
+    @Benchmark
+    public String renderString() {
+        return engine.renderString("block_" + nodeName, node);
+    }
+
+    /**
+     * Render the node with a template that the backend does not have.
+     *
+     * @return the rendered output
+     */
+    @Benchmark
+    public String renderMissingTemplate() {
+        return engine.renderString("block_missing", node);
+    }
+
+    private static StructuralNode find(List<StructuralNode> blocks, String nodeName) {
+        for (StructuralNode block : blocks) {
+            if (nodeName.equals(block.getNodeName())) {
+                return block;
+            }
+            StructuralNode node = find(block.getBlocks(), nodeName);
+            if (node != null) {
+                return node;
+            }
+        }
+        return null;
+    }
+}
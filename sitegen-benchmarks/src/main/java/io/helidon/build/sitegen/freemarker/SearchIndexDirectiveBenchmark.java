@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.helidon.build.sitegen.freemarker;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import io.helidon.build.sitegen.Corpus;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link SearchIndexDirective#stripHtmlMarkups(java.lang.CharSequence)}
+ * over the HTML of pages rendered by the vuetify backend.
+ *
+ * The {@code regex} benchmark replicates the previous implementation made of
+ * three {@code String.replaceAll} calls, it is used as a baseline.
+ *
+ * @author rgrecour
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchIndexDirectiveBenchmark {
+
+    private static final int PAGES = 10;
+
+    private List<String> contents;
+
+    /**
+     * Render the corpus pages and load the rendered files.
+     *
+     * @throws IOException if an IO error occurs
+     */
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        Corpus corpus = Corpus.create(PAGES);
+        File outputdir = Paths.get("target", "benchmarks", "search-index-" + PAGES).toFile();
+        corpus.site("vuetify", 1).generate(corpus.dir(), outputdir);
+        try (Stream<Path> files = Files.walk(outputdir.toPath().resolve("pages"))) {
+            contents = files
+                    .filter(file -> file.toString().endsWith(".js") && !file.toString().endsWith("_custom.js"))
+                    .sorted()
+                    .map(SearchIndexDirectiveBenchmark::read)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static String read(Path file) {
+        try {
+            return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Single pass stripping.
+     *
+     * @param blackhole the blackhole to consume the results
+     */
+    @Benchmark
+    public void strip(Blackhole blackhole) {
+        for (String content : contents) {
+            blackhole.consume(SearchIndexDirective.stripHtmlMarkups(content));
+        }
+    }
+
+    /**
+     * Stripping with regular expressions.
+     *
+     * @param blackhole the blackhole to consume the results
+     */
+    @Benchmark
+    public void regex(Blackhole blackhole) {
+        for (String content : contents) {
+            blackhole.consume(content
+                    .replaceAll("\\<.*?\\>", " ")
+                    .replaceAll("\\\\n", "")
+                    .replaceAll("\\s+", " "));
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.freemarker;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import freemarker.template.Configuration;
+import freemarker.template.TemplateModel;
+import org.asciidoctor.Asciidoctor;
+import org.asciidoctor.ast.ContentNode;
+import org.asciidoctor.ast.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of a template variable access on a content node, i.e.
+ * {@link ContentNodeHashModel#get(java.lang.String)} and
+ * {@link SimpleMethodModel#exec(java.util.List)}.
+ *
+ * The {@code scan*} benchmarks replicate the lookup that scans all the public
+ * methods of the node class for each access, they are used as a baseline.
+ *
+ * @author rgrecour
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateModelBenchmark {
+
+    private static final String DOCUMENT = "= Document\n\n"
+            + "[#an-id.a-role]\n"
+            + "A paragraph with some *bold* text.\n";
+
+    @Param({"context", "id", "role"})
+    private String key;
+
+    private Asciidoctor asciidoctor;
+    private ObjectWrapper objectWrapper;
+    private ContentNode node;
+    private ContentNodeHashModel hashModel;
+    private SimpleMethodModel methodModel;
+    private List<TemplateModel> methodArgs;
+
+    /**
+     * Load a document and select a block node.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        asciidoctor = Asciidoctor.Factory.create();
+        Document document = asciidoctor.load(DOCUMENT, new HashMap<>());
+        node = document.getBlocks().get(0);
+        objectWrapper = new ObjectWrapper(Configuration.VERSION_2_3_23);
+        hashModel = new ContentNodeHashModel(objectWrapper, node);
+        methodModel = new SimpleMethodModel(objectWrapper, node, "hasAttribute");
+        methodArgs = Collections.singletonList(objectWrapper.wrap(key));
+    }
+
+    /**
+     * Shutdown the Asciidoctor runtime.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        asciidoctor.shutdown();
+    }
+
+    /**
+     * Getter access through the template model.
+     *
+     * @return the wrapped value
+     * @throws Exception if an error occurs
+     */
+    @Benchmark
+    public Object getter() throws Exception {
+        return hashModel.get(key);
+    }
+
+    /**
+     * Getter access with a scan of the public methods.
+     *
+     * @return the wrapped value
+     * @throws Exception if an error occurs
+     */
+    @Benchmark
+    public Object scanGetter() throws Exception {
+        String getterName = "get" + Character.toUpperCase(key.charAt(0)) + key.substring(1);
+        for (Method m : node.getClass().getMethods()) {
+            if (getterName.equals(m.getName()) && m.getParameterCount() == 0) {
+                return objectWrapper.wrap(m.invoke(node));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Method existence check through the template model.
+     *
+     * @return {@code true} if the method exists
+     */
+    @Benchmark
+    public boolean hasMethod() {
+        return SimpleMethodModel.hasMethodWithName(node, key);
+    }
+
+    /**
+     * Method existence check with a scan of the public methods.
+     *
+     * @return {@code true} if the method exists
+     */
+    @Benchmark
+    public boolean scanHasMethod() {
+        for (Method m : node.getClass().getMethods()) {
+            if (m.getName().equals(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Method invocation through the template model.
+     *
+     * @return the wrapped value
+     * @throws Exception if an error occurs
+     */
+    @Benchmark
+    public Object method() throws Exception {
+        return methodModel.exec(methodArgs);
+    }
+
+    /**
+     * Method invocation with a scan of the public methods.
+     *
+     * @return the wrapped value
+     * @throws Exception if an error occurs
+     */
+    @Benchmark
+    public Object scanMethod() throws Exception {
+        Object arg = objectWrapper.unwrap(methodArgs.get(0));
+        for (Method m : node.getClass().getMethods()) {
+            if ("hasAttribute".equals(m.getName())
+                    && m.getParameterCount() == 1
+                    && m.getParameterTypes()[0].isAssignableFrom(arg.getClass())) {
+                return objectWrapper.wrap(m.invoke(node, arg));
+            }
+        }
+        return null;
+    }
+}
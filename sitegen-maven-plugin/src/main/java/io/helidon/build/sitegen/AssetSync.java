@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+/**
+ * The strategies used to synchronize the static assets with the output
+ * directory.
+ *
+ * @author rgrecour
+ */
+public enum AssetSync {
+
+    /**
+     * Copy all the assets, replacing the existing files.
+     */
+    COPY,
+
+    /**
+     * Only copy the assets whose size or last modified time differ from
+     * the existing file, the last modified time is preserved on copy.
+     */
+    UPDATE,
+
+    /**
+     * Hard-link the assets in the output directory, falls back to
+     * {@link #UPDATE} if the source and output directory are not on the same
+     * file system. The output files must not be modified in place.
+     */
+    LINK
+}
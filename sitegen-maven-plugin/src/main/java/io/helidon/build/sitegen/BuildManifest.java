@@ -0,0 +1,361 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static io.helidon.build.sitegen.Helper.checkNonNull;
+import static io.helidon.build.sitegen.Helper.digest;
+import static io.helidon.build.sitegen.Helper.loadResourceDirAsPath;
+import static io.helidon.build.sitegen.Helper.newDigest;
+import static io.helidon.build.sitegen.Helper.readObject;
+import static io.helidon.build.sitegen.Helper.toHex;
+import static io.helidon.build.sitegen.Helper.update;
+import static io.helidon.build.sitegen.Helper.writeObject;
+
+/**
+ * A build manifest records the state of each rendered page in order to skip
+ * the rendering of unchanged pages on subsequent invocations.
+ *
+ * A page is considered unchanged if the digest of its source file and of all
+ * the files it includes is the same, and if the site digest (configuration,
+ * templates and page metadata) is the same. The state accumulated in the
+ * template session while rendering a page is recorded so that it can be
+ * replayed when the page is skipped.
+ *
+ * The manifest also records the {@link IncludeGraph} of the pages, used to
+ * find the pages affected by a set of changed files without computing the
+ * digest of every page.
+ *
+ * @author rgrecour
+ */
+public final class BuildManifest implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private static final int VERSION = 3;
+    private static final Logger LOGGER = LoggerFactory.getLogger(BuildManifest.class);
+    private static final String TEMPLATES_RESOURCE = "/helidon-sitegen-templates/";
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private static volatile byte[] templatesDigest;
+
+    private final int version;
+    private final String siteDigest;
+    private final Map<String, PageState> pages;
+    private final IncludeGraph includeGraph;
+
+    /**
+     * Create a new empty manifest.
+     *
+     * @param siteDigest the site digest
+     */
+    BuildManifest(String siteDigest) {
+        this(siteDigest, new IncludeGraph());
+    }
+
+    /**
+     * Create a new manifest with no page state.
+     *
+     * @param siteDigest the site digest
+     * @param includeGraph the include graph to start from
+     */
+    BuildManifest(String siteDigest, IncludeGraph includeGraph) {
+        checkNonNull(includeGraph, "includeGraph");
+        this.version = VERSION;
+        this.siteDigest = siteDigest;
+        this.pages = new ConcurrentSkipListMap<>();
+        this.includeGraph = includeGraph;
+    }
+
+    /**
+     * Get the site digest of this manifest.
+     *
+     * @return the site digest, may be {@code null}
+     */
+    String getSiteDigest() {
+        return siteDigest;
+    }
+
+    /**
+     * Get the include graph of this manifest.
+     *
+     * @return the include graph, never {@code null}
+     */
+    IncludeGraph getIncludeGraph() {
+        return includeGraph;
+    }
+
+    /**
+     * Get the recorded state of a page.
+     *
+     * @param sourcePath the source path of the page
+     * @return the recorded {@link PageState}, or {@code null} if the page is
+     * not recorded
+     */
+    PageState get(String sourcePath) {
+        return pages.get(sourcePath);
+    }
+
+    /**
+     * Get the recorded state of a page if the page has not changed.
+     *
+     * @param sourcePath the source path of the page
+     * @param digest the current digest of the page
+     * @return the recorded {@link PageState}, or {@code null} if the page is
+     * not recorded or has changed
+     */
+    PageState get(String sourcePath, String digest) {
+        if (digest == null) {
+            return null;
+        }
+        PageState state = pages.get(sourcePath);
+        if (state == null || !digest.equals(state.getDigest())) {
+            return null;
+        }
+        return state;
+    }
+
+    /**
+     * Record the state of a page.
+     *
+     * @param sourcePath the source path of the page
+     * @param state the state to record
+     */
+    void put(String sourcePath, PageState state) {
+        checkNonNull(state, "state");
+        if (state.getDigest() != null) {
+            pages.put(sourcePath, state);
+        }
+    }
+
+    /**
+     * Load a manifest from a file.
+     *
+     * @param file the file to load
+     * @param siteDigest the current site digest
+     * @return the loaded manifest, or an empty manifest if the file does not
+     * exist, cannot be read or was recorded with a different site digest
+     */
+    static BuildManifest load(File file, String siteDigest) {
+        BuildManifest manifest = readObject(file, BuildManifest.class);
+        if (manifest != null) {
+            if (manifest.version == VERSION
+                    && siteDigest != null
+                    && siteDigest.equals(manifest.siteDigest)) {
+                return manifest;
+            }
+            LOGGER.info("Site has changed, rendering all pages");
+        }
+        return new BuildManifest(siteDigest);
+    }
+
+    /**
+     * Save this manifest to a file.
+     *
+     * @param file the file to write
+     * @throws RenderingException if an IO error occurs
+     */
+    void save(File file) {
+        writeObject(file, this);
+    }
+
+    /**
+     * Compute the site digest.
+     * The digest covers the site configuration digest, the templates, and the
+     * metadata of all pages since the pages are available to the templates.
+     *
+     * @param configDigest the site configuration digest, may be {@code null}
+     * @param backendName the backend name
+     * @param pages the pages of the site
+     * @return the digest
+     */
+    static String siteDigest(String configDigest, String backendName, Collection<Page> pages) {
+        MessageDigest md = newDigest(DIGEST_ALGORITHM);
+        update(md, VERSION);
+        update(md, configDigest);
+        update(md, backendName);
+        md.update(templatesDigest());
+        List<Page> sortedPages = new ArrayList<>(pages);
+        sortedPages.sort((p1, p2) -> p1.getSourcePath().compareTo(p2.getSourcePath()));
+        for (Page page : sortedPages) {
+            Page.Metadata metadata = page.getMetadata();
+            update(md, page.getSourcePath());
+            update(md, page.getTargetPath());
+            update(md, metadata.getTitle());
+            update(md, metadata.getDescription());
+            update(md, metadata.getKeywords());
+            update(md, metadata.getH1());
+        }
+        return toHex(md.digest());
+    }
+
+    /**
+     * Get the digest of the bundled templates. The templates cannot change
+     * while the plugin is loaded, the digest is computed once.
+     *
+     * @return the templates digest
+     */
+    private static byte[] templatesDigest() {
+        byte[] digest = templatesDigest;
+        if (digest == null) {
+            MessageDigest md = newDigest(DIGEST_ALGORITHM);
+            try {
+                Path templatesDir = loadResourceDirAsPath(TEMPLATES_RESOURCE);
+                List<Path> templates;
+                try (Stream<Path> stream = Files.walk(templatesDir)) {
+                    templates = stream
+                            .filter(Files::isRegularFile)
+                            .sorted()
+                            .collect(Collectors.toList());
+                }
+                for (Path template : templates) {
+                    update(md, templatesDir.relativize(template).toString());
+                    update(md, template);
+                }
+            } catch (Exception ex) {
+                throw new RenderingException(
+                        "An error occurred while computing the templates digest", ex);
+            }
+            digest = md.digest();
+            templatesDigest = digest;
+        }
+        return digest;
+    }
+
+    /**
+     * Compute the digest of a configuration file and its resolution properties.
+     *
+     * @param configFile the configuration file
+     * @param properties the properties used for resolution
+     * @return the digest
+     * @throws RenderingException if an IO error occurs
+     */
+    static String configDigest(File configFile, Map<Object, Object> properties) {
+        MessageDigest md = newDigest(DIGEST_ALGORITHM);
+        try {
+            update(md, configFile.toPath());
+        } catch (IOException ex) {
+            throw new RenderingException(
+                    "An error occurred while reading: " + configFile, ex);
+        }
+        update(md, properties);
+        return toHex(md.digest());
+    }
+
+    /**
+     * Compute the digest of a page source file and all its included files,
+     * as recorded in the include graph when the page was rendered.
+     *
+     * @param source the page source file
+     * @param includeGraph the include graph
+     * @return the digest, or {@code null} if the includes of the page are not
+     * recorded
+     * @throws RenderingException if an IO error occurs
+     */
+    static String pageDigest(File source, IncludeGraph includeGraph) {
+        Path file = source.toPath().toAbsolutePath().normalize();
+        if (!includeGraph.contains(file)) {
+            return null;
+        }
+        try {
+            return digest(file, includeGraph);
+        } catch (IOException ex) {
+            throw new RenderingException(
+                    "An error occurred while reading: " + source, ex);
+        }
+    }
+
+    /**
+     * The recorded state of a rendered page.
+     */
+    static final class PageState implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String digest;
+        private final List<SearchEntry> searchEntries;
+        private final String vueBindings;
+        private final String customLayout;
+
+        /**
+         * Create a new page state.
+         *
+         * @param digest the page digest
+         * @param searchEntries the search entries of the page
+         * @param vueBindings the vue bindings of the page, may be {@code null}
+         * @param customLayout the custom layout of the page, may be {@code null}
+         */
+        PageState(String digest,
+                  List<SearchEntry> searchEntries,
+                  String vueBindings,
+                  String customLayout) {
+            this.digest = digest;
+            this.searchEntries = searchEntries == null
+                    ? Collections.emptyList() : new ArrayList<>(searchEntries);
+            this.vueBindings = vueBindings;
+            this.customLayout = customLayout;
+        }
+
+        /**
+         * Get the page digest.
+         * @return the digest
+         */
+        String getDigest() {
+            return digest;
+        }
+
+        /**
+         * Get the search entries of the page.
+         * @return {@code List<SearchEntry>}, never {@code null}
+         */
+        List<SearchEntry> getSearchEntries() {
+            return searchEntries;
+        }
+
+        /**
+         * Get the vue bindings of the page.
+         * @return the bindings or {@code null}
+         */
+        String getVueBindings() {
+            return vueBindings;
+        }
+
+        /**
+         * Get the custom layout of the page.
+         * @return the custom layout or {@code null}
+         */
+        String getCustomLayout() {
+            return customLayout;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.sitegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static io.helidon.build.sitegen.Helper.checkNonNull;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * A {@link SiteOutput} that writes the files in a directory.
+ *
+ * @author rgrecour
+ */
+public final class FileOutput implements SiteOutput {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileOutput.class);
+
+    private final File directory;
+
+    /**
+     * Create a new file output.
+     *
+     * @param directory the output directory
+     */
+    public FileOutput(File directory) {
+        checkNonNull(directory, "directory");
+        this.directory = directory;
+    }
+
+    @Override
+    public File getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public Writer newWriter(String path) throws IOException {
+        Path target = resolve(path);
+        Files.createDirectories(target.getParent());
+        return Files.newBufferedWriter(target, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void copy(Path source, BasicFileAttributes attrs, String path, AssetSync sync) throws IOException {
+        Path target = resolve(path);
+        Files.createDirectories(target.getParent());
+        if (sync == AssetSync.LINK && link(source, target)) {
+            LOGGER.debug("Linked static resource: {} to {}", source, target);
+            return;
+        }
+        if (sync == AssetSync.COPY) {
+            LOGGER.debug("Copying static resource: {} to {}", source, target);
+            Files.copy(source, target, REPLACE_EXISTING);
+            return;
+        }
+        BasicFileAttributes targetAttrs;
+        try {
+            targetAttrs = Files.readAttributes(target, BasicFileAttributes.class);
+        } catch (NoSuchFileException ex) {
+            targetAttrs = null;
+        }
+        if (targetAttrs != null
+                && targetAttrs.isRegularFile()
+                && targetAttrs.size() == attrs.size()
+                && targetAttrs.lastModifiedTime().toMillis() == attrs.lastModifiedTime().toMillis()) {
+            LOGGER.debug("Skipping unchanged static resource: {}", target);
+            return;
+        }
+        LOGGER.debug("Copying static resource: {} to {}", source, target);
+        Files.copy(source, target, REPLACE_EXISTING);
+        Files.setLastModifiedTime(target, attrs.lastModifiedTime());
+    }
+
+    @Override
+    public boolean exists(String path) {
+        return Files.exists(resolve(path));
+    }
+
+    private Path resolve(String path) {
+        return directory.toPath().resolve(path);
+    }
+
+    private static boolean link(Path source, Path target) {
+        if (!source.getFileSystem().equals(target.getFileSystem())) {
+            return false;
+        }
+        try {
+            if (Files.exists(target)) {
+                if (Files.isSameFile(source, target)) {
+                    return true;
+                }
+                Files.delete(target);
+            }
+            Files.createLink(target, source);
+            return true;
+        } catch (UnsupportedOperationException | IOException ex) {
+            LOGGER.debug("Unable to link static resource: {} - {}", target, ex.getMessage());
+            return false;
+        }
+    }
+}
@@ -18,9 +18,15 @@ package io.helidon.build.sitegen;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystem;
 import java.nio.file.FileSystemAlreadyExistsException;
 import java.nio.file.FileSystems;
@@ -30,14 +36,24 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.helidon.build.sitegen.asciidoctor.AsciidocConverter;
 
 import org.slf4j.LoggerFactory;
 
-import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
-
 /**
  * A helper class to help with class-path resources.
  *
@@ -48,6 +64,11 @@ public abstract class Helper {
     private static final org.slf4j.Logger LOGGER =
             LoggerFactory.getLogger(Helper.class);
 
+    /**
+     * The buffer size used to read the files to digest.
+     */
+    public static final int DIGEST_BUFFER_SIZE = 64 * 1024;
+
     /**
      * Load a resource directory as a {@link java.nio.file.Path} instance.
      *
@@ -124,6 +145,37 @@ public abstract class Helper {
     public static void copyResources(Path resources, File outputdir)
             throws IOException {
 
+        copyResources(resources, outputdir, AssetSync.COPY);
+    }
+
+    /**
+     * Synchronize static resources into the given output directory.
+     *
+     * @param resources the path to the resources
+     * @param outputdir the target output directory where to copy the files
+     * @param sync the synchronization strategy
+     * @throws IOException if an error occurred during processing
+     */
+    public static void copyResources(Path resources, File outputdir, AssetSync sync)
+            throws IOException {
+
+        copyResources(resources, new FileOutput(outputdir), "", sync);
+    }
+
+    /**
+     * Synchronize static resources into the given site output.
+     *
+     * @param resources the path to the resources
+     * @param output the site output
+     * @param targetPath the output path where to copy the files
+     * @param sync the synchronization strategy
+     * @throws IOException if an error occurred during processing
+     */
+    public static void copyResources(Path resources, SiteOutput output, String targetPath, AssetSync sync)
+            throws IOException {
+
+        checkNonNull(output, "output");
+        checkNonNull(sync, "sync");
         try {
             Files.walkFileTree(resources, new FileVisitor<Path>() {
                 @Override
@@ -135,15 +187,19 @@ public abstract class Helper {
                 @Override
                 public FileVisitResult visitFile(
                         Path file, BasicFileAttributes attrs) throws IOException {
-                    if (!Files.isDirectory(file)) {
-                        String targetRelativePath = resources
-                                .relativize(file).toString();
-                        Path targetPath = outputdir
-                                .toPath().resolve(targetRelativePath);
-                        Files.createDirectories(targetPath.getParent());
-                        LOGGER.debug("Copying static resource: {} to {}",
-                                targetRelativePath, targetPath.toString());
-                        Files.copy(file, targetPath, REPLACE_EXISTING);
+                    if (!attrs.isDirectory()) {
+                        String relativePath = resources.relativize(file).toString()
+                                // force UNIX style path on windows
+                                .replace("\\", "/");
+                        String path;
+                        if (relativePath.isEmpty()) {
+                            path = targetPath;
+                        } else if (targetPath.isEmpty()) {
+                            path = relativePath;
+                        } else {
+                            path = targetPath + "/" + relativePath;
+                        }
+                        output.copy(file, attrs, path, sync);
                     }
                     return FileVisitResult.CONTINUE;
                 }
@@ -267,6 +323,44 @@ public abstract class Helper {
         return path + ext;
     }
 
+    /**
+     * Convert a string to a JSON string literal.
+     *
+     * @param value the string to convert
+     * @return the quoted and escaped string
+     */
+    static String toJsonString(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 2);
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
     /**
      * Get the relative path for a given source file within the source directory.
      *
@@ -279,4 +373,241 @@ public abstract class Helper {
                 // force UNIX style path on windows
                 .replace("\\", "/");
     }
+
+    /**
+     * Convert bytes to an hexadecimal string.
+     *
+     * @param bytes the bytes to convert
+     * @return the hexadecimal string
+     */
+    public static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+            sb.append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Create a new {@code MessageDigest} for the given algorithm.
+     *
+     * @param algorithm the digest algorithm
+     * @return the created digest
+     * @throws IllegalStateException if the algorithm is not available
+     */
+    public static MessageDigest newDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Update a digest with the content of a file, the file is read with a
+     * buffer of {@link #DIGEST_BUFFER_SIZE} bytes.
+     *
+     * @param md the digest to update
+     * @param file the file to read
+     * @throws IOException if an error occurs while reading the file
+     */
+    public static void update(MessageDigest md, Path file) throws IOException {
+        byte[] buffer = new byte[DIGEST_BUFFER_SIZE];
+        try (InputStream is = Files.newInputStream(file)) {
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                md.update(buffer, 0, read);
+            }
+        }
+    }
+
+    /**
+     * Update a digest with the string value of an object, followed by a
+     * separator.
+     *
+     * @param md the digest to update
+     * @param value the value, may be {@code null}
+     */
+    public static void update(MessageDigest md, Object value) {
+        md.update(String.valueOf(value).getBytes(StandardCharsets.UTF_8));
+        md.update((byte) 0);
+    }
+
+    /**
+     * Update a digest with the entries of a map, the entries are sorted so
+     * that the digest does not depend on the iteration order of the map.
+     *
+     * @param md the digest to update
+     * @param entries the entries
+     */
+    public static void update(MessageDigest md, Map<?, ?> entries) {
+        entries.entrySet().stream()
+                .map(e -> String.valueOf(e.getKey()) + "=" + String.valueOf(e.getValue()))
+                .sorted()
+                .forEach(e -> update(md, e));
+    }
+
+    /**
+     * Compute the SHA-256 digest of a document and of all the files it
+     * includes, directly or transitively.
+     *
+     * @param document the document
+     * @param includeGraph the include graph recorded for the document
+     * @return the digest as an hexadecimal string
+     * @throws IOException if an error occurs while reading the files
+     */
+    public static String digest(Path document, IncludeGraph includeGraph) throws IOException {
+        MessageDigest md = newDigest("SHA-256");
+        List<Path> files = new ArrayList<>(includeGraph.includes(document));
+        files.sort(null);
+        files.add(0, document);
+        for (Path file : files) {
+            update(md, file.toString());
+            if (Files.isRegularFile(file)) {
+                update(md, file);
+            } else {
+                update(md, "missing");
+            }
+        }
+        return toHex(md.digest());
+    }
+
+    /**
+     * Compute the SHA-256 digest of settings.
+     *
+     * @param settings the settings
+     * @return the digest as an hexadecimal string
+     */
+    public static String digest(Map<?, ?> settings) {
+        MessageDigest md = newDigest("SHA-256");
+        update(md, settings);
+        return toHex(md.digest());
+    }
+
+    /**
+     * Read an object serialized in a file.
+     *
+     * @param <T> the object type
+     * @param file the file to read
+     * @param type the expected object type
+     * @return the object, or {@code null} if the file does not exist, cannot
+     * be read or does not contain an object of the expected type
+     */
+    public static <T> T readObject(File file, Class<T> type) {
+        if (!file.exists()) {
+            return null;
+        }
+        try (InputStream is = Files.newInputStream(file.toPath());
+                ObjectInputStream ois = new ObjectInputStream(is)) {
+            Object obj = ois.readObject();
+            if (type.isInstance(obj)) {
+                return type.cast(obj);
+            }
+        } catch (IOException | ClassNotFoundException ex) {
+            LOGGER.warn("Unable to read: {} - {}", file, ex.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Serialize an object to a file.
+     *
+     * @param file the file to write
+     * @param obj the object to serialize
+     * @throws RenderingException if an IO error occurs
+     */
+    public static void writeObject(File file, Serializable obj) {
+        try {
+            Files.createDirectories(file.toPath().toAbsolutePath().getParent());
+            try (OutputStream os = Files.newOutputStream(file.toPath());
+                    ObjectOutputStream oos = new ObjectOutputStream(os)) {
+                oos.writeObject(obj);
+            }
+        } catch (IOException ex) {
+            throw new RenderingException(
+                    "An error occurred while writing: " + file, ex);
+        }
+    }
+
+    /**
+     * Execute the given tasks using a fixed number of threads and return
+     * their results in order.
+     *
+     * The tasks are executed in the calling thread if {@code threads} is
+     * {@code 1} or less. Otherwise the tasks are executed by daemon threads
+     * that inherit the context class-loader of the calling thread.
+     *
+     * @param <T> the result type
+     * @param name the name prefix of the threads
+     * @param threads the number of threads
+     * @param tasks the tasks to execute
+     * @return the results in the same order as the tasks
+     * @throws RenderingException if a task fails or if interrupted, runtime
+     * exceptions thrown by the tasks are re-thrown as-is
+     */
+    public static <T> List<T> invokeAll(String name, int threads, List<Callable<T>> tasks) {
+        List<T> results = new ArrayList<>(tasks.size());
+        int nThreads = Math.min(threads, tasks.size());
+        if (nThreads <= 1) {
+            for (Callable<T> task : tasks) {
+                try {
+                    results.add(task.call());
+                } catch (RuntimeException ex) {
+                    throw ex;
+                } catch (Exception ex) {
+                    throw new RenderingException(ex.getMessage(), ex);
+                }
+            }
+            return results;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(nThreads,
+                new NamedThreadFactory(name));
+        try {
+            List<Future<T>> futures = new ArrayList<>(tasks.size());
+            for (Callable<T> task : tasks) {
+                futures.add(executor.submit(task));
+            }
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RenderingException(
+                    "An error occurred during " + name, cause);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RenderingException(name + " interrupted", ex);
+        } finally {
+            executor.shutdownNow();
+        }
+        return results;
+    }
+
+    /**
+     * Thread factory that creates daemon threads with a name prefix.
+     * The threads inherit the context class-loader of the creating thread.
+     */
+    private static final class NamedThreadFactory implements ThreadFactory {
+
+        private final String name;
+        private final AtomicInteger count = new AtomicInteger();
+        private final ClassLoader contextClassLoader =
+                Thread.currentThread().getContextClassLoader();
+
+        NamedThreadFactory(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "sitegen-" + name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setContextClassLoader(contextClassLoader);
+            return thread;
+        }
+    }
 }
@@ -0,0 +1,202 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.sitegen;
+
+import java.io.File;
+import java.io.Serializable;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.helidon.build.sitegen.Helper.checkNonNull;
+import static io.helidon.build.sitegen.Helper.readObject;
+import static io.helidon.build.sitegen.Helper.writeObject;
+
+/**
+ * A graph of the files included by asciidoc documents.
+ *
+ * Each file is recorded with the files it includes directly, the graph is
+ * used to find the documents that depend on a changed file, directly or
+ * transitively. The files are identified by their absolute normalized path.
+ * The includes are recorded while the documents are loaded by Asciidoctor,
+ * see {@link io.helidon.build.sitegen.asciidoctor.IncludeRecorder}.
+ * Instances are thread-safe and can be persisted between invocations.
+ *
+ * @author rgrecour
+ */
+public final class IncludeGraph implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private static final int VERSION = 2;
+
+    private final int version;
+    private final Map<String, Set<String>> includes;
+    private transient volatile Map<String, Set<String>> dependents;
+
+    /**
+     * Create a new empty graph.
+     */
+    public IncludeGraph() {
+        this.version = VERSION;
+        this.includes = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Create a copy of the given graph.
+     *
+     * @param graph the graph to copy
+     */
+    public IncludeGraph(IncludeGraph graph) {
+        checkNonNull(graph, "graph");
+        this.version = VERSION;
+        this.includes = new ConcurrentHashMap<>(graph.includes);
+    }
+
+    /**
+     * Record the files included directly by a file, replacing any previous
+     * record.
+     *
+     * @param file the including file
+     * @param includedFiles the files included directly
+     */
+    public void put(Path file, Collection<Path> includedFiles) {
+        checkNonNull(file, "file");
+        checkNonNull(includedFiles, "includedFiles");
+        Set<String> targets = new LinkedHashSet<>();
+        for (Path includedFile : includedFiles) {
+            targets.add(key(includedFile));
+        }
+        includes.put(key(file), Collections.unmodifiableSet(targets));
+        dependents = null;
+    }
+
+    /**
+     * Remove the record of a file, e.g. if its includes cannot be resolved.
+     *
+     * @param file the file to remove
+     */
+    public void remove(Path file) {
+        if (includes.remove(key(file)) != null) {
+            dependents = null;
+        }
+    }
+
+    /**
+     * Test if the given file is recorded.
+     *
+     * @param file the file
+     * @return {@code true} if the file is recorded, {@code false} otherwise
+     */
+    public boolean contains(Path file) {
+        return includes.containsKey(key(file));
+    }
+
+    /**
+     * Get the files included by a file, directly or transitively.
+     *
+     * @param file the including file
+     * @return the included files, never {@code null}
+     */
+    public Set<Path> includes(Path file) {
+        return traverse(Collections.singleton(key(file)), includes);
+    }
+
+    /**
+     * Get the files that include any of the given files, directly or
+     * transitively.
+     *
+     * @param files the included files
+     * @return the including files, never {@code null}
+     */
+    public Set<Path> dependents(Collection<Path> files) {
+        Set<String> keys = new HashSet<>();
+        for (Path file : files) {
+            keys.add(key(file));
+        }
+        return traverse(keys, reverse());
+    }
+
+    /**
+     * Load a graph from a file.
+     *
+     * @param file the file to load
+     * @return the loaded graph, or an empty graph if the file does not exist
+     * or cannot be read
+     */
+    public static IncludeGraph load(File file) {
+        IncludeGraph graph = readObject(file, IncludeGraph.class);
+        if (graph != null && graph.version == VERSION) {
+            return graph;
+        }
+        return new IncludeGraph();
+    }
+
+    /**
+     * Save this graph to a file.
+     *
+     * @param file the file to write
+     * @throws RenderingException if an IO error occurs
+     */
+    public void save(File file) {
+        writeObject(file, this);
+    }
+
+    private Map<String, Set<String>> reverse() {
+        Map<String, Set<String>> reverse = dependents;
+        if (reverse == null) {
+            reverse = new HashMap<>();
+            for (Map.Entry<String, Set<String>> entry : includes.entrySet()) {
+                for (String target : entry.getValue()) {
+                    reverse.computeIfAbsent(target, k -> new HashSet<>()).add(entry.getKey());
+                }
+            }
+            dependents = reverse;
+        }
+        return reverse;
+    }
+
+    private static Set<Path> traverse(Set<String> roots, Map<String, Set<String>> edges) {
+        Set<String> visited = new HashSet<>(roots);
+        Set<Path> result = new LinkedHashSet<>();
+        Deque<String> queue = new ArrayDeque<>(roots);
+        while (!queue.isEmpty()) {
+            Set<String> targets = edges.get(queue.poll());
+            if (targets == null) {
+                continue;
+            }
+            for (String target : targets) {
+                if (visited.add(target)) {
+                    result.add(Paths.get(target));
+                    queue.add(target);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static String key(Path file) {
+        return file.toAbsolutePath().normalize().toString();
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.sitegen;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+
+import static io.helidon.build.sitegen.Helper.checkNonNull;
+
+/**
+ * A {@link SiteOutput} that keeps the files in memory.
+ *
+ * The files written by external tools (e.g. asciidoctorj-diagram) are still
+ * written in the output directory. Static resources are never linked,
+ * {@link AssetSync#LINK} is treated as {@link AssetSync#UPDATE}.
+ *
+ * When a generation completes, the files that it did not write or keep are
+ * removed, e.g. the output of a deleted or renamed page.
+ *
+ * @author rgrecour
+ */
+public final class MemoryOutput implements SiteOutput {
+
+    private final File directory;
+    private final Map<String, Resource> resources = new ConcurrentHashMap<>();
+    private final Set<String> generated = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Create a new memory output.
+     *
+     * @param directory the output directory used for the files written by
+     * external tools
+     */
+    public MemoryOutput(File directory) {
+        checkNonNull(directory, "directory");
+        this.directory = directory;
+    }
+
+    @Override
+    public File getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public Writer newWriter(String path) {
+        return new StringWriter() {
+            @Override
+            public void close() {
+                generated.add(path);
+                resources.put(path, new Resource(
+                        toString().getBytes(StandardCharsets.UTF_8),
+                        System.currentTimeMillis()));
+            }
+        };
+    }
+
+    @Override
+    public void copy(Path source, BasicFileAttributes attrs, String path, AssetSync sync) throws IOException {
+        generated.add(path);
+        long lastModified = attrs.lastModifiedTime().toMillis();
+        if (sync != AssetSync.COPY) {
+            Resource resource = resources.get(path);
+            if (resource != null
+                    && resource.content.length == attrs.size()
+                    && resource.lastModified == lastModified) {
+                return;
+            }
+        }
+        resources.put(path, new Resource(Files.readAllBytes(source), lastModified));
+    }
+
+    @Override
+    public boolean exists(String path) {
+        return resources.containsKey(path);
+    }
+
+    @Override
+    public void begin() {
+        generated.clear();
+    }
+
+    @Override
+    public void keep(String path) {
+        generated.add(path);
+    }
+
+    @Override
+    public void end() {
+        resources.keySet().retainAll(generated);
+    }
+
+    /**
+     * Get a file.
+     *
+     * @param path the output path of the file
+     * @return the file or {@code null} if not found
+     */
+    public Resource get(String path) {
+        return resources.get(path);
+    }
+
+    /**
+     * Get the output paths of all the files.
+     *
+     * @return {@code Set<String>}, never {@code null}
+     */
+    public Set<String> paths() {
+        return Collections.unmodifiableSet(resources.keySet());
+    }
+
+    /**
+     * A file kept in memory.
+     */
+    public static final class Resource {
+
+        private final byte[] content;
+        private final long lastModified;
+        private final String etag;
+        private final String gzipETag;
+        private volatile byte[] gzipContent;
+
+        private Resource(byte[] content, long lastModified) {
+            this.content = content;
+            this.lastModified = lastModified;
+            CRC32 crc = new CRC32();
+            crc.update(content, 0, content.length);
+            String tag = Long.toHexString(crc.getValue()) + "-" + Integer.toHexString(content.length);
+            this.etag = "\"" + tag + "\"";
+            this.gzipETag = "\"" + tag + "-gz\"";
+        }
+
+        /**
+         * Get the content, the returned array must not be modified.
+         * @return the content
+         */
+        public byte[] getContent() {
+            return content;
+        }
+
+        /**
+         * Get the content compressed with gzip, the compressed content is
+         * computed on first access.
+         * @return the compressed content
+         */
+        public byte[] getGzipContent() {
+            byte[] gzip = gzipContent;
+            if (gzip == null) {
+                ByteArrayOutputStream baos = new ByteArrayOutputStream(content.length / 4 + 64);
+                try (GZIPOutputStream gos = new GZIPOutputStream(baos)) {
+                    gos.write(content);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                gzip = baos.toByteArray();
+                gzipContent = gzip;
+            }
+            return gzip;
+        }
+
+        /**
+         * Get the last modified time.
+         * @return the last modified time in milliseconds since the epoch
+         */
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * Get the entity tag derived from the content.
+         * @return the quoted entity tag
+         */
+        public String getETag() {
+            return etag;
+        }
+
+        /**
+         * Get the entity tag of the content compressed with gzip.
+         * @return the quoted entity tag
+         */
+        public String getGzipETag() {
+            return gzipETag;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.sitegen;
+
+import java.io.File;
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * A {@link SiteOutput} that counts the bytes written to the writers of
+ * another output.
+ *
+ * @author rgrecour
+ */
+final class MeteredOutput implements SiteOutput {
+
+    private final SiteOutput delegate;
+    private final RenderingMetrics metrics;
+
+    /**
+     * Create a new metered output.
+     *
+     * @param delegate the output to write to
+     * @param metrics the metrics to update
+     */
+    MeteredOutput(SiteOutput delegate, RenderingMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public File getDirectory() {
+        return delegate.getDirectory();
+    }
+
+    @Override
+    public Writer newWriter(String path) throws IOException {
+        return new CountingWriter(delegate.newWriter(path), metrics);
+    }
+
+    @Override
+    public void copy(Path source, BasicFileAttributes attrs, String path, AssetSync sync) throws IOException {
+        delegate.copy(source, attrs, path, sync);
+    }
+
+    @Override
+    public boolean exists(String path) {
+        return delegate.exists(path);
+    }
+
+    @Override
+    public void begin() {
+        delegate.begin();
+    }
+
+    @Override
+    public void keep(String path) {
+        delegate.keep(path);
+    }
+
+    @Override
+    public void end() {
+        delegate.end();
+    }
+
+    @Override
+    public String pathOf(File file) {
+        return delegate.pathOf(file);
+    }
+
+    /**
+     * A writer that counts the UTF-8 encoded size of the written characters.
+     */
+    private static final class CountingWriter extends FilterWriter {
+
+        private final RenderingMetrics metrics;
+        private long count;
+        private boolean highSurrogate;
+
+        CountingWriter(Writer out, RenderingMetrics metrics) {
+            super(out);
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            out.write(c);
+            count((char) c);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            out.write(cbuf, off, len);
+            for (int i = off; i < off + len; i++) {
+                count(cbuf[i]);
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            out.write(str, off, len);
+            for (int i = off; i < off + len; i++) {
+                count(str.charAt(i));
+            }
+        }
+
+        private void count(char c) {
+            if (c < 0x80) {
+                count++;
+            } else if (c < 0x800) {
+                count += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                highSurrogate = true;
+                return;
+            } else if (Character.isLowSurrogate(c) && highSurrogate) {
+                count += 4;
+            } else {
+                count += 3;
+            }
+            highSurrogate = false;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                metrics.bytesWritten(count);
+                count = 0;
+            }
+        }
+    }
+}
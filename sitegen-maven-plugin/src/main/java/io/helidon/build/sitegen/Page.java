@@ -20,13 +20,18 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
 
 import static io.helidon.build.sitegen.Helper.checkNonNull;
 import static io.helidon.build.sitegen.Helper.checkNonNullNonEmpty;
 import static io.helidon.build.sitegen.Helper.getFileExt;
+import static io.helidon.build.sitegen.Helper.invokeAll;
 import static io.helidon.build.sitegen.Helper.replaceFileExt;
 
 /**
@@ -41,16 +46,19 @@ public class Page implements Model {
     private static final String TARGET_PROP = "target";
     private static final String METADATA_PROP = "metadata";
     private final String sourcePath;
+    private final SourcePath path;
     private final String sourceExt;
     private final String targetPath;
     private final Metadata metadata;
 
-    private Page(String source, String ext, String target, Metadata metadata) {
+    private Page(SourcePath path, String source, String ext, String target, Metadata metadata) {
+        checkNonNull(path, "path");
         checkNonNullNonEmpty(source, SOURCE_PROP);
         checkNonNullNonEmpty(ext, EXT_PROP);
         checkNonNullNonEmpty(target, TARGET_PROP);
         checkNonNull(metadata, METADATA_PROP);
         this.sourcePath = source;
+        this.path = path;
         this.sourceExt = ext;
         this.targetPath = replaceFileExt(source, "");
         this.metadata = metadata;
@@ -60,6 +68,15 @@ public class Page implements Model {
         return sourcePath;
     }
 
+    /**
+     * Get the parsed source path, the segments are parsed once per page.
+     *
+     * @return the source path, never {@code null}
+     */
+    SourcePath path() {
+        return path;
+    }
+
     public String getSourceExt() {
         return sourceExt;
     }
@@ -100,13 +117,30 @@ public class Page implements Model {
                                     Collection<String> includesPatterns,
                                     Collection<String> excludesPatterns) {
 
+        return doFilter(pages, paths -> SourcePath.filter(
+                paths, includesPatterns, excludesPatterns));
+    }
+
+    /**
+     * Filter the given {@code Collection} of pages with the given filter.
+     * @param pages the pages to filter
+     * @param filter the filter to apply
+     * @return the filtered {@code Collection} of pages
+     */
+    public static List<Page> filter(Collection<Page> pages, SourcePathFilter filter) {
+        checkNonNull(filter, "filter");
+        return doFilter(pages, filter::filter);
+    }
+
+    private static List<Page> doFilter(Collection<Page> pages,
+                                       Function<Collection<SourcePath>, List<SourcePath>> pathsFilter) {
+
         checkNonNull(pages, "pages");
         Map<SourcePath, Page> sourcePaths = new HashMap<>();
         for (Page page : pages) {
-            sourcePaths.put(new SourcePath(page.getSourcePath()), page);
+            sourcePaths.put(page.path(), page);
         }
-        List<SourcePath> filteredSourcePaths = SourcePath.filter(
-                sourcePaths.keySet(), includesPatterns, excludesPatterns);
+        List<SourcePath> filteredSourcePaths = pathsFilter.apply(sourcePaths.keySet());
         List<Page> filtered = new LinkedList<>();
         for (SourcePath sourcePath : SourcePath.sort(filteredSourcePaths)) {
             Page page = sourcePaths.get(sourcePath);
@@ -135,6 +169,30 @@ public class Page implements Model {
                                            File sourcedir,
                                            Backend backend) {
 
+        return create(sourcePaths, pageFilters, sourcedir, backend, 1);
+    }
+
+    /**
+     * Create {@link Page} instances for each matched {@link SourcePath}.
+     * The metadata of the pages is read in parallel if {@code threads} is
+     * greater than {@code 1}.
+     *
+     * @param sourcePaths a {@code List} of {@link SourcePath} to match
+     * @param pageFilters a {@code List} of {@link SourcePathFilter} to apply
+     * @param sourcedir the source directory containing associated with the
+     * given {@link SourcePath} values
+     * @param backend the {@link Backend} instance to use for reading the
+     * {@link Page} metadata
+     * @param threads the number of threads used to read the metadata
+     * @return the created {@link Page} instances in {@code Map} indexed by their
+     * relative source path
+     */
+    public static Map<String, Page> create(List<SourcePath> sourcePaths,
+                                           List<SourcePathFilter> pageFilters,
+                                           File sourcedir,
+                                           Backend backend,
+                                           int threads) {
+
         checkNonNull(sourcePaths, "sourcePaths");
         checkNonNull(pageFilters, "pageFilters");
         List<SourcePath> filteredSourcePaths;
@@ -143,24 +201,29 @@ public class Page implements Model {
         } else {
             filteredSourcePaths = new ArrayList<>();
             for (SourcePathFilter pageFilter : pageFilters) {
-                filteredSourcePaths.addAll(SourcePath.filter(
-                        sourcePaths, pageFilter.getIncludes(), pageFilter.getExcludes()));
+                filteredSourcePaths.addAll(pageFilter.filter(sourcePaths));
             }
         }
-        Map<String, Page> pages = new HashMap<>();
+        Set<String> sourcePathStrs = new HashSet<>();
+        List<Callable<Page>> tasks = new ArrayList<>();
         for (SourcePath sourcePath : SourcePath.sort(filteredSourcePaths)) {
             String sourcePathStr = sourcePath.asString();
-            if (pages.containsKey(sourcePathStr)) {
+            if (!sourcePathStrs.add(sourcePathStr)) {
                 throw new IllegalStateException(
                         "source path " + sourcePathStr + "already included");
             }
-            String sourceExt = getFileExt(sourcePathStr);
-            String targetPath = replaceFileExt(sourcePathStr, "");
-            Metadata metadata = backend
-                    .getPageRenderer(sourceExt)
-                    .readMetadata(new File(sourcedir, sourcePathStr));
-            pages.put(sourcePathStr,
-                    new Page(sourcePathStr, sourceExt, targetPath, metadata));
+            tasks.add(() -> {
+                String sourceExt = getFileExt(sourcePathStr);
+                String targetPath = replaceFileExt(sourcePathStr, "");
+                Metadata metadata = backend
+                        .getPageRenderer(sourceExt)
+                        .readMetadata(new File(sourcedir, sourcePathStr));
+                return new Page(sourcePath, sourcePathStr, sourceExt, targetPath, metadata);
+            });
+        }
+        Map<String, Page> pages = new HashMap<>();
+        for (Page page : invokeAll("metadata", threads, tasks)) {
+            pages.put(page.getSourcePath(), page);
         }
         return pages;
     }
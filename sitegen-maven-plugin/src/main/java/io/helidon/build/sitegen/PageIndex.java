@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.helidon.build.sitegen;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static io.helidon.build.sitegen.Helper.checkNonNull;
+
+/**
+ * An index of pages sorted by source path, used to filter the same pages
+ * repeatedly (e.g. for each {@link VuetifyNavigation.Pages} item of a
+ * navigation).
+ *
+ * The pages are sorted once when the index is created and a filter is a
+ * single pass over the parsed source paths, the filtered pages are returned
+ * in the same order as {@link Page#filter(Collection, SourcePathFilter)}.
+ *
+ * @author rgrecour
+ */
+final class PageIndex {
+
+    private final Page[] pages;
+
+    /**
+     * Create a new page index.
+     *
+     * @param pages the pages to index
+     */
+    PageIndex(Collection<Page> pages) {
+        checkNonNull(pages, "pages");
+        List<Page> sorted = new ArrayList<>(pages);
+        sorted.sort((p1, p2) -> SourcePath.COMPARATOR.compare(p1.path(), p2.path()));
+        this.pages = sorted.toArray(new Page[sorted.size()]);
+    }
+
+    /**
+     * Filter the indexed pages with the given filter.
+     *
+     * @param filter the filter to apply
+     * @return the filtered pages, sorted by source path
+     */
+    List<Page> filter(SourcePathFilter filter) {
+        checkNonNull(filter, "filter");
+        List<Page> filtered = new ArrayList<>();
+        for (Page page : pages) {
+            if (filter.matches(page.path())) {
+                filtered.add(page);
+            }
+        }
+        return filtered;
+    }
+}
@@ -18,15 +18,27 @@ package io.helidon.build.sitegen;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
 
+import io.helidon.build.sitegen.BuildManifest.PageState;
 import io.helidon.build.sitegen.freemarker.TemplateSession;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import static io.helidon.build.sitegen.Helper.checkNonNull;
 import static io.helidon.build.sitegen.Helper.checkNonNullNonEmpty;
 import static io.helidon.build.sitegen.Helper.checkValidDir;
 import static io.helidon.build.sitegen.Helper.copyResources;
+import static io.helidon.build.sitegen.Helper.invokeAll;
 
 /**
  * Represents a site processing invocation.
@@ -35,24 +47,105 @@ import static io.helidon.build.sitegen.Helper.copyResources;
  */
 public class RenderingContext {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(RenderingContext.class);
     private final Site site;
     private final TemplateSession templateSession;
     private final Map<String, Page> pages;
+    private final Map<String, Page> pagesByRoute;
     private final File sourcedir;
-    private final File outputdir;
+    private final SiteOutput output;
     private final List<SourcePath> sourcePaths;
+    private final BuildManifest previousManifest;
+    private final BuildManifest manifest;
+    private final Set<Path> affectedFiles;
+    private final RenderingMetrics metrics;
+
+    RenderingContext(Site site,
+                     File sourcedir,
+                     SiteOutput output,
+                     Collection<Path> changedFiles,
+                     RenderingMetrics metrics) {
 
-    RenderingContext(Site site, File sourcedir, File outputdir) {
         checkNonNull(site, "site");
         checkValidDir(sourcedir, "sourcedir");
-        checkNonNull(outputdir, "outputdir");
+        checkNonNull(output, "output");
+        checkNonNull(metrics, "metrics");
         this.site = site;
         this.sourcedir = sourcedir;
-        this.outputdir = outputdir;
-        this.templateSession = new TemplateSession();
-        this.sourcePaths = SourcePath.scan(sourcedir);
+        this.metrics = metrics;
+        this.output = new MeteredOutput(output, metrics);
+        this.templateSession = new TemplateSession(metrics);
+        site.getEngine().asciidoc().growRuntimes(site.getRenderingThreads());
+        long start = System.nanoTime();
+        this.sourcePaths = SourcePath.scan(sourcedir, scanPatterns(site));
+        metrics.phase(RenderingMetrics.SCAN, System.nanoTime() - start);
+        start = System.nanoTime();
         this.pages = Page.create(
-                sourcePaths, site.getPages(), sourcedir, site.getBackend());
+                sourcePaths, site.getPages(), sourcedir, site.getBackend(),
+                site.getRenderingThreads());
+        metrics.phase(RenderingMetrics.METADATA, System.nanoTime() - start);
+        this.pagesByRoute = new HashMap<>();
+        for (Page page : pages.values()) {
+            pagesByRoute.putIfAbsent(page.getTargetPath(), page);
+        }
+        File manifestFile = site.getBuildManifest();
+        if (manifestFile != null) {
+            String siteDigest = BuildManifest.siteDigest(site.getConfigDigest(),
+                    site.getBackend().getName(), pages.values());
+            this.previousManifest = BuildManifest.load(manifestFile, siteDigest);
+            IncludeGraph previousGraph = previousManifest.getIncludeGraph();
+            this.manifest = new BuildManifest(siteDigest, new IncludeGraph(previousGraph));
+            this.affectedFiles = affectedFiles(previousGraph, changedFiles);
+        } else {
+            this.previousManifest = null;
+            this.manifest = null;
+            this.affectedFiles = null;
+        }
+    }
+
+    /**
+     * Get the files affected by the given changed files, i.e. the changed
+     * files and the files that include them directly or transitively.
+     *
+     * @param includeGraph the include graph
+     * @param changedFiles the changed files, may be {@code null}
+     * @return the affected files, or {@code null} if the changed files are
+     * not known
+     */
+    private static Set<Path> affectedFiles(IncludeGraph includeGraph, Collection<Path> changedFiles) {
+        if (changedFiles == null) {
+            return null;
+        }
+        Set<Path> affected = new HashSet<>();
+        for (Path file : changedFiles) {
+            affected.add(file.toAbsolutePath().normalize());
+        }
+        affected.addAll(includeGraph.dependents(affected));
+        LOGGER.debug("Files affected by the changes: {}", affected);
+        return affected;
+    }
+
+    /**
+     * Get the include patterns of the pages and static assets, used to prune
+     * the source directory scan.
+     *
+     * @param site the site
+     * @return the include patterns, or {@code null} if all the files are
+     * needed
+     */
+    private static List<SourcePathPattern> scanPatterns(Site site) {
+        if (site.getPages().isEmpty()) {
+            // no page filter, all files are pages
+            return null;
+        }
+        List<String> includes = new ArrayList<>();
+        for (SourcePathFilter pageFilter : site.getPages()) {
+            includes.addAll(pageFilter.getIncludes());
+        }
+        for (StaticAsset asset : site.getAssets()) {
+            includes.addAll(asset.getIncludes());
+        }
+        return SourcePathPattern.compile(includes);
     }
 
     /**
@@ -68,7 +161,23 @@ public class RenderingContext {
      * @return the source directory, never {@code null}
      */
     public File getOutputdir() {
-        return outputdir;
+        return output.getDirectory();
+    }
+
+    /**
+     * Get the output of this site processing invocation.
+     * @return the site output, never {@code null}
+     */
+    public SiteOutput getOutput() {
+        return output;
+    }
+
+    /**
+     * Get the metrics of this site processing invocation.
+     * @return the metrics, never {@code null}
+     */
+    public RenderingMetrics getMetrics() {
+        return metrics;
     }
 
     /**
@@ -79,6 +188,16 @@ public class RenderingContext {
         return templateSession;
     }
 
+    /**
+     * Get the {@link IncludeGraph} where to record the includes of the
+     * rendered pages.
+     * @return the include graph, or {@code null} if incremental rendering is
+     * disabled
+     */
+    public IncludeGraph getIncludeGraph() {
+        return manifest != null ? manifest.getIncludeGraph() : null;
+    }
+
     /**
      * Get all scanned pages.
      *
@@ -104,44 +223,112 @@ public class RenderingContext {
      */
     public Page getPageForRoute(String route) {
         checkNonNullNonEmpty(route, "route");
-        for (Page page : pages.values()) {
-            if (route.equals(page.getTargetPath())) {
-                return page;
-            }
-        }
-        return null;
+        return pagesByRoute.get(route);
     }
 
     /**
      * Copy the scanned static assets in the output directory.
      */
     public void copyStaticAssets() {
+        long start = System.nanoTime();
         for (StaticAsset asset : site.getAssets()) {
-            for (SourcePath path : SourcePath.filter(
-                    sourcePaths, asset.getIncludes(), asset.getExcludes())) {
-                File targetDir = new File(outputdir, asset.getTarget());
-                targetDir.mkdirs();
+            File targetDir = new File(output.getDirectory(), asset.getTarget());
+            for (SourcePath path : asset.filter(sourcePaths)) {
                 try {
                     copyResources(new File(sourcedir, path.asString()).toPath(),
-                            new File(targetDir, path.asString()));
+                            output,
+                            output.pathOf(new File(targetDir, path.asString())),
+                            site.getAssetSync());
                 } catch (IOException ex) {
                     throw new RenderingException(
                             "An error occurred while copying resource: " + path.asString(), ex);
                 }
             }
         }
+        metrics.phase(RenderingMetrics.ASSETS, System.nanoTime() - start);
     }
 
     /**
      * Process the rendering of all pages.
      *
+     * The pages are rendered in parallel if the site is configured with more
+     * than one rendering thread, see {@link Site#getRenderingThreads()}.
+     *
      * @param pagesdir the directory where to generate the rendered files
      * @param ext the file extension to use for the rendered files
      */
     public void processPages(File pagesdir, String ext) {
+        long start = System.nanoTime();
+        List<Callable<Void>> tasks = new ArrayList<>();
         for (Page page : pages.values()) {
-            PageRenderer renderer = site.getBackend().getPageRenderer(page.getSourceExt());
-            renderer.process(page, this, pagesdir, ext);
+            tasks.add(() -> {
+                processPage(page, pagesdir, ext);
+                return null;
+            });
+        }
+        invokeAll("render", site.getRenderingThreads(), tasks);
+        metrics.phase(RenderingMetrics.RENDER, System.nanoTime() - start);
+    }
+
+    private void processPage(Page page, File pagesdir, String ext) {
+        PageRenderer renderer = site.getBackend().getPageRenderer(page.getSourceExt());
+        if (manifest == null) {
+            renderPage(renderer, page, pagesdir, ext);
+            return;
+        }
+        String sourcePath = page.getSourcePath();
+        File source = new File(sourcedir, sourcePath);
+        File target = new File(pagesdir, page.getTargetPath() + "." + ext);
+        PageState state = null;
+        if (output.exists(output.pathOf(target))) {
+            Path sourceFile = source.toPath().toAbsolutePath().normalize();
+            if (affectedFiles != null
+                    && !affectedFiles.contains(sourceFile)
+                    && previousManifest.getIncludeGraph().contains(sourceFile)) {
+                // not affected by the changes, no need to compute the digest
+                state = previousManifest.get(sourcePath);
+            }
+            if (state == null) {
+                // the includes recorded when the page was last rendered
+                String digest = BuildManifest.pageDigest(source, previousManifest.getIncludeGraph());
+                state = previousManifest.get(sourcePath, digest);
+            }
+        }
+        if (state != null) {
+            LOGGER.debug("Page is up-to-date: {}", sourcePath);
+            output.keep(output.pathOf(target));
+            templateSession.getSearchIndex().addEntries(sourcePath, state.getSearchEntries());
+            if (state.getVueBindings() != null) {
+                templateSession.getVueBindings().getBindings().put(sourcePath, state.getVueBindings());
+            }
+            if (state.getCustomLayout() != null) {
+                templateSession.getCustomLayouts().getMappings().put(sourcePath, state.getCustomLayout());
+            }
+            metrics.pageSkipped();
+        } else {
+            // the includes of the page are recorded while rendering
+            renderPage(renderer, page, pagesdir, ext);
+            state = new PageState(BuildManifest.pageDigest(source, manifest.getIncludeGraph()),
+                    templateSession.getSearchIndex().getEntries(sourcePath),
+                    templateSession.getVueBindings().getBindings().get(sourcePath),
+                    templateSession.getCustomLayouts().getMappings().get(sourcePath));
+        }
+        manifest.put(sourcePath, state);
+    }
+
+    private void renderPage(PageRenderer renderer, Page page, File pagesdir, String ext) {
+        long start = System.nanoTime();
+        renderer.process(page, this, pagesdir, ext);
+        metrics.page(page.getSourcePath(), System.nanoTime() - start);
+    }
+
+    /**
+     * Save the build manifest if incremental rendering is enabled.
+     */
+    void saveBuildManifest() {
+        if (manifest != null) {
+            LOGGER.info("Skipped {} up-to-date page(s) out of {}", metrics.getSkippedPages(), pages.size());
+            manifest.save(site.getBuildManifest());
         }
     }
 }
@@ -0,0 +1,315 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.sitegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.helidon.build.sitegen.Helper.toJsonString;
+
+/**
+ * Timings and counters collected during a site processing invocation.
+ *
+ * The phase timings are wall-clock times. The template timings are inclusive,
+ * i.e. the time spent rendering a node includes the time spent rendering its
+ * children. Instances are thread-safe.
+ *
+ * @author rgrecour
+ */
+public final class RenderingMetrics {
+
+    /**
+     * Scan of the source directory.
+     */
+    public static final String SCAN = "scan";
+
+    /**
+     * Creation of the pages, including the metadata.
+     */
+    public static final String METADATA = "metadata";
+
+    /**
+     * Rendering of the pages.
+     */
+    public static final String RENDER = "render";
+
+    /**
+     * Copy of the static assets declared in the site configuration.
+     */
+    public static final String ASSETS = "assets";
+
+    /**
+     * Rendering of the backend site files (e.g. index, configuration).
+     */
+    public static final String SITE_FILES = "site-files";
+
+    /**
+     * Copy of the backend static resources.
+     */
+    public static final String RESOURCES = "resources";
+
+    private static final List<String> PHASES = Arrays.asList(
+            SCAN, METADATA, RENDER, ASSETS, SITE_FILES, RESOURCES);
+
+    private final Map<String, LongAdder> phases = new ConcurrentHashMap<>();
+    private final Map<String, Long> pages = new ConcurrentHashMap<>();
+    private final Map<String, Timing> templates = new ConcurrentHashMap<>();
+    private final LongAdder nodes = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder skippedPages = new LongAdder();
+
+    /**
+     * Record the time spent in a phase.
+     *
+     * @param phase the phase name
+     * @param nanos the elapsed time in nanoseconds
+     */
+    public void phase(String phase, long nanos) {
+        phases.computeIfAbsent(phase, k -> new LongAdder()).add(nanos);
+    }
+
+    /**
+     * Record the rendering of a page.
+     *
+     * @param sourcePath the source path of the page
+     * @param nanos the elapsed time in nanoseconds
+     */
+    public void page(String sourcePath, long nanos) {
+        pages.put(sourcePath, nanos);
+    }
+
+    /**
+     * Record a page that was skipped because it is up-to-date.
+     */
+    public void pageSkipped() {
+        skippedPages.increment();
+    }
+
+    /**
+     * Record the rendering of a template.
+     *
+     * @param template the template name
+     * @param nanos the elapsed time in nanoseconds
+     * @param node {@code true} if the template rendered a document node
+     */
+    public void template(String template, long nanos, boolean node) {
+        templates.computeIfAbsent(template, k -> new Timing()).add(nanos);
+        if (node) {
+            nodes.increment();
+        }
+    }
+
+    /**
+     * Record bytes written to the site output.
+     *
+     * @param count the number of bytes
+     */
+    public void bytesWritten(long count) {
+        bytes.add(count);
+    }
+
+    /**
+     * Get the time spent in a phase.
+     *
+     * @param phase the phase name
+     * @return the time in nanoseconds, {@code 0} if the phase was not recorded
+     */
+    public long getPhaseNanos(String phase) {
+        LongAdder nanos = phases.get(phase);
+        return nanos == null ? 0 : nanos.sum();
+    }
+
+    /**
+     * Get the number of rendered pages.
+     *
+     * @return the number of rendered pages
+     */
+    public int getRenderedPages() {
+        return pages.size();
+    }
+
+    /**
+     * Get the number of pages skipped because they were up-to-date.
+     *
+     * @return the number of skipped pages
+     */
+    public int getSkippedPages() {
+        return skippedPages.intValue();
+    }
+
+    /**
+     * Get the number of rendered document nodes.
+     *
+     * @return the number of rendered nodes
+     */
+    public long getRenderedNodes() {
+        return nodes.sum();
+    }
+
+    /**
+     * Get the number of bytes written by the rendering of the pages and of
+     * the site files, the copied assets and resources are not included.
+     *
+     * @return the number of bytes
+     */
+    public long getBytesWritten() {
+        return bytes.sum();
+    }
+
+    /**
+     * Get a summary of the metrics.
+     *
+     * @param top the number of slowest pages and templates to include
+     * @return the summary lines
+     */
+    public List<String> summary(int top) {
+        List<String> lines = new ArrayList<>();
+        StringBuilder sb = new StringBuilder("Phases:");
+        for (String phase : phaseNames()) {
+            sb.append(' ').append(phase).append('=').append(millis(getPhaseNanos(phase))).append("ms");
+        }
+        lines.add(sb.toString());
+        lines.add(String.format("Rendered %d page(s), skipped %d page(s), rendered %d node(s), wrote %d byte(s)",
+                getRenderedPages(), getSkippedPages(), getRenderedNodes(), getBytesWritten()));
+        for (Map.Entry<String, Long> page : slowestPages(top)) {
+            lines.add(String.format("Slow page: %s %sms", page.getKey(), millis(page.getValue())));
+        }
+        for (Map.Entry<String, Timing> template : slowestTemplates(top)) {
+            Timing timing = template.getValue();
+            lines.add(String.format("Slow template: %s %sms (%d invocation(s), max %sms)",
+                    template.getKey(), millis(timing.total.sum()), timing.count.sum(), millis(timing.max.get())));
+        }
+        return lines;
+    }
+
+    /**
+     * Write the metrics as a JSON document.
+     *
+     * @param file the file to write
+     * @param top the number of slowest pages and templates to include
+     * @throws RenderingException if an IO error occurs
+     */
+    public void writeJson(File file, int top) {
+        try {
+            Files.createDirectories(file.toPath().toAbsolutePath().getParent());
+            try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+                writer.write(toJson(top));
+            }
+        } catch (IOException ex) {
+            throw new RenderingException(
+                    "An error occurred while writing the metrics report: " + file, ex);
+        }
+    }
+
+    /**
+     * Convert the metrics to a JSON document.
+     *
+     * @param top the number of slowest pages and templates to include
+     * @return the JSON document
+     */
+    public String toJson(int top) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\n  \"phases\": {");
+        String sep = "\n";
+        for (String phase : phaseNames()) {
+            sb.append(sep).append("    ").append(toJsonString(phase)).append(": ").append(millis(getPhaseNanos(phase)));
+            sep = ",\n";
+        }
+        sb.append("\n  },\n");
+        sb.append("  \"renderedPages\": ").append(getRenderedPages()).append(",\n");
+        sb.append("  \"skippedPages\": ").append(getSkippedPages()).append(",\n");
+        sb.append("  \"renderedNodes\": ").append(getRenderedNodes()).append(",\n");
+        sb.append("  \"bytesWritten\": ").append(getBytesWritten()).append(",\n");
+        sb.append("  \"slowestPages\": [");
+        sep = "\n";
+        for (Map.Entry<String, Long> page : slowestPages(top)) {
+            sb.append(sep).append("    { \"page\": ").append(toJsonString(page.getKey()))
+                    .append(", \"millis\": ").append(millis(page.getValue())).append(" }");
+            sep = ",\n";
+        }
+        sb.append("\n  ],\n");
+        sb.append("  \"slowestTemplates\": [");
+        sep = "\n";
+        for (Map.Entry<String, Timing> template : slowestTemplates(top)) {
+            Timing timing = template.getValue();
+            sb.append(sep).append("    { \"template\": ").append(toJsonString(template.getKey()))
+                    .append(", \"invocations\": ").append(timing.count.sum())
+                    .append(", \"millis\": ").append(millis(timing.total.sum()))
+                    .append(", \"maxMillis\": ").append(millis(timing.max.get())).append(" }");
+            sep = ",\n";
+        }
+        sb.append("\n  ]\n}\n");
+        return sb.toString();
+    }
+
+    private List<String> phaseNames() {
+        List<String> names = new ArrayList<>();
+        for (String phase : PHASES) {
+            if (phases.containsKey(phase)) {
+                names.add(phase);
+            }
+        }
+        List<String> others = new ArrayList<>(phases.keySet());
+        others.removeAll(PHASES);
+        others.sort(null);
+        names.addAll(others);
+        return names;
+    }
+
+    private List<Map.Entry<String, Long>> slowestPages(int top) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(pages.entrySet());
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        return entries.subList(0, Math.min(Math.max(top, 0), entries.size()));
+    }
+
+    private List<Map.Entry<String, Timing>> slowestTemplates(int top) {
+        List<Map.Entry<String, Timing>> entries = new ArrayList<>(templates.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, Timing> e) -> e.getValue().total.sum()).reversed());
+        return entries.subList(0, Math.min(Math.max(top, 0), entries.size()));
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ENGLISH, "%.3f", nanos / 1_000_000d);
+    }
+
+    /**
+     * The timing of a template.
+     */
+    private static final class Timing {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final AtomicLong max = new AtomicLong();
+
+        void add(long nanos) {
+            count.increment();
+            total.add(nanos);
+            max.accumulateAndGet(nanos, Math::max);
+        }
+    }
+}
@@ -16,12 +16,16 @@
 
 package io.helidon.build.sitegen;
 
+import java.io.Serializable;
+
 /**
  * Search index entry model.
  *
  * @author rgrecour
  */
-public class SearchEntry {
+public class SearchEntry implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private final String location;
     private final String text;
@@ -0,0 +1,434 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.sitegen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+import static io.helidon.build.sitegen.Helper.toJsonString;
+
+/**
+ * A search index built from the {@link SearchEntry} instances of a site.
+ *
+ * The entries are tokenized at build time into an inverted index that maps
+ * each term to its postings, i.e. the documents containing the term and a
+ * weight computed from the term frequencies (a title occurrence counts for
+ * {@value #TITLE_BOOST}). The client queries the index directly and only
+ * needs the location, the title and a short snippet of each document.
+ *
+ * The index is written as a small manifest, a documents file and one shard
+ * per first character of the terms. The client fetches the manifest on the
+ * first search and then only the shards of the query terms.
+ *
+ * The first section of a page is merged into the page document, like the
+ * previous client-side indexing did.
+ *
+ * @author rgrecour
+ */
+public final class SearchIndex {
+
+    /**
+     * The version of the index format.
+     */
+    public static final int VERSION = 3;
+
+    /**
+     * The weight of a title occurrence.
+     */
+    public static final int TITLE_BOOST = 10;
+
+    /**
+     * The maximum length of the document snippets.
+     */
+    public static final int SNIPPET_LENGTH = 400;
+
+    /**
+     * The regular expression of the term separators.
+     */
+    static final String SEPARATOR = "[\\s\\-]+";
+
+    /**
+     * The regular expression of the non word characters trimmed from the
+     * terms.
+     */
+    static final String NON_WORD = "[^\\p{L}\\p{Nd}_]+";
+
+    private static final Pattern SEPARATOR_PATTERN = Pattern.compile(SEPARATOR, Pattern.UNICODE_CHARACTER_CLASS);
+    private static final Pattern TRIM_PATTERN = Pattern.compile(
+            "^" + NON_WORD + "|" + NON_WORD + "$", Pattern.UNICODE_CHARACTER_CLASS);
+    private static final List<String> STOP_WORDS_LIST = Arrays.asList(
+            "a", "able", "about", "across", "after", "all", "almost", "also", "am", "among", "an", "and", "any",
+            "are", "as", "at", "be", "because", "been", "but", "by", "can", "cannot", "could", "dear", "did",
+            "do", "does", "either", "else", "ever", "every", "for", "from", "get", "got", "had", "has", "have",
+            "he", "her", "hers", "him", "his", "how", "however", "i", "if", "in", "into", "is", "it", "its",
+            "just", "least", "let", "like", "likely", "may", "me", "might", "most", "must", "my", "neither",
+            "no", "nor", "not", "of", "off", "often", "on", "only", "or", "other", "our", "own", "rather",
+            "said", "say", "says", "she", "should", "since", "so", "some", "than", "that", "the", "their",
+            "them", "then", "there", "these", "they", "this", "tis", "to", "too", "twas", "us", "wants", "was",
+            "we", "were", "what", "when", "where", "which", "while", "who", "whom", "why", "will", "with",
+            "would", "yet", "you", "your");
+    private static final Set<String> STOP_WORDS = new HashSet<>(STOP_WORDS_LIST);
+
+    private final List<Document> documents;
+    private final SortedMap<String, int[]> postings;
+
+    private SearchIndex(List<Document> documents, SortedMap<String, int[]> postings) {
+        this.documents = documents;
+        this.postings = postings;
+    }
+
+    /**
+     * Build a search index.
+     *
+     * @param entries the search entries, in page order
+     * @return the created index, never {@code null}
+     */
+    public static SearchIndex create(List<SearchEntry> entries) {
+        List<Document> documents = documents(entries);
+        Map<String, List<int[]>> terms = new HashMap<>();
+        for (int docId = 0; docId < documents.size(); docId++) {
+            Document doc = documents.get(docId);
+            Map<String, int[]> weights = new LinkedHashMap<>();
+            for (String term : tokenize(doc.title)) {
+                weights.computeIfAbsent(term, t -> new int[1])[0] += TITLE_BOOST;
+            }
+            for (String term : tokenize(doc.text)) {
+                weights.computeIfAbsent(term, t -> new int[1])[0]++;
+            }
+            for (Map.Entry<String, int[]> weight : weights.entrySet()) {
+                terms.computeIfAbsent(weight.getKey(), t -> new ArrayList<>())
+                        .add(new int[]{docId, weight.getValue()[0]});
+            }
+        }
+        SortedMap<String, int[]> postings = new TreeMap<>();
+        for (Map.Entry<String, List<int[]>> term : terms.entrySet()) {
+            List<int[]> termPostings = term.getValue();
+            int[] flat = new int[termPostings.size() * 2];
+            for (int i = 0; i < termPostings.size(); i++) {
+                flat[i * 2] = termPostings.get(i)[0];
+                flat[i * 2 + 1] = termPostings.get(i)[1];
+            }
+            postings.put(term.getKey(), flat);
+        }
+        List<Document> snippets = new ArrayList<>(documents.size());
+        for (Document doc : documents) {
+            snippets.add(new Document(doc.location, doc.title, snippet(doc.text, SNIPPET_LENGTH)));
+        }
+        return new SearchIndex(Collections.unmodifiableList(snippets), Collections.unmodifiableSortedMap(postings));
+    }
+
+    /**
+     * Create the documents to index from the entries. A section is attached
+     * to its page document, the first section of a page replaces the title
+     * and text of the page and is not indexed separately if it has the same
+     * title.
+     */
+    private static List<Document> documents(List<SearchEntry> entries) {
+        Map<String, Document> documents = new LinkedHashMap<>();
+        for (SearchEntry entry : entries) {
+            if (entry == null || entry.getLocation() == null) {
+                continue;
+            }
+            Document doc = new Document(entry.getLocation(),
+                    entry.getTitle() == null ? "" : entry.getTitle(),
+                    entry.getText() == null ? "" : entry.getText());
+            int idx = doc.location.indexOf('#');
+            Document parent = null;
+            if (idx >= 0 && idx < doc.location.length() - 1) {
+                parent = documents.get(doc.location.substring(0, idx));
+                if (parent != null && !parent.done) {
+                    parent.title = doc.title;
+                    parent.text = doc.text;
+                    parent.done = true;
+                }
+            }
+            if (parent == null || !parent.title.equals(doc.title)) {
+                documents.put(doc.location, doc);
+            }
+        }
+        return new ArrayList<>(documents.values());
+    }
+
+    /**
+     * Split a text into index terms. The text is lower-cased and split on
+     * {@link #SEPARATOR}, the {@link #NON_WORD} characters are trimmed from
+     * both ends of the terms and the stop words are discarded.
+     *
+     * The patterns and the stop words are written in the manifest, the client
+     * tokenizes the queries with the same definitions.
+     *
+     * @param text the text to tokenize
+     * @return the terms, never {@code null}
+     */
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String token : SEPARATOR_PATTERN.split(text.toLowerCase(Locale.ENGLISH))) {
+            String term = TRIM_PATTERN.matcher(token).replaceAll("");
+            if (!term.isEmpty() && !STOP_WORDS.contains(term)) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Truncate a text at a word boundary, or at {@code length} if the
+     * truncated text has no space.
+     *
+     * @param text the text to truncate
+     * @param length the maximum length
+     * @return the truncated text, ending with {@code ...} if truncated
+     */
+    static String snippet(String text, int length) {
+        if (text.length() <= length) {
+            return text;
+        }
+        int i = text.lastIndexOf(' ', length);
+        if (i <= 0) {
+            // no space, do not split a surrogate pair
+            i = Character.isHighSurrogate(text.charAt(length - 1)) ? length - 1 : length;
+        }
+        return text.substring(0, i) + "...";
+    }
+
+    /**
+     * Get the number of indexed documents.
+     *
+     * @return the number of documents
+     */
+    public int size() {
+        return documents.size();
+    }
+
+    /**
+     * Get the indexed terms.
+     *
+     * @return the terms, in natural order
+     */
+    public Set<String> terms() {
+        return postings.keySet();
+    }
+
+    /**
+     * Get the postings of a term.
+     *
+     * @param term the term
+     * @return the postings as pairs of document id and weight, in document id
+     * order, or {@code null} if the term is not indexed
+     */
+    public int[] postings(String term) {
+        int[] termPostings = postings.get(term);
+        return termPostings == null ? null : termPostings.clone();
+    }
+
+    /**
+     * Get the location of a document.
+     *
+     * @param docId the document id
+     * @return the location
+     */
+    public String location(int docId) {
+        return documents.get(docId).location;
+    }
+
+    /**
+     * Get the keys of the index shards, i.e. the first characters of the
+     * terms.
+     *
+     * @return the shard keys, in natural order
+     */
+    public Set<String> shards() {
+        Set<String> keys = new TreeSet<>();
+        for (String term : postings.keySet()) {
+            keys.add(term.substring(0, 1));
+        }
+        return keys;
+    }
+
+    /**
+     * Get the file name of a shard.
+     *
+     * @param key the shard key
+     * @return the file name, the key itself if it is an ASCII letter or
+     * digit, its hexadecimal code otherwise
+     */
+    static String shardFile(String key) {
+        char c = key.charAt(0);
+        if (c < 128 && Character.isLetterOrDigit(c)) {
+            return key + ".json";
+        }
+        return String.format("u%04x.json", (int) c);
+    }
+
+    /**
+     * Write the index manifest in its JSON form.
+     *
+     * <pre>
+     * {
+     *   "version": 3,
+     *   "size": 42,
+     *   "separator": "[\\s\\-]+",
+     *   "nonWord": "[^\\p{L}\\p{Nd}_]+",
+     *   "stopWords": ["a", "able", ...],
+     *   "docs": "dir/docs.json",
+     *   "shards": {"a": "dir/a.json", ...}
+     * }
+     * </pre>
+     *
+     * @param writer the writer to write to
+     * @param dir the directory of the documents and shard files, relative to
+     * the site root
+     * @throws IOException if an IO error occurs
+     */
+    public void writeManifest(Writer writer, String dir) throws IOException {
+        writer.write("{\"version\":");
+        writer.write(String.valueOf(VERSION));
+        writer.write(",\n\"size\":");
+        writer.write(String.valueOf(documents.size()));
+        writer.write(",\n\"separator\":");
+        writer.write(toJsonString(SEPARATOR));
+        writer.write(",\n\"nonWord\":");
+        writer.write(toJsonString(NON_WORD));
+        writer.write(",\n\"stopWords\":[");
+        String sep = "";
+        for (String stopWord : STOP_WORDS_LIST) {
+            writer.write(sep);
+            writer.write(toJsonString(stopWord));
+            sep = ",";
+        }
+        writer.write("],\n\"docs\":");
+        writer.write(toJsonString(dir + "/docs.json"));
+        writer.write(",\n\"shards\":{");
+        sep = "\n";
+        for (String key : shards()) {
+            writer.write(sep);
+            writer.write(toJsonString(key));
+            writer.write(':');
+            writer.write(toJsonString(dir + "/" + shardFile(key)));
+            sep = ",\n";
+        }
+        writer.write("}}\n");
+    }
+
+    /**
+     * Write the documents in their JSON form, as an array of
+     * {@code ["location", "title", "snippet"]} indexed by document id.
+     *
+     * @param writer the writer to write to
+     * @throws IOException if an IO error occurs
+     */
+    public void writeDocs(Writer writer) throws IOException {
+        writer.write('[');
+        String sep = "\n";
+        for (Document doc : documents) {
+            writer.write(sep);
+            writer.write('[');
+            writer.write(toJsonString(doc.location));
+            writer.write(',');
+            writer.write(toJsonString(doc.title));
+            writer.write(',');
+            writer.write(toJsonString(doc.text));
+            writer.write(']');
+            sep = ",\n";
+        }
+        writer.write("]\n");
+    }
+
+    /**
+     * Write a shard in its JSON form.
+     *
+     * <pre>
+     * {
+     *   "terms": ["term", ...],
+     *   "postings": [[docId, weight, docIdDelta, weight, ...], ...]
+     * }
+     * </pre>
+     *
+     * The terms are sorted, the postings of the n-th term are at index n and
+     * the document ids are delta-encoded.
+     *
+     * @param writer the writer to write to
+     * @param key the shard key, see {@link #shards()}
+     * @throws IOException if an IO error occurs
+     */
+    public void writeShard(Writer writer, String key) throws IOException {
+        List<String> terms = new ArrayList<>();
+        for (String term : postings.tailMap(key).keySet()) {
+            if (!term.startsWith(key)) {
+                break;
+            }
+            terms.add(term);
+        }
+        writer.write("{\"terms\":[");
+        String sep = "";
+        for (String term : terms) {
+            writer.write(sep);
+            writer.write(toJsonString(term));
+            sep = ",";
+        }
+        writer.write("],\n\"postings\":[");
+        sep = "";
+        StringBuilder sb = new StringBuilder();
+        for (String term : terms) {
+            int[] termPostings = postings.get(term);
+            sb.setLength(0);
+            sb.append(sep).append('[');
+            int previous = 0;
+            for (int i = 0; i < termPostings.length; i += 2) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append(termPostings[i] - previous).append(',').append(termPostings[i + 1]);
+                previous = termPostings[i];
+            }
+            sb.append(']');
+            writer.write(sb.toString());
+            sep = ",\n";
+        }
+        writer.write("]}\n");
+    }
+
+    /**
+     * An indexed document.
+     */
+    private static final class Document {
+
+        private final String location;
+        private String title;
+        private String text;
+        private boolean done;
+
+        Document(String location, String title, String text) {
+            this.location = location;
+            this.title = title;
+            this.text = text;
+        }
+    }
+}
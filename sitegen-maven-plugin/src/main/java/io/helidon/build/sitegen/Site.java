@@ -19,6 +19,8 @@ package io.helidon.build.sitegen;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -45,6 +47,10 @@ public class Site {
     private static final String HEADER_PROP = "header";
     private static final String PAGES_PROP = "pages";
     private static final String BACKEND_PROP = "backend";
+    private static final String RENDERING_THREADS_PROP = "renderingThreads";
+    private static final String BUILD_MANIFEST_PROP = "buildManifest";
+    private static final String ASSET_SYNC_PROP = "assetSync";
+    private static final String CONFIG_DIGEST_PROP = "configDigest";
 
     /**
      * Ugly!
@@ -56,12 +62,21 @@ public class Site {
     private final Header header;
     private final List<SourcePathFilter> pages;
     private final Backend backend;
+    private final int renderingThreads;
+    private final File buildManifest;
+    private final AssetSync assetSync;
+    private final String configDigest;
 
+    @SuppressWarnings("checkstyle:ParameterNumber")
     private Site(SiteEngine engine,
                 List<StaticAsset> assets,
                 Header header,
                 List<SourcePathFilter> pages,
-                Backend backend) {
+                Backend backend,
+                Integer renderingThreads,
+                File buildManifest,
+                AssetSync assetSync,
+                String configDigest) {
         this.backend = backend == null ? new BasicBackend() : backend;
         final String backendName = this.backend.getName();
         THREADLOCAL.set(backendName);
@@ -69,6 +84,16 @@ public class Site {
         this.assets = assets == null ? Collections.emptyList() : assets;
         this.header = header == null ? new Header() : header;
         this.pages = pages == null ? Collections.emptyList() : pages;
+        if (renderingThreads == null) {
+            this.renderingThreads = 1;
+        } else if (renderingThreads <= 0) {
+            this.renderingThreads = Runtime.getRuntime().availableProcessors();
+        } else {
+            this.renderingThreads = renderingThreads;
+        }
+        this.buildManifest = buildManifest;
+        this.assetSync = assetSync == null ? AssetSync.COPY : assetSync;
+        this.configDigest = configDigest;
         SiteEngine.register(backendName, this.engine);
     }
 
@@ -112,6 +137,42 @@ public class Site {
         return backend;
     }
 
+    /**
+     * Get the number of threads used to render the pages.
+     * @return the number of rendering threads, {@code 1} if pages are rendered
+     * serially
+     */
+    public int getRenderingThreads() {
+        return renderingThreads;
+    }
+
+    /**
+     * Get the build manifest file used for incremental rendering.
+     * @return the build manifest file, {@code null} if all pages are rendered
+     * on each invocation
+     */
+    public File getBuildManifest() {
+        return buildManifest;
+    }
+
+    /**
+     * Get the strategy used to synchronize the static assets with the output
+     * directory.
+     * @return the asset synchronization strategy, never {@code null}
+     */
+    public AssetSync getAssetSync() {
+        return assetSync;
+    }
+
+    /**
+     * Get the digest of the configuration file used to create this site.
+     * @return the configuration digest, {@code null} if the site was not
+     * created from a configuration file
+     */
+    String getConfigDigest() {
+        return configDigest;
+    }
+
     /**
      * Triggers rendering of the site.
      *
@@ -122,12 +183,69 @@ public class Site {
      * @throws RenderingException if any error occurs while processing the site
      */
     public void generate(File sourcedir, File outputdir) throws RenderingException {
+        generate(sourcedir, new FileOutput(outputdir));
+    }
+
+    /**
+     * Triggers rendering of the site to the given output.
+     *
+     * @param sourcedir the source directory containing the site documents, must
+     * be an existing directory
+     * @param output the output where to generate the site files, the output
+     * directory and the missing parents will be automatically created
+     * @throws RenderingException if any error occurs while processing the site
+     */
+    public void generate(File sourcedir, SiteOutput output) throws RenderingException {
+        generate(sourcedir, output, null);
+    }
+
+    /**
+     * Triggers rendering of the site to the given output after some files
+     * have changed.
+     *
+     * If the site is configured with a build manifest, the pages that do not
+     * depend on the changed files, directly or through includes, are skipped
+     * without computing their digest.
+     *
+     * @param sourcedir the source directory containing the site documents, must
+     * be an existing directory
+     * @param output the output where to generate the site files, the output
+     * directory and the missing parents will be automatically created
+     * @param changedFiles the files that have changed since the previous
+     * invocation, or {@code null} if not known
+     * @throws RenderingException if any error occurs while processing the site
+     */
+    public void generate(File sourcedir, SiteOutput output, Collection<Path> changedFiles) throws RenderingException {
+        generate(sourcedir, output, changedFiles, new RenderingMetrics());
+    }
+
+    /**
+     * Triggers rendering of the site to the given output after some files
+     * have changed, and collects metrics.
+     *
+     * @param sourcedir the source directory containing the site documents, must
+     * be an existing directory
+     * @param output the output where to generate the site files, the output
+     * directory and the missing parents will be automatically created
+     * @param changedFiles the files that have changed since the previous
+     * invocation, or {@code null} if not known
+     * @param metrics the metrics to update
+     * @throws RenderingException if any error occurs while processing the site
+     */
+    public void generate(File sourcedir,
+                         SiteOutput output,
+                         Collection<Path> changedFiles,
+                         RenderingMetrics metrics) throws RenderingException {
         try {
-            Files.createDirectories(outputdir.toPath());
+            Files.createDirectories(output.getDirectory().toPath());
         } catch (IOException ex) {
             throw new RenderingException(ex.getMessage(), ex);
         }
-        backend.generate(new RenderingContext(this, sourcedir, outputdir));
+        output.begin();
+        RenderingContext ctx = new RenderingContext(this, sourcedir, output, changedFiles, metrics);
+        backend.generate(ctx);
+        ctx.saveBuildManifest();
+        output.end();
     }
 
     /**
@@ -154,6 +272,8 @@ public class Site {
 
             // TODO wrap this with a try/catch for ConfigException.
 
+            put(CONFIG_DIGEST_PROP, BuildManifest.configDigest(configFile, properties));
+
             // load config file as config nodes
             Config config = Config.builder()
                 .addFilter(ConfigFilters.valueResolving())
@@ -239,6 +359,49 @@ public class Site {
             return this;
         }
 
+        /**
+         * Set the number of threads used to render the pages in parallel.
+         *
+         * A value of {@code 0} or less uses the number of available processors,
+         * the pages are rendered serially if not set.
+         *
+         * @param threads the number of rendering threads
+         * @return the {@link Builder} instance
+         */
+        public Builder renderingThreads(int threads){
+            put(RENDERING_THREADS_PROP, threads);
+            return this;
+        }
+
+        /**
+         * Set the build manifest file used for incremental rendering.
+         *
+         * The pages that have not changed since the last invocation are not
+         * rendered, their search index entries, vue bindings and custom
+         * layouts are replayed from the manifest.
+         *
+         * @param buildManifest the file where to store the build manifest
+         * @return the {@link Builder} instance
+         */
+        public Builder buildManifest(File buildManifest){
+            put(BUILD_MANIFEST_PROP, buildManifest);
+            return this;
+        }
+
+        /**
+         * Set the strategy used to synchronize the static assets with the
+         * output directory.
+         *
+         * The assets are always copied if not set.
+         *
+         * @param assetSync the asset synchronization strategy
+         * @return the {@link Builder} instance
+         */
+        public Builder assetSync(AssetSync assetSync){
+            put(ASSET_SYNC_PROP, assetSync);
+            return this;
+        }
+
         /**
          * Set the header.
          * @param header the header to use
@@ -266,6 +429,10 @@ public class Site {
             Header header = null;
             List<SourcePathFilter> pages = null;
             Backend backend = null;
+            Integer renderingThreads = null;
+            File buildManifest = null;
+            AssetSync assetSync = null;
+            String configDigest = null;
             for (Map.Entry<String, Object> entry : values()) {
                 String attr = entry.getKey();
                 Object val = entry.getValue();
@@ -285,12 +452,25 @@ public class Site {
                     case(BACKEND_PROP):
                         backend = asType(val, Backend.class);
                         break;
+                    case(RENDERING_THREADS_PROP):
+                        renderingThreads = asType(val, Integer.class);
+                        break;
+                    case(BUILD_MANIFEST_PROP):
+                        buildManifest = asType(val, File.class);
+                        break;
+                    case(ASSET_SYNC_PROP):
+                        assetSync = asType(val, AssetSync.class);
+                        break;
+                    case(CONFIG_DIGEST_PROP):
+                        configDigest = asType(val, String.class);
+                        break;
                     default:
                         throw new IllegalStateException(
                                 "Unkown attribute: " + attr);
                 }
             }
-            return new Site(engine, assets, header, pages, backend);
+            return new Site(engine, assets, header, pages, backend,
+                    renderingThreads, buildManifest, assetSync, configDigest);
         }
     }
 
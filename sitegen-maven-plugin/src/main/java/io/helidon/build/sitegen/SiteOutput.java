@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.sitegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * The destination of the generated site files.
+ *
+ * The files are identified by their path relative to the output, using
+ * {@code /} as separator.
+ *
+ * @author rgrecour
+ */
+public interface SiteOutput {
+
+    /**
+     * Get the output directory.
+     *
+     * This directory is used to resolve the output paths and by the tools
+     * that write files on their own (e.g. asciidoctorj-diagram).
+     *
+     * @return the output directory, never {@code null}
+     */
+    File getDirectory();
+
+    /**
+     * Open a writer to create or replace a file in the output.
+     *
+     * @param path the output path of the file
+     * @return a UTF-8 writer, the file is complete when the writer is closed
+     * @throws IOException if an error occurs
+     */
+    Writer newWriter(String path) throws IOException;
+
+    /**
+     * Copy a resource file in the output.
+     *
+     * @param source the file to copy
+     * @param attrs the attributes of the file to copy
+     * @param path the output path of the file
+     * @param sync the synchronization strategy
+     * @throws IOException if an error occurs
+     */
+    void copy(Path source, BasicFileAttributes attrs, String path, AssetSync sync) throws IOException;
+
+    /**
+     * Test if a file exists in the output.
+     *
+     * @param path the output path of the file
+     * @return {@code true} if the file exists, {@code false} otherwise
+     */
+    boolean exists(String path);
+
+    /**
+     * Notify that a generation of the site starts.
+     */
+    default void begin() {
+    }
+
+    /**
+     * Keep a file created by a previous generation that the current
+     * generation does not write again, e.g. the output of an up-to-date page.
+     *
+     * @param path the output path of the file
+     */
+    default void keep(String path) {
+    }
+
+    /**
+     * Notify that a generation of the site completed. The output may discard
+     * the files that were neither written nor kept since {@link #begin()}.
+     */
+    default void end() {
+    }
+
+    /**
+     * Get the output path of a file located under the output directory.
+     *
+     * @param file the file
+     * @return the output path
+     */
+    default String pathOf(File file) {
+        return Helper.getRelativePath(getDirectory(), file);
+    }
+}
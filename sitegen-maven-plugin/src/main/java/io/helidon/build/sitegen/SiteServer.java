@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.sitegen;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static io.helidon.build.sitegen.Helper.checkNonNull;
+
+/**
+ * A local HTTP server that serves a site generated in a {@link MemoryOutput}.
+ *
+ * The files are served with an entity tag and compressed with gzip when
+ * accepted by the client. The files that are not in memory are served from
+ * the output directory.
+ *
+ * @author rgrecour
+ */
+public final class SiteServer implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SiteServer.class);
+    private static final String INDEX = "index.html";
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+    private static final Map<String, String> CONTENT_TYPES = new HashMap<>();
+
+    static {
+        CONTENT_TYPES.put("html", "text/html; charset=UTF-8");
+        CONTENT_TYPES.put("js", "application/javascript; charset=UTF-8");
+        CONTENT_TYPES.put("json", "application/json; charset=UTF-8");
+        CONTENT_TYPES.put("css", "text/css; charset=UTF-8");
+        CONTENT_TYPES.put("txt", "text/plain; charset=UTF-8");
+        CONTENT_TYPES.put("xml", "application/xml");
+        CONTENT_TYPES.put("svg", "image/svg+xml");
+        CONTENT_TYPES.put("png", "image/png");
+        CONTENT_TYPES.put("jpg", "image/jpeg");
+        CONTENT_TYPES.put("jpeg", "image/jpeg");
+        CONTENT_TYPES.put("gif", "image/gif");
+        CONTENT_TYPES.put("ico", "image/x-icon");
+        CONTENT_TYPES.put("pdf", "application/pdf");
+        CONTENT_TYPES.put("woff", "font/woff");
+        CONTENT_TYPES.put("woff2", "font/woff2");
+        CONTENT_TYPES.put("ttf", "font/ttf");
+        CONTENT_TYPES.put("eot", "application/vnd.ms-fontobject");
+    }
+
+    private final MemoryOutput output;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    /**
+     * Create a new server.
+     *
+     * @param output the output to serve
+     * @param port the port to listen on, {@code 0} to use any free port
+     * @throws IOException if the server cannot be bound
+     */
+    public SiteServer(MemoryOutput output, int port) throws IOException {
+        checkNonNull(output, "output");
+        this.output = output;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "sitegen-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    /**
+     * Start the server.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Get the port the server is listening on.
+     *
+     * @return the port
+     */
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            boolean head = "HEAD".equals(method);
+            if (!head && !"GET".equals(method)) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            String path = exchange.getRequestURI().getPath();
+            if (path == null || path.contains("..")) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            while (path.startsWith("/")) {
+                path = path.substring(1);
+            }
+            if (path.isEmpty() || path.endsWith("/")) {
+                path += INDEX;
+            }
+            String contentType = contentType(path);
+            Headers headers = exchange.getResponseHeaders();
+            MemoryOutput.Resource resource = output.get(path);
+            if (resource == null) {
+                serveFile(exchange, path, contentType, head);
+                return;
+            }
+            boolean compressible = isCompressible(contentType);
+            boolean gzip = compressible && acceptsGzip(exchange);
+            String etag = gzip ? resource.getGzipETag() : resource.getETag();
+            headers.set("Content-Type", contentType);
+            headers.set("ETag", etag);
+            headers.set("Cache-Control", "no-cache");
+            if (compressible) {
+                // the representation depends on Accept-Encoding, including the 304
+                headers.set("Vary", "Accept-Encoding");
+            }
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            byte[] content = resource.getContent();
+            if (gzip) {
+                content = resource.getGzipContent();
+                headers.set("Content-Encoding", "gzip");
+            }
+            send(exchange, content, head);
+        } catch (IOException | RuntimeException ex) {
+            LOGGER.debug("Error while serving {} - {}", exchange.getRequestURI(), ex.getMessage());
+            throw ex;
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void serveFile(HttpExchange exchange, String path, String contentType, boolean head)
+            throws IOException {
+
+        Path file = output.getDirectory().toPath().resolve(path);
+        if (!Files.isRegularFile(file)) {
+            exchange.sendResponseHeaders(404, -1);
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        send(exchange, Files.readAllBytes(file), head);
+    }
+
+    private static void send(HttpExchange exchange, byte[] content, boolean head) throws IOException {
+        if (head) {
+            exchange.getResponseHeaders().set("Content-Length", String.valueOf(content.length));
+            exchange.sendResponseHeaders(200, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(200, content.length == 0 ? -1 : content.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(content);
+        }
+    }
+
+    private static boolean acceptsGzip(HttpExchange exchange) {
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        return acceptEncoding != null && acceptEncoding.contains("gzip");
+    }
+
+    private static boolean isCompressible(String contentType) {
+        return contentType.startsWith("text/")
+                || contentType.startsWith("application/javascript")
+                || contentType.startsWith("application/json")
+                || contentType.startsWith("application/xml")
+                || contentType.startsWith("image/svg");
+    }
+
+    private static String contentType(String path) {
+        int idx = path.lastIndexOf('.');
+        if (idx < 0 || idx < path.lastIndexOf('/')) {
+            return DEFAULT_CONTENT_TYPE;
+        }
+        String contentType = CONTENT_TYPES.get(path.substring(idx + 1).toLowerCase());
+        return contentType == null ? DEFAULT_CONTENT_TYPE : contentType;
+    }
+}
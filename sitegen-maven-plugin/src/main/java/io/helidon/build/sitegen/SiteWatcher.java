@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static io.helidon.build.sitegen.Helper.checkNonNull;
+import static io.helidon.build.sitegen.Helper.checkValidDir;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Watches the source directory of a site and re-generates the site when a
+ * file is created, modified or deleted.
+ *
+ * The same {@link Site} instance is used for all the generations, the site
+ * engine and the Asciidoctor runtime stay warm between changes. The site
+ * should be configured with a build manifest (see
+ * {@link Site#getBuildManifest()}) so that only the pages whose source or
+ * included files have changed are rendered again. The changed files are
+ * passed to the site, the pages that do not depend on them are skipped
+ * without reading their sources.
+ *
+ * @author rgrecour
+ */
+public final class SiteWatcher implements Closeable {
+
+    /**
+     * The default quiet period in milliseconds.
+     */
+    public static final long DEFAULT_QUIET_PERIOD = 100;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SiteWatcher.class);
+
+    private final Site site;
+    private final Path sourcedir;
+    private final SiteOutput output;
+    private final Path outputPath;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> keys = new HashMap<>();
+    private final Set<Path> dirs = new HashSet<>();
+    private final long quietPeriod;
+    // the files changed since the last generation, null if not known
+    private Set<Path> changedFiles;
+
+    /**
+     * Create a new watcher.
+     *
+     * @param site the site to generate
+     * @param sourcedir the source directory to watch
+     * @param outputdir the output directory
+     * @throws IOException if an error occurs while registering the directories
+     */
+    public SiteWatcher(Site site, File sourcedir, File outputdir) throws IOException {
+        this(site, sourcedir, new FileOutput(outputdir), DEFAULT_QUIET_PERIOD);
+    }
+
+    /**
+     * Create a new watcher.
+     *
+     * @param site the site to generate
+     * @param sourcedir the source directory to watch
+     * @param output the site output
+     * @param quietPeriod the time in milliseconds without any new change to
+     * wait before generating the site, used to coalesce bursts of events
+     * @throws IOException if an error occurs while registering the directories
+     */
+    public SiteWatcher(Site site, File sourcedir, SiteOutput output, long quietPeriod) throws IOException {
+        checkNonNull(site, "site");
+        checkValidDir(sourcedir, "sourcedir");
+        checkNonNull(output, "output");
+        this.site = site;
+        this.sourcedir = sourcedir.toPath().toAbsolutePath().normalize();
+        this.output = output;
+        this.outputPath = output.getDirectory().toPath().toAbsolutePath().normalize();
+        this.quietPeriod = quietPeriod;
+        this.watchService = this.sourcedir.getFileSystem().newWatchService();
+        register(this.sourcedir);
+    }
+
+    /**
+     * Generate the site. The first generation processes all the files, the
+     * next ones only the files changed since the previous generation.
+     *
+     * @return {@code true} if the site was generated, {@code false} if an
+     * error occurred
+     */
+    public boolean generate() {
+        long startTime = System.nanoTime();
+        Set<Path> changes = changedFiles;
+        changedFiles = new HashSet<>();
+        try {
+            site.generate(sourcedir.toFile(), output, changes);
+        } catch (RenderingException ex) {
+            LOGGER.error("An error occurred while generating the site", ex);
+            return false;
+        }
+        LOGGER.info("Site generated in {} ms",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        return true;
+    }
+
+    /**
+     * Watch the source directory and generate the site on each change.
+     * This method blocks until the current thread is interrupted or this
+     * watcher is closed.
+     */
+    public void watch() {
+        LOGGER.info("Watching {}", sourcedir);
+        try {
+            while (awaitChanges()) {
+                generate();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException ex) {
+            // closed
+        }
+    }
+
+    /**
+     * Wait for changes in the source directory. The events are drained until
+     * the quiet period elapses without any new event.
+     *
+     * @return {@code true} if any file has changed, {@code false} if the
+     * source directory is no longer watched
+     * @throws InterruptedException if interrupted while waiting
+     */
+    boolean awaitChanges() throws InterruptedException {
+        while (!keys.isEmpty()) {
+            boolean changed = false;
+            WatchKey key = watchService.take();
+            while (key != null) {
+                changed |= processEvents(key);
+                key = watchService.poll(quietPeriod, TimeUnit.MILLISECONDS);
+            }
+            if (changed) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean processEvents(WatchKey key) {
+        Path dir = keys.get(key);
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            WatchEvent.Kind<?> kind = event.kind();
+            if (kind == OVERFLOW) {
+                // events were lost, the changed files are not known
+                changedFiles = null;
+                changed = true;
+                continue;
+            }
+            if (dir == null) {
+                continue;
+            }
+            Path path = dir.resolve((Path) event.context());
+            if (path.startsWith(outputPath)) {
+                continue;
+            }
+            LOGGER.debug("{}: {}", kind.name(), path);
+            changed = true;
+            if (kind == ENTRY_DELETE && dirs.remove(path)) {
+                // the files of a deleted directory are not known
+                changedFiles = null;
+            } else if (changedFiles != null) {
+                changedFiles.add(path);
+            }
+            if (kind == ENTRY_CREATE && Files.isDirectory(path)) {
+                try {
+                    register(path);
+                } catch (IOException ex) {
+                    LOGGER.warn("Unable to watch directory: {} - {}", path, ex.getMessage());
+                }
+            }
+        }
+        if (!key.reset()) {
+            keys.remove(key);
+        }
+        return changed;
+    }
+
+    private void register(Path dir) throws IOException {
+        Files.walkFileTree(dir, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path subdir, BasicFileAttributes attrs) throws IOException {
+                if (subdir.startsWith(outputPath)) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                keys.put(subdir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE), subdir);
+                dirs.add(subdir);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                // files created in a new directory before it is watched
+                if (changedFiles != null) {
+                    changedFiles.add(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+}
@@ -18,14 +18,18 @@ package io.helidon.build.sitegen;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.Iterator;
+import java.util.EnumSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
@@ -41,7 +45,6 @@ import static io.helidon.build.sitegen.Helper.getRelativePath;
 public class SourcePath {
 
     private static final char WILDCARD = '*';
-    private static final String DOUBLE_WILDCARD = "**";
     private final String[] segments;
 
     /**
@@ -62,7 +65,18 @@ public class SourcePath {
         segments = parseSegments(path);
     }
 
-    private static String[] parseSegments(String path) throws IllegalArgumentException {
+    private SourcePath(String[] segments) {
+        this.segments = segments;
+    }
+
+    /**
+     * Parse the segments of a path or pattern.
+     *
+     * @param path the path to parse
+     * @return the segments
+     * @throws IllegalArgumentException if the path is {@code null} or empty
+     */
+    static String[] parseSegments(String path) throws IllegalArgumentException {
         if (path == null || path.isEmpty()) {
             throw new IllegalArgumentException("path is null or empty");
         }
@@ -83,6 +97,15 @@ public class SourcePath {
     }
 
 
+    /**
+     * Get the segments of this path.
+     *
+     * @return the segments
+     */
+    String[] segments() {
+        return segments;
+    }
+
     /**
      * Filter the given {@code Collection} of {@link SourcePath} with the given filter.
      * @param paths the paths to filter
@@ -98,30 +121,38 @@ public class SourcePath {
                 || includesPatterns == null || includesPatterns.isEmpty()) {
             return Collections.emptyList();
         }
+        return doFilter(paths,
+                SourcePathPattern.compile(includesPatterns),
+                SourcePathPattern.compile(excludesPatterns));
+    }
 
-        if (excludesPatterns == null) {
-            excludesPatterns = Collections.emptyList();
+    /**
+     * Filter the given {@code Collection} of {@link SourcePath} with the given
+     * compiled patterns. The paths are filtered in a single pass, a path is
+     * included at most once, in the iteration order of {@code paths}.
+     *
+     * @param paths the paths to filter
+     * @param includesPatterns the include patterns
+     * @param excludesPatterns the exclude patterns
+     * @return the filtered {@code List} of paths
+     */
+    static List<SourcePath> doFilter(Collection<SourcePath> paths,
+                                     List<SourcePathPattern> includesPatterns,
+                                     List<SourcePathPattern> excludesPatterns) {
+
+        if (paths == null || paths.isEmpty()
+                || includesPatterns == null || includesPatterns.isEmpty()) {
+            return Collections.emptyList();
         }
 
-        List<SourcePath> included = new LinkedList<>();
-        for (String includesPattern : includesPatterns) {
-            for (SourcePath path : paths) {
-                if (path.matches(includesPattern)) {
-                    included.add(path);
-                }
-            }
+        if (excludesPatterns == null) {
+            excludesPatterns = Collections.emptyList();
         }
 
-        List<SourcePath> matchedRoutes = new LinkedList<>();
-        for (SourcePath path : included) {
-            boolean matched = false;
-            for (String excludesPattern : excludesPatterns) {
-                if (path.matches(excludesPattern)) {
-                    matched = true;
-                    break;
-                }
-            }
-            if (!matched) {
+        List<SourcePath> matchedRoutes = new ArrayList<>();
+        for (SourcePath path : paths) {
+            if (SourcePathPattern.matchesAny(path, includesPatterns)
+                    && !SourcePathPattern.matchesAny(path, excludesPatterns)) {
                 matchedRoutes.add(path);
             }
         }
@@ -155,48 +186,6 @@ public class SourcePath {
         return hash;
     }
 
-    private static boolean doRecursiveMatch(String[] segments,
-                                            int offset,
-                                            String[] patterns,
-                                            int pOffset){
-
-        boolean expand = false;
-        // for each segment pattern
-        for (; pOffset < patterns.length; pOffset++) {
-            // no segment to match
-            if (offset == segments.length) {
-                break;
-            }
-            String pattern = patterns[pOffset];
-            if (pattern.equals(DOUBLE_WILDCARD)) {
-                expand = true;
-            } else {
-                if (expand) {
-                    for (int j = 0; j < segments.length; j++) {
-                        if (wildcardMatch(segments[j], pattern)) {
-                            if (doRecursiveMatch(segments, j + 1, patterns, pOffset + 1)) {
-                                return true;
-                            }
-                        }
-                    }
-                    return false;
-                } else if (!wildcardMatch(segments[offset], pattern)) {
-                    return false;
-                }
-                offset++;
-            }
-        }
-
-        // unprocessed patterns can only be double wildcard
-        for (; pOffset < patterns.length; pOffset++) {
-            String pattern = patterns[pOffset];
-            if (!pattern.equals(DOUBLE_WILDCARD)) {
-                return false;
-            }
-        }
-        return true;
-    }
-
     /**
      * Tests if the given pattern matches this {@link SourcePath}.
      * @param pattern the pattern to match
@@ -206,10 +195,19 @@ public class SourcePath {
         if (pattern == null) {
             return false;
         }
-        if (pattern.isEmpty()) {
-            return segments.length == 0;
+        return SourcePathPattern.compile(pattern).matches(this);
+    }
+
+    /**
+     * Tests if the given compiled pattern matches this {@link SourcePath}.
+     * @param pattern the pattern to match
+     * @return {@code true} if this {@link SourcePath} matches the pattern, {@code false} otherwise
+     */
+    public boolean matches(SourcePathPattern pattern) {
+        if (pattern == null) {
+            return false;
         }
-        return doRecursiveMatch(segments, 0, parseSegments(pattern), 0);
+        return pattern.matches(this);
     }
 
     /**
@@ -303,17 +301,21 @@ public class SourcePath {
 
         @Override
         public int compare(SourcePath o1, SourcePath o2) {
-            for (int i = 0; i < o1.segments.length; i++) {
+            int len = Math.min(o1.segments.length, o2.segments.length);
+            for (int i = 0; i < len; i++) {
                 int cmp = o1.segments[i].compareTo(o2.segments[i]);
                 if (cmp != 0) {
                     return cmp;
                 }
             }
-            return 0;
+            return o1.segments.length - o2.segments.length;
         }
     }
 
-    private static final Comparator<SourcePath> COMPARATOR = new SourceFileComparator();
+    /**
+     * The natural ordering of {@link SourcePath}, see {@link #sort(java.util.List)}.
+     */
+    static final Comparator<SourcePath> COMPARATOR = new SourceFileComparator();
 
     /**
      * Sort the given {@code List} of {@link SourcePath} with natural ordering.
@@ -332,30 +334,91 @@ public class SourcePath {
      * @return the {@code List} of scanned {@link SourcePath}
      */
     public static List<SourcePath> scan(File dir) {
-        return doScan(dir, dir);
+        return scan(dir, null);
     }
 
-    private static List<SourcePath> doScan(File root, File dir) {
-        List<SourcePath> sourcePaths = new ArrayList<>();
-        DirectoryStream<Path> dirStream = null;
+    /**
+     * Scan the files recursively as {@link SourcePath} instance in the given
+     * directory. The directories under which none of the given include
+     * patterns can match are not visited.
+     *
+     * @param dir the directory to scan
+     * @param includesPatterns the include patterns used to prune the
+     * directories, if {@code null} all the files are scanned
+     * @return the sorted {@code List} of scanned {@link SourcePath}
+     */
+    public static List<SourcePath> scan(File dir, List<SourcePathPattern> includesPatterns) {
+        checkNonNull(dir, "dir");
+        Scanner scanner = new Scanner(includesPatterns);
         try {
-            dirStream = Files.newDirectoryStream(dir.toPath());
-            Iterator<Path> it = dirStream.iterator();
-            while (it.hasNext()) {
-                Path next = it.next();
-                if (Files.isDirectory(next)) {
-                    sourcePaths.addAll(doScan(root, next.toFile()));
-                } else {
-                    sourcePaths.add(new SourcePath(root, next.toFile()));
+            Files.walkFileTree(dir.toPath(), EnumSet.of(FileVisitOption.FOLLOW_LINKS),
+                    Integer.MAX_VALUE, scanner);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return sort(scanner.sourcePaths);
+    }
+
+    /**
+     * A file visitor that creates the {@link SourcePath} instances from the
+     * visited file names, without re-parsing the relative paths.
+     */
+    private static final class Scanner extends SimpleFileVisitor<Path> {
+
+        private final List<SourcePathPattern> includesPatterns;
+        private final List<SourcePath> sourcePaths = new ArrayList<>();
+        private String[] dirSegments = new String[16];
+        private int depth = -1;
+
+        Scanner(List<SourcePathPattern> includesPatterns) {
+            this.includesPatterns = includesPatterns;
+        }
+
+        @Override
+        public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+            if (depth >= 0) {
+                if (depth == dirSegments.length) {
+                    dirSegments = Arrays.copyOf(dirSegments, depth * 2);
+                }
+                dirSegments[depth] = dir.getFileName().toString();
+                if (!matchesUnder(depth + 1)) {
+                    return FileVisitResult.SKIP_SUBTREE;
                 }
             }
-        } catch (IOException ex) {
-            if (dirStream != null) {
-                try {
-                    dirStream.close();
-                } catch (IOException e) { }
+            depth++;
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+            String[] segments = Arrays.copyOf(dirSegments, depth + 1);
+            segments[depth] = file.getFileName().toString();
+            sourcePaths.add(new SourcePath(segments));
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(Path file, IOException ex) {
+            // unreadable file or file system loop
+            return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult postVisitDirectory(Path dir, IOException ex) {
+            depth--;
+            return FileVisitResult.CONTINUE;
+        }
+
+        private boolean matchesUnder(int length) {
+            if (includesPatterns == null) {
+                return true;
             }
+            for (int i = 0; i < includesPatterns.size(); i++) {
+                if (includesPatterns.get(i).matchesUnder(dirSegments, length)) {
+                    return true;
+                }
+            }
+            return false;
         }
-        return sort(sourcePaths);
     }
 }
@@ -16,6 +16,7 @@
 
 package io.helidon.build.sitegen;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map.Entry;
@@ -32,10 +33,14 @@ public class SourcePathFilter {
     private static final String EXCLUDES_PROP = "excludes";
     private final List<String> includes;
     private final List<String> excludes;
+    private final List<SourcePathPattern> includePatterns;
+    private final List<SourcePathPattern> excludePatterns;
 
     private SourcePathFilter(List<String> includes, List<String> excludes) {
         this.includes = includes == null ? Collections.emptyList() : includes;
         this.excludes = excludes == null ? Collections.emptyList() : excludes;
+        this.includePatterns = SourcePathPattern.compile(this.includes);
+        this.excludePatterns = SourcePathPattern.compile(this.excludes);
     }
 
     /**
@@ -54,6 +59,30 @@ public class SourcePathFilter {
         return excludes;
     }
 
+    /**
+     * Filter the given {@code Collection} of {@link SourcePath} with the
+     * compiled patterns of this filter.
+     *
+     * @param paths the paths to filter
+     * @return the filtered paths, in the iteration order of {@code paths}
+     * @see SourcePath#filter(java.util.Collection, java.util.Collection, java.util.Collection)
+     */
+    public List<SourcePath> filter(Collection<SourcePath> paths) {
+        return SourcePath.doFilter(paths, includePatterns, excludePatterns);
+    }
+
+    /**
+     * Test if the given {@link SourcePath} is matched by this filter, i.e. it
+     * matches an include pattern and no exclude pattern.
+     *
+     * @param path the path to test
+     * @return {@code true} if the path is matched, {@code false} otherwise
+     */
+    boolean matches(SourcePath path) {
+        return SourcePathPattern.matchesAny(path, includePatterns)
+                && !SourcePathPattern.matchesAny(path, excludePatterns);
+    }
+
     /**
      * A fluent builder to create {@link SourcePathFilter} instances.
      */
@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A compiled {@link SourcePath} pattern.
+ *
+ * The pattern is parsed once into segment matchers, literal segments are
+ * matched with {@code String.equals} and the simple wildcard segments (e.g.
+ * {@code *.adoc} or {@code images*}) with {@code startsWith} and
+ * {@code endsWith}. Instances are immutable and thread-safe.
+ *
+ * @author rgrecour
+ */
+public final class SourcePathPattern {
+
+    private static final String DOUBLE_WILDCARD = "**";
+    private static final int CACHE_MAX_SIZE = 256;
+    private static final Map<String, SourcePathPattern> CACHE = new ConcurrentHashMap<>();
+
+    private final String pattern;
+    private final Segment[] segments;
+    private final boolean[] trailingDoubleWildcards;
+    private final int minSegments;
+
+    private SourcePathPattern(String pattern) {
+        this.pattern = pattern;
+        if (pattern.isEmpty()) {
+            segments = null;
+            trailingDoubleWildcards = null;
+            minSegments = 0;
+            return;
+        }
+        String[] tokens = SourcePath.parseSegments(pattern);
+        segments = new Segment[tokens.length];
+        int literals = 0;
+        for (int i = 0; i < tokens.length; i++) {
+            segments[i] = new Segment(tokens[i]);
+            if (!segments[i].doubleWildcard) {
+                literals++;
+            }
+        }
+        trailingDoubleWildcards = new boolean[tokens.length + 1];
+        trailingDoubleWildcards[tokens.length] = true;
+        for (int i = tokens.length - 1; i >= 0; i--) {
+            trailingDoubleWildcards[i] = segments[i].doubleWildcard
+                    && trailingDoubleWildcards[i + 1];
+        }
+        minSegments = literals;
+    }
+
+    /**
+     * Compile the given pattern.
+     *
+     * @param pattern the pattern to compile
+     * @return the compiled pattern, never {@code null}
+     * @throws IllegalArgumentException if the pattern is not valid
+     */
+    public static SourcePathPattern compile(String pattern) {
+        Objects.requireNonNull(pattern, "pattern");
+        SourcePathPattern compiled = CACHE.get(pattern);
+        if (compiled == null) {
+            compiled = new SourcePathPattern(pattern);
+            if (CACHE.size() < CACHE_MAX_SIZE) {
+                CACHE.putIfAbsent(pattern, compiled);
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * Compile the given patterns.
+     *
+     * @param patterns the patterns to compile, may be {@code null}
+     * @return the compiled patterns, never {@code null}
+     * @throws IllegalArgumentException if a pattern is not valid
+     */
+    public static List<SourcePathPattern> compile(Collection<String> patterns) {
+        if (patterns == null || patterns.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<SourcePathPattern> compiled = new ArrayList<>(patterns.size());
+        for (String pattern : patterns) {
+            compiled.add(compile(pattern));
+        }
+        return Collections.unmodifiableList(compiled);
+    }
+
+    /**
+     * Get the pattern string.
+     *
+     * @return the pattern, never {@code null}
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Test if the given {@link SourcePath} matches this pattern.
+     *
+     * @param path the path to match
+     * @return {@code true} if the path matches, {@code false} otherwise
+     */
+    public boolean matches(SourcePath path) {
+        String[] pathSegments = path.segments();
+        if (segments == null) {
+            return pathSegments.length == 0;
+        }
+        if (pathSegments.length < minSegments) {
+            return false;
+        }
+        return match(pathSegments, 0, 0);
+    }
+
+    /**
+     * Test if the given {@link SourcePath} matches any of the given patterns.
+     *
+     * @param path the path to match
+     * @param patterns the patterns
+     * @return {@code true} if the path matches, {@code false} otherwise
+     */
+    static boolean matchesAny(SourcePath path, List<SourcePathPattern> patterns) {
+        for (int i = 0; i < patterns.size(); i++) {
+            if (patterns.get(i).matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Test if this pattern can match a path located under the given
+     * directory. This is used to prune directories while scanning.
+     *
+     * @param dirSegments the segments of the directory
+     * @param length the number of segments to consider in {@code dirSegments}
+     * @return {@code false} if no path under the directory can match this
+     * pattern, {@code true} otherwise
+     */
+    boolean matchesUnder(String[] dirSegments, int length) {
+        if (segments == null) {
+            return false;
+        }
+        int i = 0;
+        for (; i < segments.length && i < length; i++) {
+            Segment segment = segments[i];
+            if (segment.doubleWildcard) {
+                return true;
+            }
+            if (!segment.matches(dirSegments[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean match(String[] pathSegments, int offset, int pOffset) {
+        boolean expand = false;
+        // for each segment pattern
+        for (; pOffset < segments.length; pOffset++) {
+            // no segment to match
+            if (offset == pathSegments.length) {
+                break;
+            }
+            Segment segment = segments[pOffset];
+            if (segment.doubleWildcard) {
+                expand = true;
+            } else {
+                if (expand) {
+                    for (int j = offset; j < pathSegments.length; j++) {
+                        if (segment.matches(pathSegments[j])
+                                && match(pathSegments, j + 1, pOffset + 1)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                } else if (!segment.matches(pathSegments[offset])) {
+                    return false;
+                }
+                offset++;
+            }
+        }
+        // unprocessed patterns can only be double wildcard
+        return trailingDoubleWildcards[pOffset];
+    }
+
+    @Override
+    public String toString() {
+        return SourcePathPattern.class.getSimpleName() + "{ " + pattern + " }";
+    }
+
+    /**
+     * A compiled segment pattern.
+     */
+    private static final class Segment {
+
+        private final boolean doubleWildcard;
+        private final String literal;
+        private final String prefix;
+        private final String suffix;
+        private final String[] pieces;
+
+        Segment(String pattern) {
+            doubleWildcard = pattern.equals(DOUBLE_WILDCARD);
+            int firstWildcard = pattern.indexOf('*');
+            if (firstWildcard < 0) {
+                literal = pattern;
+                prefix = null;
+                suffix = null;
+                pieces = null;
+                return;
+            }
+            literal = null;
+            int lastWildcard = pattern.lastIndexOf('*');
+            prefix = firstWildcard > 0 ? pattern.substring(0, firstWildcard) : null;
+            suffix = lastWildcard < pattern.length() - 1 ? pattern.substring(lastWildcard + 1) : null;
+            List<String> middle = new ArrayList<>();
+            int idx = firstWildcard + 1;
+            while (idx < lastWildcard) {
+                int next = pattern.indexOf('*', idx);
+                if (next > idx) {
+                    middle.add(pattern.substring(idx, next));
+                }
+                idx = next + 1;
+            }
+            pieces = middle.toArray(new String[middle.size()]);
+        }
+
+        /**
+         * Matches a path segment, same as
+         * {@link SourcePath#wildcardMatch(java.lang.String, java.lang.String)}.
+         */
+        boolean matches(String value) {
+            if (literal != null) {
+                return literal.equals(value);
+            }
+            int start = 0;
+            int end = value.length();
+            if (prefix != null) {
+                if (!value.startsWith(prefix)) {
+                    return false;
+                }
+                start = prefix.length();
+            }
+            if (suffix != null) {
+                end -= suffix.length();
+                if (end < start || !value.endsWith(suffix)) {
+                    return false;
+                }
+            }
+            for (String piece : pieces) {
+                int idx = value.indexOf(piece, start);
+                if (idx < 0 || idx + piece.length() > end) {
+                    return false;
+                }
+                start = idx + piece.length();
+            }
+            return true;
+        }
+    }
+}
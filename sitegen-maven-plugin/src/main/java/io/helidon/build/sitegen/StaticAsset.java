@@ -16,6 +16,7 @@
 
 package io.helidon.build.sitegen;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map.Entry;
@@ -41,6 +42,7 @@ public class StaticAsset implements Model {
     private final String target;
     private final List<String> includes;
     private final List<String> excludes;
+    private final SourcePathFilter filter;
 
     private StaticAsset(String target,
             List<String> includes,
@@ -49,6 +51,10 @@ public class StaticAsset implements Model {
         this.target = target;
         this.includes = includes == null ? Collections.emptyList() : includes;
         this.excludes = excludes == null ? Collections.emptyList() : excludes;
+        this.filter = SourcePathFilter.builder()
+                .includes(this.includes)
+                .excludes(this.excludes)
+                .build();
     }
 
     /**
@@ -76,6 +82,17 @@ public class StaticAsset implements Model {
         return excludes;
     }
 
+    /**
+     * Filter the given {@code Collection} of {@link SourcePath} with the
+     * include and exclude patterns of this asset.
+     *
+     * @param paths the paths to filter
+     * @return the filtered paths
+     */
+    public List<SourcePath> filter(Collection<SourcePath> paths) {
+        return filter.filter(paths);
+    }
+
     @Override
     public Object get(String attr) {
         switch (attr) {
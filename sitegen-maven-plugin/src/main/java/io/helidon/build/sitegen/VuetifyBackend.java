@@ -18,14 +18,17 @@ package io.helidon.build.sitegen;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.Writer;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -164,18 +167,18 @@ public class VuetifyBackend extends Backend {
                 .collect(Collectors.toList()) : Collections.emptyList();
 
         // resolve route entries
+        Set<String> navRoutes = new HashSet<>(navRouteEntries);
         List<String> routeEntries = Stream.concat(
-                navRouteEntries.contains(home.getSourcePath())
+                navRoutes.contains(home.getSourcePath())
                 ? Stream.empty() : Stream.of(home.getSourcePath()),
                 Stream.concat(navRouteEntries.stream(),
                         ctx.getPages().keySet().stream()
-                                .filter(item -> !navRouteEntries.contains(item))))
+                                .filter(item -> !navRoutes.contains(item))))
                 .collect(Collectors.toList());
 
         Map<String, String> allBindings = session.getVueBindings().getBindings();
 
         Map<String, Object> model = new HashMap<>();
-        model.put("searchEntries", session.getSearchIndex().getEntries());
         model.put("navRouteEntries", navRouteEntries);
         model.put("routeEntries", routeEntries);
         model.put("customLayoutEntries", session.getCustomLayouts().getMappings());
@@ -189,6 +192,7 @@ public class VuetifyBackend extends Backend {
         model.put("bindings", allBindings);
 
         FreemarkerEngine freemarker = ctx.getSite().getEngine().freemarker();
+        long start = System.nanoTime();
 
         // custom bindings
         for (Page page : ctx.getPages().values()) {
@@ -203,22 +207,52 @@ public class VuetifyBackend extends Backend {
             }
         }
 
-        // render search-index.js
-        freemarker.renderFile("search_index", "main/search-index.json", model, ctx);
+        // build the search index
+        writeSearchIndex(SearchIndex.create(session.getSearchIndex().getEntries()), ctx.getOutput());
 
         // render index.html
         freemarker.renderFile("index", "index.html", model, ctx);
 
         // render main/config.js
         freemarker.renderFile("config", "main/config.js", model, ctx);
+        ctx.getMetrics().phase(RenderingMetrics.SITE_FILES, System.nanoTime() - start);
 
         // copy vuetify resources
+        start = System.nanoTime();
         try {
-            copyResources(staticResources, ctx.getOutputdir());
+            copyResources(staticResources, ctx.getOutput(), "", ctx.getSite().getAssetSync());
         } catch (IOException ex) {
             throw new RenderingException(
                     "An error occurred during static resource processing ", ex);
         }
+        ctx.getMetrics().phase(RenderingMetrics.RESOURCES, System.nanoTime() - start);
+    }
+
+    /**
+     * Write the search index manifest ({@code main/search-index.json}) and
+     * the files it references in {@code main/search-index}.
+     *
+     * @param searchIndex the search index to write
+     * @param output the site output
+     */
+    private static void writeSearchIndex(SearchIndex searchIndex, SiteOutput output) {
+        String dir = "main/search-index";
+        try {
+            try (Writer writer = output.newWriter("main/search-index.json")) {
+                searchIndex.writeManifest(writer, dir);
+            }
+            try (Writer writer = output.newWriter(dir + "/docs.json")) {
+                searchIndex.writeDocs(writer);
+            }
+            for (String key : searchIndex.shards()) {
+                try (Writer writer = output.newWriter(dir + "/" + SearchIndex.shardFile(key))) {
+                    searchIndex.writeShard(writer, key);
+                }
+            }
+        } catch (IOException ex) {
+            throw new RenderingException(
+                    "An error occurred while writing the search index", ex);
+        }
     }
 
     /**
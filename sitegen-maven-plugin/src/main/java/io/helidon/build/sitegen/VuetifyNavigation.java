@@ -88,6 +88,7 @@ public class VuetifyNavigation implements Model {
      * @return a new "resolved" instance of {@link VuetifyNavigation}
      */
     VuetifyNavigation resolve(Collection<Page> allPages) {
+        PageIndex pageIndex = new PageIndex(allPages);
         Builder navigationBuilder = VuetifyNavigation.builder();
         navigationBuilder.title(title);
         if (glyph != null) {
@@ -99,7 +100,7 @@ public class VuetifyNavigation implements Model {
                 throw new IllegalStateException(
                         "top level items is not a group");
             }
-            resolvedGroups.add(((Group) group).resolve(allPages));
+            resolvedGroups.add(((Group) group).resolve(pageIndex));
         }
         navigationBuilder.items(resolvedGroups);
         return navigationBuilder.build();
@@ -390,7 +391,7 @@ public class VuetifyNavigation implements Model {
     /**
      * Special item type used to match {@link Page} instances.
      *
-     * The {@link #resolve(java.util.Collection)} method is designed to replace
+     * The {@link #resolve(PageIndex)} method is designed to replace
      * matched pages with {@link Link} instances.
      */
     public static class Pages extends Item {
@@ -402,8 +403,8 @@ public class VuetifyNavigation implements Model {
             this.pages = pages;
         }
 
-        private List<Item> resolve(Collection<Page> allPages) {
-            return Page.filter(allPages, pages.getIncludes(), pages.getExcludes())
+        private List<Item> resolve(PageIndex pageIndex) {
+            return pageIndex.filter(pages)
                     .stream()
                     .map(page -> Link.builder()
                         .href(page.getTargetPath())
@@ -520,7 +521,7 @@ public class VuetifyNavigation implements Model {
             return items;
         }
 
-        private Group resolve(Collection<Page> allPages) {
+        private Group resolve(PageIndex pageIndex) {
             Group.Builder groupBuilder = Group.builder();
             groupBuilder.title(getTitle());
             if (getGlyph() != null) {
@@ -528,10 +529,10 @@ public class VuetifyNavigation implements Model {
             }
             groupBuilder.items(items.stream().flatMap(item -> {
                 if (item instanceof Pages) {
-                    return ((Pages) item).resolve(allPages).stream();
+                    return ((Pages) item).resolve(pageIndex).stream();
                 }
                 if (item instanceof SubGroup) {
-                    return Stream.of(((SubGroup) item).resolve(allPages));
+                    return Stream.of(((SubGroup) item).resolve(pageIndex));
                 }
                 return Stream.of(item);
             }).collect(Collectors.toList()));
@@ -636,7 +637,7 @@ public class VuetifyNavigation implements Model {
             return pathprefix;
         }
 
-        private SubGroup resolve(Collection<Page> allPages) {
+        private SubGroup resolve(PageIndex pageIndex) {
             SubGroup.Builder subGroupBuilder = SubGroup.builder();
             subGroupBuilder.title(getTitle());
             if (getGlyph() != null) {
@@ -645,7 +646,7 @@ public class VuetifyNavigation implements Model {
             subGroupBuilder.pathprefix(pathprefix);
             subGroupBuilder.items(getItems().stream().flatMap(item -> {
                 if (item instanceof Pages) {
-                    return ((Pages) item).resolve(allPages).stream();
+                    return ((Pages) item).resolve(pageIndex).stream();
                 }
                 return Stream.of(item);
             }).collect(Collectors.toList()));
@@ -18,6 +18,8 @@ package io.helidon.build.sitegen.asciidoctor;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 import io.helidon.build.sitegen.SiteEngine;
@@ -43,6 +45,12 @@ public class AsciidocConverter extends AbstractConverter<String> {
     private static final Logger LOGGER =
             LoggerFactory.getLogger(AsciidocConverter.class);
 
+    /**
+     * Document attribute used to stream the rendered document to a
+     * {@link Writer} instead of returning it as a {@code String}.
+     */
+    public static final String OUTPUT_WRITER_ATTR = "sitegen-output-writer";
+
     private final FreemarkerEngine templateEngine;
 
     /**
@@ -63,6 +71,12 @@ public class AsciidocConverter extends AbstractConverter<String> {
         if (node != null && node.getNodeName() != null) {
             String templateName;
             if (node.equals(node.getDocument())) {
+                Object writer = node.getAttribute(OUTPUT_WRITER_ATTR);
+                if (writer instanceof Writer) {
+                    LOGGER.debug("Streaming document: {}", node);
+                    templateEngine.render("document", node, (Writer) writer);
+                    return "";
+                }
                 templateName = "document";
             } else if (node.isBlock()) {
                 templateName = "block_" + node.getNodeName();
@@ -89,6 +103,6 @@ public class AsciidocConverter extends AbstractConverter<String> {
 
     @Override
     public void write(String output, OutputStream out) throws IOException {
-        out.write(output.getBytes());
+        out.write(output.getBytes(StandardCharsets.UTF_8));
     }
 }
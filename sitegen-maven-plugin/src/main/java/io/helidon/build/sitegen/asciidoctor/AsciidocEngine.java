@@ -19,13 +19,14 @@ package io.helidon.build.sitegen.asciidoctor;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.helidon.build.sitegen.AbstractBuilder;
 import io.helidon.build.sitegen.Page;
@@ -60,19 +61,21 @@ public class AsciidocEngine {
     private static final String LIBRARIES_PROP = "libraries";
     private static final String ATTRIBUTES_PROP = "attributes";
     private static final String IMAGESDIR_PROP = "imagesdir";
+    private static final String RUNTIMES_PROP = "runtimes";
 
     /**
      * Constant for the default images directory.
      */
     public static final String DEFAULT_IMAGESDIR = "./images";
 
-    private static volatile Asciidoctor asciidoctorInstance = null;
-
     private final String backend;
     private final List<String> libraries;
     private final Map<String, Object> attributes;
     private final String imagesdir;
-    private final Asciidoctor asciidoctor;
+    private final boolean scannerUnsafe;
+    private final Map<String, CachedHeader> headerCache = new ConcurrentHashMap<>();
+    private volatile int runtimes;
+    private volatile AsciidoctorPool pool;
 
     /**
      * Create a new instance of {@link AsciidocEngine}.
@@ -85,24 +88,75 @@ public class AsciidocEngine {
                           List<String> libraries,
                           Map<String, Object> attributes,
                           String imagesdir){
+        this(backend, libraries, attributes, imagesdir, 1);
+    }
+
+    /**
+     * Create a new instance of {@link AsciidocEngine}.
+     * @param backend the name of the backend
+     * @param libraries the asciidoctor libraries to use
+     * @param attributes the asciidoctor attributes to use
+     * @param imagesdir the images to use
+     * @param runtimes the maximum number of pooled asciidoctor runtimes
+     */
+    public AsciidocEngine(String backend,
+                          List<String> libraries,
+                          Map<String, Object> attributes,
+                          String imagesdir,
+                          int runtimes){
         checkNonNullNonEmpty(backend, BACKEND_PROP);
         installSLF4JBridge();
         this.backend = backend;
         this.attributes = attributes == null ? Collections.emptyMap() : attributes;
         this.libraries = libraries == null ? Collections.emptyList() : libraries;
         this.imagesdir = imagesdir == null ? DEFAULT_IMAGESDIR : imagesdir;
-        if (asciidoctorInstance == null) {
-            asciidoctorInstance = Asciidoctor.Factory.create();
-        }
-        this.asciidoctor = asciidoctorInstance;
-        new AsciidocExtensionRegistry(backend).register(asciidoctor);
+        this.runtimes = runtimes;
+        this.pool = AsciidoctorPool.get(backend, this.libraries, runtimes);
+        this.scannerUnsafe = this.attributes.containsKey("doctitle")
+                || this.attributes.containsKey("description")
+                || this.attributes.containsKey("keywords");
     }
 
     /**
-     * Unregister asciidoctor extensions.
+     * Shutdown the pooled asciidoctor runtimes used by this engine and their
+     * registered extensions. The runtimes that are in use are shut down once
+     * they are released, a new pool is created if this engine is used again.
      */
     public void unregister(){
-        this.asciidoctor.unregisterAllExtensions();
+        AsciidoctorPool.remove(backend, libraries);
+    }
+
+    /**
+     * Get the maximum number of pooled asciidoctor runtimes.
+     * @return the number of runtimes
+     */
+    public int getRuntimes() {
+        return pool().size();
+    }
+
+    /**
+     * Grow the pool of asciidoctor runtimes, so that each rendering thread
+     * can lease its own runtime.
+     * @param runtimes the minimum number of pooled runtimes
+     */
+    public void growRuntimes(int runtimes) {
+        if (runtimes > this.runtimes) {
+            this.runtimes = runtimes;
+        }
+        pool().grow(runtimes);
+    }
+
+    /**
+     * Get the pool of asciidoctor runtimes used by this engine.
+     * @return the pool, never a closed pool
+     */
+    AsciidoctorPool pool() {
+        AsciidoctorPool p = pool;
+        if (p.isClosed()) {
+            p = AsciidoctorPool.get(backend, libraries, runtimes);
+            pool = p;
+        }
+        return p;
     }
 
     /**
@@ -151,11 +205,53 @@ public class AsciidocEngine {
 
     /**
      * Read a document's header.
+     *
+     * The header is scanned without Asciidoctor when possible, see
+     * {@link DocumentHeaderScanner}. The result is cached until the document
+     * is modified.
+     *
      * @param source the document to read the header from
      * @return the header as {@code Map<String, Object>}, never {@code null}
      */
     public Map<String, Object> readDocumentHeader(File source){
         checkValidFile(source, "source");
+        String key = source.getAbsolutePath();
+        long lastModified = source.lastModified();
+        long length = source.length();
+        CachedHeader cached = headerCache.get(key);
+        if (cached != null
+                && cached.lastModified == lastModified
+                && cached.length == length) {
+            return new HashMap<>(cached.header);
+        }
+        Map<String, Object> headerMap = null;
+        if (!scannerUnsafe) {
+            try {
+                headerMap = DocumentHeaderScanner.scan(source);
+            } catch (IOException ex) {
+                throw new RenderingException(ex.getMessage(), ex);
+            }
+        }
+        if (headerMap != null) {
+            for (Entry<String, Object> attribute : attributes.entrySet()) {
+                Object value = attribute.getValue();
+                if (value instanceof String && ((String) value).endsWith("@")) {
+                    String softValue = (String) value;
+                    headerMap.putIfAbsent(attribute.getKey(),
+                            softValue.substring(0, softValue.length() - 1));
+                } else {
+                    headerMap.put(attribute.getKey(), value);
+                }
+            }
+        } else {
+            LOGGER.debug("Loading document header with asciidoctor: {}", source);
+            headerMap = loadDocumentHeader(source);
+        }
+        headerCache.put(key, new CachedHeader(lastModified, length, headerMap));
+        return new HashMap<>(headerMap);
+    }
+
+    private Map<String, Object> loadDocumentHeader(File source){
         final OptionsBuilder optionsBuilder = OptionsBuilder.options()
                 .attributes(
                         AttributesBuilder
@@ -169,7 +265,10 @@ public class AsciidocEngine {
         if (backend != null) {
             optionsBuilder.backend(this.backend);
         }
-        Document doc = asciidoctor.loadFile(source, optionsBuilder.asMap());
+        Document doc;
+        try (AsciidoctorPool.Lease lease = pool().acquire()) {
+            doc = lease.asciidoctor().loadFile(source, optionsBuilder.asMap());
+        }
         Map<String, Object> headerMap = new HashMap<>();
         String h1 = parseSection0Title(source);
         if (h1 != null) {
@@ -194,8 +293,6 @@ public class AsciidocEngine {
         checkNonNull(page, "page");
         checkNonNull(ctx, "ctx");
 
-        asciidoctor.requireLibraries(libraries);
-
         if (extraAttributes == null) {
             extraAttributes = Collections.emptyMap();
         }
@@ -245,21 +342,39 @@ public class AsciidocEngine {
             optionsBuilder.backend(this.backend);
         }
         LOGGER.info("rendering {} to {}", source.getPath(), target.getPath());
-        Document document = asciidoctor.loadFile(source, optionsBuilder.asMap());
-        document.setAttribute("templateSession", ctx.getTemplateSession(), true);
-        String output = document.convert();
-        FileWriter writer;
-        try {
-            target.getParentFile().mkdirs();
-            writer = new FileWriter(target);
-            writer.write(output);
-            writer.flush();
-            writer.close();
+        try (AsciidoctorPool.Lease lease = pool().acquire();
+                IncludeRecorder.Recording recording = IncludeRecorder.start(ctx.getIncludeGraph());
+                Writer writer = ctx.getOutput().newWriter(ctx.getOutput().pathOf(target))) {
+            Asciidoctor asciidoctor = lease.asciidoctor();
+            Document document = asciidoctor.loadFile(source, optionsBuilder.asMap());
+            document.setAttribute("templateSession", ctx.getTemplateSession(), true);
+            // the converter streams the document to the writer
+            document.setAttribute(AsciidocConverter.OUTPUT_WRITER_ATTR, writer, true);
+            String output = document.convert();
+            if (output != null) {
+                writer.write(output);
+            }
         } catch (IOException ex) {
             throw new RenderingException(ex.getMessage(), ex);
         }
     }
 
+    /**
+     * A document header cached with the state of the document file.
+     */
+    private static final class CachedHeader {
+
+        private final long lastModified;
+        private final long length;
+        private final Map<String, Object> header;
+
+        CachedHeader(long lastModified, long length, Map<String, Object> header) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.header = header;
+        }
+    }
+
     /**
      * A fluent builder to create {@link AsciidocEngine} instances.
      */
@@ -295,6 +410,16 @@ public class AsciidocEngine {
             return this;
         }
 
+        /**
+         * Set the maximum number of pooled asciidoctor runtimes to use.
+         * @param runtimes the number of runtimes
+         * @return the {@link Builder} instance
+         */
+        public Builder runtimes(int runtimes) {
+            put(RUNTIMES_PROP, runtimes);
+            return this;
+        }
+
         /**
          * Apply the configuration represented by the given {@link Config} node.
          * @param node a {@link Config} node containing configuration values to apply
@@ -308,6 +433,8 @@ public class AsciidocEngine {
                         -> put(ATTRIBUTES_PROP, c.detach().asMap()));
                 node.get(IMAGESDIR_PROP).ifExists(c
                         -> put(IMAGESDIR_PROP, c.asString()));
+                node.get(RUNTIMES_PROP).ifExists(c
+                        -> put(RUNTIMES_PROP, c.asInt()));
             }
             return this;
         }
@@ -317,6 +444,7 @@ public class AsciidocEngine {
             List<String> libraries = null;
             Map<String, Object> attributes = null;
             String imagesdir = null;
+            int runtimes = 1;
             for (Entry<String, Object> entry : values()) {
                 String attr = entry.getKey();
                 Object val = entry.getValue();
@@ -330,13 +458,16 @@ public class AsciidocEngine {
                     case (IMAGESDIR_PROP):
                         imagesdir = asType(val, String.class);
                         break;
+                    case (RUNTIMES_PROP):
+                        runtimes = asType(val, Integer.class);
+                        break;
                     default:
                         throw new IllegalStateException(
                                 "Unkown attribute: " + attr);
                 }
             }
             String backendName = Site.THREADLOCAL.get();
-            return new AsciidocEngine(backendName, libraries, attributes, imagesdir);
+            return new AsciidocEngine(backendName, libraries, attributes, imagesdir, runtimes);
         }
     }
 
@@ -16,11 +16,20 @@
 
 package io.helidon.build.sitegen.asciidoctor;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 import org.asciidoctor.Asciidoctor;
 import org.asciidoctor.converter.JavaConverterRegistry;
+import org.asciidoctor.extension.BlockProcessor;
+import org.asciidoctor.extension.IncludeProcessor;
 import org.asciidoctor.extension.JavaExtensionRegistry;
+import org.asciidoctor.extension.Preprocessor;
+import org.asciidoctor.extension.Processor;
 import org.asciidoctor.extension.spi.ExtensionRegistry;
 
+import static io.helidon.common.CollectionsHelper.listOf;
+
 /**
  * An implementation of {@link ExtensionRegistry} to register custom extensions
  * to Asciidoctorj.
@@ -29,6 +38,10 @@ import org.asciidoctor.extension.spi.ExtensionRegistry;
  */
 public class AsciidocExtensionRegistry implements ExtensionRegistry {
 
+    private static final String EXTENSIONS = extensions().stream()
+            .map(extension -> extension.getClass().getName())
+            .collect(Collectors.joining(","));
+
     private final String backendName;
 
     /**
@@ -47,8 +60,31 @@ public class AsciidocExtensionRegistry implements ExtensionRegistry {
 
         JavaExtensionRegistry javaExtensionRegistry = asciidoctor
                 .javaExtensionRegistry();
-        javaExtensionRegistry.block(new CardBlockProcessor());
-        javaExtensionRegistry.block(new PillarsBlockProcessor());
-        javaExtensionRegistry.preprocessor(new IncludePreprocessor());
+        for (Processor extension : extensions()) {
+            if (extension instanceof Preprocessor) {
+                javaExtensionRegistry.preprocessor((Preprocessor) extension);
+            } else if (extension instanceof IncludeProcessor) {
+                javaExtensionRegistry.includeProcessor((IncludeProcessor) extension);
+            } else {
+                javaExtensionRegistry.block((BlockProcessor) extension);
+            }
+        }
+    }
+
+    /**
+     * Describe the converter and the extensions registered by this registry,
+     * runtimes registered with the same description are interchangeable.
+     * @return the description
+     */
+    String description() {
+        return backendName + "=" + AsciidocConverter.class.getName() + "," + EXTENSIONS;
+    }
+
+    private static List<Processor> extensions() {
+        return listOf(
+                new CardBlockProcessor(),
+                new PillarsBlockProcessor(),
+                new IncludePreprocessor(),
+                new IncludeRecorder());
     }
 }
@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.asciidoctor;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+import io.helidon.build.sitegen.RenderingException;
+
+import org.asciidoctor.Asciidoctor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pool of Asciidoctor runtimes.
+ *
+ * Creating an Asciidoctor runtime boots a JRuby runtime, this is expensive and
+ * should be done as little as possible. The pools are kept in a static registry
+ * keyed by backend, registered extensions and required libraries, they are
+ * shared by all the invocations that are using the same class-loader, e.g. all
+ * the executions of this plugin in a Maven session.
+ *
+ * The runtimes are created lazily up to the size of the pool, a lease always
+ * returns the least used runtime. A runtime may be used by more than one lease
+ * at a time when all the runtimes of the pool are in use.
+ *
+ * A removed pool is closed: its runtimes are shut down as soon as they are no
+ * longer leased, so that removing a pool never shuts down a runtime that is in
+ * use.
+ *
+ * @author rgrecour
+ */
+public final class AsciidoctorPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsciidoctorPool.class);
+    private static final Map<String, AsciidoctorPool> POOLS = new ConcurrentHashMap<>();
+
+    private final String key;
+    private final Consumer<Asciidoctor> initializer;
+    private final List<PooledRuntime> runtimes = new ArrayList<>();
+    private int size;
+    private boolean closed;
+
+    private AsciidoctorPool(String key, int size, Consumer<Asciidoctor> initializer) {
+        this.key = key;
+        this.size = Math.max(1, size);
+        this.initializer = initializer;
+    }
+
+    /**
+     * Get the pool of runtimes for the given backend, with the extensions of
+     * {@link AsciidocExtensionRegistry} registered and the given libraries
+     * required.
+     *
+     * @param backendName the backend name
+     * @param libraries the asciidoctor libraries to require
+     * @param size the maximum number of runtimes, the pool is grown if it
+     * already exists with a smaller size
+     * @return the pool, never {@code null}
+     */
+    public static AsciidoctorPool get(String backendName, List<String> libraries, int size) {
+        AsciidoctorPool pool = POOLS.computeIfAbsent(key(backendName, libraries), k -> {
+            AsciidocExtensionRegistry registry = new AsciidocExtensionRegistry(backendName);
+            return new AsciidoctorPool(k, size, asciidoctor -> {
+                registry.register(asciidoctor);
+                if (!libraries.isEmpty()) {
+                    asciidoctor.requireLibraries(libraries);
+                }
+            });
+        });
+        pool.grow(size);
+        return pool;
+    }
+
+    /**
+     * Remove the pool of runtimes for the given backend and libraries. The
+     * runtimes of the pool are shut down once they are no longer leased.
+     *
+     * @param backendName the backend name
+     * @param libraries the asciidoctor libraries required by the pool
+     */
+    public static void remove(String backendName, List<String> libraries) {
+        AsciidoctorPool pool = POOLS.remove(key(backendName, libraries));
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    /**
+     * Remove all the pools of runtimes. The runtimes are shut down once they
+     * are no longer leased.
+     */
+    public static void removeAll() {
+        Iterator<AsciidoctorPool> it = POOLS.values().iterator();
+        while (it.hasNext()) {
+            AsciidoctorPool pool = it.next();
+            it.remove();
+            pool.close();
+        }
+    }
+
+    private static String key(String backendName, List<String> libraries) {
+        return new AsciidocExtensionRegistry(backendName).description()
+                + "@" + String.join(",", libraries);
+    }
+
+    /**
+     * Get the maximum number of runtimes of this pool.
+     *
+     * @return the size of the pool
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Test if this pool has been removed.
+     *
+     * @return {@code true} if this pool is closed
+     */
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Acquire a runtime, the returned lease must be closed when done.
+     *
+     * @return the lease, never {@code null}
+     * @throws RenderingException if an error occurs while creating the runtime
+     */
+    public Lease acquire() {
+        PooledRuntime runtime = null;
+        boolean create = false;
+        synchronized (this) {
+            for (PooledRuntime r : runtimes) {
+                if (runtime == null || r.leases < runtime.leases) {
+                    runtime = r;
+                }
+            }
+            if ((runtime == null || runtime.leases > 0) && runtimes.size() < size) {
+                runtime = new PooledRuntime();
+                runtimes.add(runtime);
+                create = true;
+            }
+            runtime.leases++;
+        }
+        if (create) {
+            LOGGER.debug("Creating asciidoctor runtime for {}", key);
+            try {
+                Asciidoctor asciidoctor = Asciidoctor.Factory.create();
+                initializer.accept(asciidoctor);
+                runtime.asciidoctor.complete(asciidoctor);
+            } catch (RuntimeException | Error ex) {
+                synchronized (this) {
+                    runtimes.remove(runtime);
+                }
+                runtime.asciidoctor.completeExceptionally(ex);
+            }
+        }
+        return new Lease(runtime);
+    }
+
+    /**
+     * Grow the maximum number of runtimes of this pool.
+     *
+     * @param newSize the new size, ignored if smaller than the current size
+     */
+    synchronized void grow(int newSize) {
+        if (newSize > size) {
+            size = newSize;
+        }
+    }
+
+    /**
+     * Get the number of runtimes created by this pool.
+     *
+     * @return the number of runtimes
+     */
+    synchronized int runtimeCount() {
+        return runtimes.size();
+    }
+
+    private void close() {
+        List<PooledRuntime> idle = new ArrayList<>();
+        synchronized (this) {
+            closed = true;
+            Iterator<PooledRuntime> it = runtimes.iterator();
+            while (it.hasNext()) {
+                PooledRuntime runtime = it.next();
+                if (runtime.leases == 0) {
+                    it.remove();
+                    idle.add(runtime);
+                }
+            }
+        }
+        idle.forEach(PooledRuntime::shutdown);
+    }
+
+    private void release(PooledRuntime runtime) {
+        synchronized (this) {
+            runtime.leases--;
+            if (!closed || runtime.leases > 0 || !runtimes.remove(runtime)) {
+                return;
+            }
+        }
+        runtime.shutdown();
+    }
+
+    private static final class PooledRuntime {
+
+        private final CompletableFuture<Asciidoctor> asciidoctor = new CompletableFuture<>();
+        private int leases;
+
+        private void shutdown() {
+            if (asciidoctor.isDone() && !asciidoctor.isCompletedExceptionally()) {
+                LOGGER.debug("Shutting down asciidoctor runtime");
+                asciidoctor.join().shutdown();
+            }
+        }
+    }
+
+    /**
+     * A lease on a pooled runtime.
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final PooledRuntime runtime;
+        private boolean closed;
+
+        private Lease(PooledRuntime runtime) {
+            this.runtime = runtime;
+        }
+
+        /**
+         * Get the leased runtime.
+         *
+         * @return the {@link Asciidoctor} instance, never {@code null}
+         * @throws RenderingException if the runtime could not be created
+         */
+        public Asciidoctor asciidoctor() {
+            try {
+                return runtime.asciidoctor.get();
+            } catch (ExecutionException ex) {
+                throw new RenderingException(
+                        "Unable to create asciidoctor runtime", ex.getCause());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new RenderingException(
+                        "Interrupted while creating asciidoctor runtime", ex);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                release(runtime);
+            }
+        }
+    }
+}
@@ -18,17 +18,12 @@ package io.helidon.build.sitegen.asciidoctor;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.function.Consumer;
-import java.util.function.Predicate;
-import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 /**
  * Describes content that is a block (e.g., {@code [source]}) that might contain
@@ -98,8 +93,8 @@ import java.util.stream.Collectors;
  * </pre>
  * <h2>Creating {@code Block} Instances by Parsing AsciiDoc</h2>
  * The {@link #consumeBlock} method reads content and builds an instance
- * representing the corresponding block, advancing the current line indicator
- * for the content as it does so.
+ * representing the corresponding block, recording the line following the block
+ * in the content (see {@link #endLineNumber()}).
  * <p>
  * Note that this method handles the original AsciiDoc form (with
  * {@code include::} directives in the body), pure numbered format, and a hybrid
@@ -124,16 +119,17 @@ public class Block {
      */
     private static final Pattern BLOCK_INTRODUCER_PATTERN = Pattern.compile("\\[([^,\\]]*).*");
 
+    private static final String ASCIIDOC_INCLUDE = "include::";
+
     /**
-     * Creates a Block by consuming the input text, advancing {@code lineNumber}
-     * so it points just past the end of the block's ending delimiter.
+     * Creates a Block by consuming the input text, see {@link #endLineNumber()}
+     * for the line just past the end of the block's ending delimiter.
      *
      * @param content lines containing AsciiDoc
      * @param lineNumber line number at which to begin processing the block
-     * block
      * @return a new Block describing the block
      */
-    static Block consumeBlock(List<String> content, AtomicInteger lineNumber) {
+    static Block consumeBlock(List<String> content, int lineNumber) {
         Block sb = new Block();
         sb.prepare(content, lineNumber);
         return sb;
@@ -146,6 +142,9 @@ public class Block {
      * @return true if the line starts a block; false otherwise
      */
     static boolean isBlockStart(String line) {
+        if (!line.startsWith("[")) {
+            return false;
+        }
         Matcher m = BLOCK_INTRODUCER_PATTERN.matcher(line);
         return m.matches() && BLOCK_INTRODUCERS.contains(m.group(1));
     }
@@ -159,7 +158,18 @@ public class Block {
     private final List<Include> includes = new ArrayList<>();
     private final List<String> body = new ArrayList<>();
 
-    private List<String> preamble = new ArrayList<>();
+    private final List<String> preamble = new ArrayList<>();
+    private int endLineNumber;
+
+    /**
+     * Returns the line number just past the end of the block's ending
+     * delimiter in the content from which the block was consumed.
+     *
+     * @return the line number following the block
+     */
+    int endLineNumber() {
+        return endLineNumber;
+    }
 
     /**
      * Formats the block using numbered include comments in the preamble and the
@@ -168,10 +178,26 @@ public class Block {
      * @return block with (if needed) numbered include comments in the preamble
      */
     List<String> asBlockWithNumberedIncludes() {
-        return asBlock(() -> includes.stream()
-                    .map(Include::asNumberedAsciiDocInclude)
-                    .collect(Collectors.toList()),
-                    this::body);
+        List<String> result = new ArrayList<>(body.size() + preamble.size() + includes.size() + 3);
+        appendBlockWithNumberedIncludes(result);
+        return result;
+    }
+
+    /**
+     * Appends the block using numbered include comments in the preamble and
+     * the actual inserted text in the body.
+     *
+     * @param output the lines to append to
+     */
+    void appendBlockWithNumberedIncludes(List<String> output) {
+        output.add(blockDecl);
+        output.addAll(preamble);
+        for (Include include : includes) {
+            output.add(include.asNumberedAsciiDocInclude());
+        }
+        output.add(delimiter);
+        output.addAll(body);
+        output.add(delimiter);
     }
 
     /**
@@ -182,7 +208,9 @@ public class Block {
      * @return block formatted as normal AsciiDoc
      */
     List<String> asOriginalBlock() {
-        return asBlock(this::originalBody);
+        List<String> result = new ArrayList<>(body.size() + preamble.size() + 3);
+        appendBlock(result, false);
+        return result;
     }
 
     /**
@@ -192,74 +220,69 @@ public class Block {
      * @return block formatted using bracketed includes
      */
     List<String> asBracketedBlock() {
-        return asBlock(this::bracketedBody);
-    }
-
-    private List<String> asBlock(
-            Supplier<List<String>> bodyGenerator) {
-        return asBlock(Collections::emptyList, bodyGenerator);
-    }
-
-    private List<String> asBlock(
-            Supplier<List<String>> preambleCommentsGenerator,
-            Supplier<List<String>> bodyGenerator) {
-        List<String> result = new ArrayList<>();
-        result.add(blockDecl);
-        result.addAll(preamble);
-        result.addAll(preambleCommentsGenerator.get());
-        result.add(delimiter);
-        result.addAll(bodyGenerator.get());
-        result.add(delimiter);
+        List<String> result = new ArrayList<>(body.size() + preamble.size() + 3);
+        appendBracketedBlock(result);
         return result;
     }
 
-    private List<String> body() {
-        return body;
+    /**
+     * Appends the block with no numbering, with each include bracketed with
+     * special include-related comments.
+     *
+     * @param output the lines to append to
+     */
+    void appendBracketedBlock(List<String> output) {
+        appendBlock(output, true);
     }
 
-    private List<String> originalBody() {
-        List<String> result = new ArrayList<>(body);
+    private void appendBlock(List<String> output, boolean bracketed) {
+        output.add(blockDecl);
+        output.addAll(preamble);
+        output.add(delimiter);
+        appendOriginalBody(output, bracketed);
+        output.add(delimiter);
+    }
 
-        /*
-         * Replace the actual included text in the body of the block with
-         * AsciiDoc includes.
-         *
-         * We work on the includes from bottom to top to avoid disrupting the
-         * line number references from the numbered includes into the body.
-         */
-        for (int i = includes.size() - 1; i >= 0; i--) {
-            Include ia = includes.get(i);
-            for (int j = ia.startWithinBlock(); j <= ia.endWithinBlock(); j++) {
-                result.remove(ia.startWithinBlock());
-            }
-            if (ia.startWithinBlock() >= result.size()) {
-                result.addAll(ia.asAsciiDocInclude());
-            } else {
-                result.addAll(ia.startWithinBlock(), ia.asAsciiDocInclude());
+    /**
+     * Appends the body of the block with AsciiDoc includes in place of the
+     * actual included text, optionally bracketing each AsciiDoc include with
+     * the include-related comments.
+     */
+    private void appendOriginalBody(List<String> output, boolean bracketed) {
+        List<Include> sortedIncludes = includes;
+        if (!isSorted(includes)) {
+            sortedIncludes = new ArrayList<>(includes);
+            sortedIncludes.sort(Comparator.comparingInt(Include::startWithinBlock));
+        }
+        int lineNumber = 0;
+        for (Include include : sortedIncludes) {
+            int start = Math.min(include.startWithinBlock(), body.size());
+            for (; lineNumber < start; lineNumber++) {
+                appendBodyLine(output, body.get(lineNumber), bracketed);
             }
+            appendBodyLine(output, Include.include(include.includeTarget()), bracketed);
+            lineNumber = include.endWithinBlock() + 1;
+        }
+        for (; lineNumber < body.size(); lineNumber++) {
+            appendBodyLine(output, body.get(lineNumber), bracketed);
         }
-        return result;
     }
 
-    private List<String> bracketedBody() {
-        List<String> result = new ArrayList<>();
-        Matcher m = Include.ASCIIDOC_INCLUDE_PATTERN.matcher("");
+    private static void appendBodyLine(List<String> output, String line, boolean bracketed) {
+        if (bracketed && line.startsWith(ASCIIDOC_INCLUDE)) {
+            Include.appendBracketedInclude(line.substring(ASCIIDOC_INCLUDE.length()), output);
+        } else {
+            output.add(line);
+        }
+    }
 
-        for (String bodyLine : originalBody()) {
-            m.reset(bodyLine);
-            if (m.matches()) {
-                result.add(String.format(Include.INCLUDE_BRACKET_TEMPLATE,
-                        "start",
-                        m.group(1)));
-                result.add(bodyLine);
-                result.add(String.format(Include.INCLUDE_BRACKET_TEMPLATE,
-                        "end",
-                        m.group(1)));
-            } else {
-                result.add(bodyLine);
+    private static boolean isSorted(List<Include> includes) {
+        for (int i = 1; i < includes.size(); i++) {
+            if (includes.get(i).startWithinBlock() < includes.get(i - 1).startWithinBlock()) {
+                return false;
             }
         }
-        return result;
+        return true;
     }
 
     /**
@@ -270,70 +293,60 @@ public class Block {
         return includes;
     }
 
-    private void prepare(List<String> content, AtomicInteger aLineNumber) {
-        blockDecl = content.get(aLineNumber.getAndIncrement());
+    private void prepare(List<String> content, int startLineNumber) {
+        int lineNumber = startLineNumber;
+        blockDecl = content.get(lineNumber++);
 
         /*
          * The "preamble" is any text after the introducer (e.g., [source]) line
          * and before the first delimiter (e.g., "----") that marks the beginning
          * of the body of the block.
          */
-        collectPreamble(content, aLineNumber);
+        lineNumber = collectPreamble(content, lineNumber);
         int blockStartLineNumber = body.size();
 
-        doUntilBlockDelimiter(content, aLineNumber, line -> {
+        String line = content.get(lineNumber);
+        while (!line.equals(delimiter)) {
             if (Include.isIncludeStart(line)) {
-                aLineNumber.decrementAndGet();
                 Include ia = Include.consumeBracketedInclude(
                         content,
-                        aLineNumber,
+                        lineNumber,
                         body,
                         blockStartLineNumber);
                 includes.add(ia);
                 body.addAll(ia.body());
+                lineNumber += ia.bracketedSize();
             } else {
                 body.add(line);
+                lineNumber++;
             }
-        },
-                delimiter::equals);
+            line = content.get(lineNumber);
+        }
+        endLineNumber = lineNumber + 1;
     }
 
-    private void collectPreamble(List<String> content, AtomicInteger lineNumber) {
-        final List<String> result = new ArrayList<>();
-        final List<String> pendingIncludes = new ArrayList<>();
-        final Matcher m = Include.INCLUDE_NUMBERED_PATTERN.matcher("");
-        delimiter = doUntilInitialBlockDelimiter(content, lineNumber, line -> {
-            m.reset(line);
-            if (m.matches()) {
+    private int collectPreamble(List<String> content, int startLineNumber) {
+        int lineNumber = startLineNumber;
+        List<String> pendingIncludes = null;
+        String line = content.get(lineNumber++);
+        while (!isBlockDelimiter(line)) {
+            if (Include.isIncludeNumbered(line)) {
+                if (pendingIncludes == null) {
+                    pendingIncludes = new ArrayList<>();
+                }
                 pendingIncludes.add(line);
             } else {
-                result.add(line);
+                preamble.add(line);
             }
-        });
-        final int startOfBlock = lineNumber.get();
-        pendingIncludes.forEach((pendingInclude) -> {
-            includes.add(Include.fromNumberedInclude(
-                    content, startOfBlock, pendingInclude));
-        });
-        preamble = result;
-    }
-
-    private String doUntilBlockDelimiter(
-            List<String> content,
-            AtomicInteger lineNumber,
-            Consumer<String> lineConsumer,
-            Predicate<String> delimiterDetector) {
-        do {
-            String line = content.get(lineNumber.getAndIncrement());
-            if (delimiterDetector.test(line)) {
-                return line;
+            line = content.get(lineNumber++);
+        }
+        delimiter = line;
+        if (pendingIncludes != null) {
+            for (String pendingInclude : pendingIncludes) {
+                includes.add(Include.fromNumberedInclude(
+                        content, lineNumber, pendingInclude));
             }
-            lineConsumer.accept(line);
-        } while (true);
-    }
-
-    private String doUntilInitialBlockDelimiter(List<String> content, AtomicInteger lineNumber, Consumer<String> lineConsumer) {
-        return doUntilBlockDelimiter(content, lineNumber, lineConsumer,
-                Block::isBlockDelimiter);
+        }
+        return lineNumber;
     }
 }
@@ -43,16 +43,14 @@ public class CardBlockProcessor extends BlockProcessor {
      */
     public static final String BLOCKLINK_TEXT = "@@blocklink@@";
 
-    /**
-     * This block is of type open (delimited by --).
-     */
-    private static final Map<String, Object> CONFIG = createConfig(Contexts.OPEN);
-
     /**
      * Create a new instance of {@link CardBlockProcessor}.
      */
     public CardBlockProcessor() {
-        super("CARD", CONFIG);
+        // this block is of type open (delimited by --)
+        // the config is bound to the runtime that registers the processor,
+        // each runtime needs its own instance
+        super("CARD", createConfig(Contexts.OPEN));
         setConfigFinalized();
     }
 
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.asciidoctor;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A line scanner that reads the header of an asciidoc document without
+ * Asciidoctor.
+ *
+ * The scanner reads the document title, the author and revision lines and
+ * the attribute entries of the header, as well as the first level-0 section
+ * title of the document ({@code h1}). It reads the document once and stops as
+ * soon as the header and the {@code h1} title are known.
+ *
+ * Only the simple cases are supported: if the header uses preprocessor
+ * directives, block attributes, setext titles, multi-line attribute values or
+ * attribute values that require substitutions, the scanner gives up and the
+ * document should be loaded with Asciidoctor.
+ *
+ * @author rgrecour
+ */
+public final class DocumentHeaderScanner {
+
+    private static final Pattern ATTRIBUTE_ENTRY_PATTERN =
+            Pattern.compile("^:(!?\\w[\\w-]*!?):(?:[ \\t]+(.*))?$");
+    private static final Pattern COMMENT_DELIMITER_PATTERN = Pattern.compile("^/{4,}$");
+    private static final Pattern SETEXT_UNDERLINE_PATTERN = Pattern.compile("^=+$");
+    private static final String[] DIRECTIVES = new String[]{
+        "ifdef::", "ifndef::", "ifeval::", "endif::", "include::"
+    };
+
+    private DocumentHeaderScanner() {
+    }
+
+    /**
+     * Scan the header of a document.
+     *
+     * @param source the document to scan
+     * @return the header attributes, including {@code doctitle} and
+     * {@code h1} if found, or {@code null} if the header cannot be scanned
+     * without Asciidoctor
+     * @throws IOException if an error occurs while reading the document
+     */
+    public static Map<String, Object> scan(File source) throws IOException {
+        Map<String, Object> header = new HashMap<>();
+        boolean inHeader = true;
+        boolean titleSeen = false;
+        boolean attributesSeen = false;
+        int headerLines = 0;
+        boolean h1Done = false;
+        String previousLine = null;
+        String commentDelimiter = null;
+        try (BufferedReader reader = Files.newBufferedReader(source.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!h1Done) {
+                    if (line.startsWith("= ")) {
+                        header.put("h1", line.substring(2).trim());
+                        h1Done = true;
+                    } else if (line.startsWith("== ")) {
+                        h1Done = true;
+                    }
+                }
+                if (inHeader) {
+                    if (commentDelimiter != null) {
+                        if (line.equals(commentDelimiter)) {
+                            commentDelimiter = null;
+                        }
+                    } else if (COMMENT_DELIMITER_PATTERN.matcher(line).matches()) {
+                        commentDelimiter = line;
+                    } else if (line.trim().isEmpty()) {
+                        // blank lines between the leading attribute entries
+                        // and the document title do not end the header
+                        if (titleSeen) {
+                            inHeader = false;
+                        }
+                    } else if (isDirective(line)) {
+                        return null;
+                    } else if (line.startsWith("//")) {
+                        // line comment
+                    } else if (line.startsWith(":")) {
+                        if (!parseAttributeEntry(line, header)) {
+                            return null;
+                        }
+                        attributesSeen = true;
+                    } else if (!titleSeen && line.startsWith("= ")) {
+                        header.put("doctitle", line.substring(2).trim());
+                        titleSeen = true;
+                        attributesSeen = false;
+                    } else if (titleSeen && !attributesSeen && headerLines < 2) {
+                        // author line or revision line
+                        headerLines++;
+                    } else if (!titleSeen && !line.startsWith("[") && !line.startsWith(".")) {
+                        // no header, make sure this is not a setext title
+                        inHeader = false;
+                        previousLine = line;
+                        continue;
+                    } else {
+                        return null;
+                    }
+                } else if (previousLine != null) {
+                    if (SETEXT_UNDERLINE_PATTERN.matcher(line).matches()
+                            && Math.abs(line.length() - previousLine.length()) <= 2) {
+                        return null;
+                    }
+                    previousLine = null;
+                }
+                if (!inHeader && h1Done && previousLine == null) {
+                    break;
+                }
+            }
+        }
+        return header;
+    }
+
+    private static boolean isDirective(String line) {
+        for (String directive : DIRECTIVES) {
+            if (line.startsWith(directive)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean parseAttributeEntry(String line, Map<String, Object> header) {
+        Matcher matcher = ATTRIBUTE_ENTRY_PATTERN.matcher(line);
+        if (!matcher.matches()) {
+            return false;
+        }
+        String name = matcher.group(1).toLowerCase(Locale.ENGLISH);
+        String value = matcher.group(2) == null ? "" : matcher.group(2).trim();
+        if (value.endsWith(" \\") || value.endsWith(" +")
+                || value.indexOf('{') >= 0
+                || value.indexOf('&') >= 0
+                || value.indexOf('<') >= 0
+                || value.indexOf('>') >= 0) {
+            // multi-line values and values that require substitutions
+            return false;
+        }
+        if (name.startsWith("!")) {
+            header.remove(name.substring(1));
+        } else if (name.endsWith("!")) {
+            header.remove(name.substring(0, name.length() - 1));
+        } else {
+            header.put(name, value);
+        }
+        return true;
+    }
+}
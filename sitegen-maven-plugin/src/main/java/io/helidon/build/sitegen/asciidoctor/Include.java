@@ -19,7 +19,6 @@ package io.helidon.build.sitegen.asciidoctor;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -134,15 +133,11 @@ public class Include {
     static final Pattern INCLUDE_NUMBERED_PATTERN
             = Pattern.compile("// " + INCLUDE_PREFIX + "::(\\d*)-(\\d*):(.*)");
 
-    /*
-     * matches an AsciiDoc include:: directive
-     */
-    static final Pattern ASCIIDOC_INCLUDE_PATTERN = Pattern.compile("include::(.*)");
-    static final String INCLUDE_BRACKET_TEMPLATE = "// " + INCLUDE_PREFIX + "-%s::%s";
-
-    private static final String INCLUDE_NUMBERED_TEMPLATE = "// " + INCLUDE_PREFIX + "::%d-%d:%s";
+    private static final String INCLUDE_NUMBERED_PREFIX = "// " + INCLUDE_PREFIX + "::";
     private static final String INCLUDE_START = INCLUDE_PREFIX + "-start";
     private static final String INCLUDE_END = INCLUDE_PREFIX + "-end";
+    private static final String INCLUDE_START_PREFIX = "// " + INCLUDE_START + "::";
+    private static final String INCLUDE_END_PREFIX = "// " + INCLUDE_END + "::";
 
     /**
      * Returns whether the line is an _include-start line.
@@ -171,7 +166,7 @@ public class Include {
      * @return the include path and any modifiers from the line
      */
     static String targetFromIncludeStart(String line) {
-        return line.substring(("// " + INCLUDE_START + "::").length());
+        return line.substring(INCLUDE_START_PREFIX.length());
     }
 
     /**
@@ -180,7 +175,8 @@ public class Include {
      * @return whether or not the line is a numbered _include:: line
      */
     static boolean isIncludeNumbered(String line) {
-        return INCLUDE_NUMBERED_PATTERN.matcher(line).matches();
+        return line.startsWith(INCLUDE_NUMBERED_PREFIX)
+                && INCLUDE_NUMBERED_PATTERN.matcher(line).matches();
     }
 
     /**
@@ -190,7 +186,7 @@ public class Include {
      * @return the include directive
      */
     static String include(String includeTarget) {
-        return String.format("include::" + includeTarget);
+        return "include::" + includeTarget;
     }
 
     /**
@@ -200,7 +196,7 @@ public class Include {
      * @return the ending bracket comment
      */
     static String includeEnd(String includeTarget) {
-        return String.format("// %s::%s", Include.INCLUDE_END, includeTarget);
+        return INCLUDE_END_PREFIX + includeTarget;
     }
 
     /**
@@ -210,7 +206,19 @@ public class Include {
      * @return the starting bracket comment
      */
     static String includeStart(String includeTarget) {
-        return String.format("// %s::%s", Include.INCLUDE_START, includeTarget);
+        return INCLUDE_START_PREFIX + includeTarget;
+    }
+
+    /**
+     * Appends the bracketed form of an AsciiDoc {@code include::} directive.
+     *
+     * @param includeTarget the target
+     * @param output the lines to append to
+     */
+    static void appendBracketedInclude(String includeTarget, List<String> output) {
+        output.add(includeStart(includeTarget));
+        output.add(include(includeTarget));
+        output.add(includeEnd(includeTarget));
     }
 
     private final int startWithinBlock;
@@ -272,40 +280,36 @@ public class Include {
 
     /**
      * Parses a bracketed include block, starting at the specified line within
-     * the content and advancing the {@code lineNumber} to just past the ending
-     * bracket comment for the include.
+     * the content. The bracketed include spans {@link #bracketedSize()} lines
+     * from {@code lineNumber}, i.e. up to and including the ending bracket
+     * comment for the include.
      *
      * @param content lines containing the bracketed include to be parsed
      * @param lineNumber starting point of the bracketed include (the starting comment)
      * @param output buffer at the end of which the result of consuming and translating
      * the include will be stored by the caller (used only for computing the location
      * in the block where the included content resides)
-     * @oaran startOfOutputBlock where the included content itself begins in the
+     * @param startOfOutputBlock where the included content itself begins in the
      * output
      * @return an Include describing this include
      */
     static Include consumeBracketedInclude(List<String> content,
-            AtomicInteger lineNumber,
+            int lineNumber,
             List<String> output,
             int startOfOutputBlock) {
-        String line = content.get(lineNumber.get());
+        String line = content.get(lineNumber);
         Matcher m = INCLUDE_BRACKET_PATTERN.matcher(line);
         if (!(m.matches() && m.group(1).equals("start"))) {
             return null;
         }
-        lineNumber.incrementAndGet();
         int startWithinBlock = output.size() - startOfOutputBlock;
         String includeTarget = m.group(2);
-        boolean endFound;
-        List<String> body = new ArrayList<>();
-        do {
-            line = content.get(lineNumber.getAndIncrement());
-            m.reset(line);
-            endFound = (m.matches() && m.group(1).equals("end"));
-            if (!endFound) {
-                body.add(line);
-            }
-        } while (!endFound);
+        int bodyStart = lineNumber + 1;
+        int bodyEnd = bodyStart;
+        while (!isBracketEnd(content.get(bodyEnd), m)) {
+            bodyEnd++;
+        }
+        List<String> body = new ArrayList<>(content.subList(bodyStart, bodyEnd));
         int endWithinBlock = startWithinBlock + body.size() - 1;
         return new Include(
                 startOfOutputBlock,
@@ -315,6 +319,14 @@ public class Include {
                 includeTarget);
     }
 
+    private static boolean isBracketEnd(String line, Matcher m) {
+        if (!line.startsWith(INCLUDE_END_PREFIX)) {
+            return false;
+        }
+        m.reset(line);
+        return m.matches() && m.group(1).equals("end");
+    }
+
     /**
      * Creates a new instance given the content and starting position within it
      * where the include content resides.
@@ -343,10 +355,8 @@ public class Include {
      * comments
      */
     List<String> asBracketedAsciiDocInclude() {
-        List<String> result = new ArrayList<>();
-        result.add(String.format(INCLUDE_BRACKET_TEMPLATE, "start", includeTarget));
-        result.add("include::" + includeTarget);
-        result.add(String.format(INCLUDE_BRACKET_TEMPLATE, "end", includeTarget));
+        List<String> result = new ArrayList<>(3);
+        appendBracketedInclude(includeTarget, result);
         return result;
     }
 
@@ -357,8 +367,8 @@ public class Include {
      * @return a single line containing the AsciiDoc {@code include::} directive
      */
     List<String> asAsciiDocInclude() {
-        List<String> result = new ArrayList<>();
-        result.add(String.format("include::%s", includeTarget));
+        List<String> result = new ArrayList<>(1);
+        result.add(include(includeTarget));
         return result;
     }
 
@@ -368,7 +378,7 @@ public class Include {
      * @return AsciiDoc comment describing the include using line numbers
      */
     String asNumberedAsciiDocInclude() {
-        return String.format(INCLUDE_NUMBERED_TEMPLATE, startWithinBlock, endWithinBlock, includeTarget);
+        return INCLUDE_NUMBERED_PREFIX + startWithinBlock + "-" + endWithinBlock + ":" + includeTarget;
     }
 
     /**
@@ -380,6 +390,16 @@ public class Include {
         return body;
     }
 
+    /**
+     * Returns the number of lines of the full bracketed form of this include,
+     * i.e. the included text and the two bracketing comments.
+     *
+     * @return the number of lines
+     */
+    int bracketedSize() {
+        return body.size() + 2;
+    }
+
     /**
      *
      * @return the starting position of the included text within the containing
@@ -454,7 +474,7 @@ public class Include {
             int startOfBlock,
             int startWithinBlock,
             int endWithinBlock) {
-        List<String> b = new ArrayList<>();
+        List<String> b = new ArrayList<>(endWithinBlock - startWithinBlock + 1);
         for (int i = startWithinBlock; i <= endWithinBlock; i++) {
             b.add(content.get(startOfBlock + i));
         }
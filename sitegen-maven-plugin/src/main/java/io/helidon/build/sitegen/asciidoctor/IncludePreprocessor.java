@@ -25,8 +25,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.Collectors;
+import java.util.regex.Matcher;
 
 import org.asciidoctor.ast.Document;
 import org.asciidoctor.extension.Preprocessor;
@@ -54,6 +53,9 @@ import org.asciidoctor.extension.PreprocessorReader;
  * introducer such as [source] and the first delimiter such as "----") of the
  * block. In this way we can track where the included data came from and where
  * it is in the file while preventing the comment itself from being rendered.
+ * <p>
+ * The preprocessor also provides the reader of each document to the
+ * {@link IncludeRecorder}, which records the includes resolved while reading.
  */
 public class IncludePreprocessor extends Preprocessor {
 
@@ -66,19 +68,24 @@ public class IncludePreprocessor extends Preprocessor {
      * @return lines with beginning and ending comments bracketing the includes
      */
     static List<String> convertHybridToBracketed(List<String> lines) {
-        List<String> augmentedLines = new ArrayList<>();
+        // each include directive grows by the two bracketing comments
+        List<String> augmentedLines = new ArrayList<>(lines.size() + lines.size() / 4);
 
-        for (AtomicInteger lineNumber = new AtomicInteger(0); lineNumber.get() < lines.size();) {
-            String line = lines.get(lineNumber.get());
+        int lineNumber = 0;
+        while (lineNumber < lines.size()) {
+            String line = lines.get(lineNumber);
             if (line.startsWith("include::")) {
-                augmentedLines.addAll(handleADocInclude(lines, lineNumber));
+                Include.appendBracketedInclude(line.substring("include::".length()), augmentedLines);
+                lineNumber++;
             } else if (Block.isBlockStart(line)) {
-                augmentedLines.addAll(handleBlock(lines, lineNumber));
+                Block block = Block.consumeBlock(lines, lineNumber);
+                block.appendBracketedBlock(augmentedLines);
+                lineNumber = block.endLineNumber();
             } else if (Include.isIncludeNumbered(line)) {
-                augmentedLines.addAll(handleNumberedInclude(lines, lineNumber));
+                lineNumber = handleNumberedInclude(line, lineNumber, augmentedLines);
             } else {
                 augmentedLines.add(line);
-                lineNumber.getAndIncrement();
+                lineNumber++;
             }
         }
         return augmentedLines;
@@ -92,15 +99,18 @@ public class IncludePreprocessor extends Preprocessor {
      * @return natural form content
      */
     static List<String> convertBracketedToNatural(List<String> lines) {
-        List<String> result = new ArrayList<>();
+        List<String> result = new ArrayList<>(lines.size());
 
-        for (AtomicInteger lineNumber = new AtomicInteger(0); lineNumber.get() < lines.size();) {
-            String line = lines.get(lineNumber.get());
+        int lineNumber = 0;
+        while (lineNumber < lines.size()) {
+            String line = lines.get(lineNumber);
             if (Include.isIncludeStart(line)) {
-                result.addAll(bracketedIncludeToNatural(lines, lineNumber));
+                Include inc = Include.consumeBracketedInclude(lines, lineNumber, result, 0);
+                result.add(Include.include(inc.includeTarget()));
+                lineNumber += inc.bracketedSize();
             } else {
                 result.add(line);
-                lineNumber.getAndIncrement();
+                lineNumber++;
             }
         }
 
@@ -115,22 +125,24 @@ public class IncludePreprocessor extends Preprocessor {
      * @return content converted to numbered form
      */
     static List<String> convertBracketedToNumbered(List<String> content) {
-        List<String> result = new ArrayList<>();
+        List<String> result = new ArrayList<>(content.size());
 
-        AtomicInteger lineNumber = new AtomicInteger(0);
-        while (lineNumber.get() < content.size()) {
-            String line = content.get(lineNumber.get());
+        int lineNumber = 0;
+        while (lineNumber < content.size()) {
+            String line = content.get(lineNumber);
             if (Include.isIncludeStart(line)) {
                 Include ia = Include.consumeBracketedInclude(
                         content, lineNumber, result, result.size());
                 result.add(ia.asNumberedAsciiDocInclude());
                 result.addAll(ia.body());
+                lineNumber += ia.bracketedSize();
             } else if (Block.isBlockStart(line)) {
                 Block sba = Block.consumeBlock(content, lineNumber);
-                result.addAll(sba.asBlockWithNumberedIncludes());
+                sba.appendBlockWithNumberedIncludes(result);
+                lineNumber = sba.endLineNumber();
             } else {
                 result.add(line);
-                lineNumber.getAndIncrement();
+                lineNumber++;
             }
         }
         return result;
@@ -138,6 +150,7 @@ public class IncludePreprocessor extends Preprocessor {
 
     @Override
     public void process(Document doc, PreprocessorReader reader) {
+        IncludeRecorder.document(doc, reader);
         OutputType outputType = OutputType.match(doc.getOptions().get("preprocessOutputType"));
         if (outputType == null) {
             return;
@@ -225,8 +238,19 @@ public class IncludePreprocessor extends Preprocessor {
     }
 
     private static String linesToString(List<String> lines) {
-        return lines.stream()
-                .collect(Collectors.joining(System.lineSeparator()));
+        String separator = System.lineSeparator();
+        int length = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            length += lines.get(i).length() + separator.length();
+        }
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < lines.size(); i++) {
+            if (i > 0) {
+                sb.append(separator);
+            }
+            sb.append(lines.get(i));
+        }
+        return sb.toString();
     }
 
     private void savePreincludedDocIfRequested(List<String> content, Document doc) {
@@ -241,34 +265,18 @@ public class IncludePreprocessor extends Preprocessor {
         }
     }
 
-    private static List<String> handleADocInclude(List<String> lines, AtomicInteger lineNumber) {
-        List<String> result = new ArrayList<>();
-        String line = lines.get(lineNumber.getAndIncrement());
-        String includeTarget = line.substring("include::".length());
-        result.add(Include.includeStart(includeTarget));
-        result.add(line);
-        result.add(Include.includeEnd(includeTarget));
-        return result;
-    }
-
-    private static List<String> handleBlock(List<String> lines, AtomicInteger lineNumber) {
-        Block sba = Block.consumeBlock(lines, lineNumber);
-        return sba.asBracketedBlock();
-    }
-
-    private static List<String> handleNumberedInclude(List<String> lines, AtomicInteger lineNumber) {
-        Include ia = Include.fromNumberedInclude(lines, 0, lines.get(lineNumber.getAndIncrement()));
+    private static int handleNumberedInclude(String line, int lineNumber, List<String> output) {
+        Matcher m = Include.INCLUDE_NUMBERED_PATTERN.matcher(line);
+        if (!m.matches()) {
+            throw new IllegalStateException(
+                    "Expected numbered include but did not match expected pattern - "
+                    + line);
+        }
+        int startWithinBlock = Integer.parseInt(m.group(1));
+        int endWithinBlock = Integer.parseInt(m.group(2));
+        Include.appendBracketedInclude(m.group(3), output);
 
         // Skip over the previously-included text.
-        lineNumber.addAndGet(ia.endWithinBlock() - ia.startWithinBlock() + 1);
-
-        return ia.asBracketedAsciiDocInclude();
-    }
-
-    private static List<String> bracketedIncludeToNatural(List<String> lines, AtomicInteger lineNumber) {
-        List<String> result = new ArrayList<>();
-        Include inc = Include.consumeBracketedInclude(lines, lineNumber, result, 0);
-        result.addAll(inc.asAsciiDocInclude());
-        return result;
+        return lineNumber + 1 + endWithinBlock - startWithinBlock + 1;
     }
 }
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.asciidoctor;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import io.helidon.build.sitegen.IncludeGraph;
+
+import org.asciidoctor.ast.Document;
+import org.asciidoctor.extension.IncludeProcessor;
+import org.asciidoctor.extension.PreprocessorReader;
+
+/**
+ * An include processor that records the include directives processed by
+ * Asciidoctor in an {@link IncludeGraph}.
+ *
+ * The processor does not handle the includes, it observes the targets as
+ * Asciidoctor resolves them: the attribute references are substituted, the
+ * relative targets are resolved against the directory of the including file
+ * and the directives excluded by a conditional are not seen. The includes
+ * are recorded for the documents loaded on the current thread while a
+ * {@link Recording} is open, the reader of each document is provided by the
+ * {@link IncludePreprocessor}.
+ *
+ * @author rgrecour
+ */
+public class IncludeRecorder extends IncludeProcessor {
+
+    private static final ThreadLocal<Recording> RECORDING = new ThreadLocal<>();
+
+    /**
+     * Start recording the includes of the documents loaded on the current
+     * thread.
+     *
+     * @param includeGraph the graph where to record the includes when the
+     * recording is closed, may be {@code null}
+     * @return the recording
+     */
+    public static Recording start(IncludeGraph includeGraph) {
+        Recording recording = new Recording(includeGraph);
+        RECORDING.set(recording);
+        return recording;
+    }
+
+    /**
+     * Set the document being loaded on the current thread.
+     *
+     * @param doc the document
+     * @param reader the reader of the document
+     */
+    static void document(Document doc, PreprocessorReader reader) {
+        Recording recording = RECORDING.get();
+        if (recording != null) {
+            recording.document(doc, reader);
+        }
+    }
+
+    @Override
+    public boolean handles(String target) {
+        Recording recording = RECORDING.get();
+        if (recording != null) {
+            recording.include(target);
+        }
+        // let asciidoctor process the include
+        return false;
+    }
+
+    @Override
+    public void process(Document doc, PreprocessorReader reader, String target, Map<String, Object> attributes) {
+        // never invoked, see handles
+    }
+
+    /**
+     * The includes recorded on a thread.
+     */
+    public static final class Recording implements AutoCloseable {
+
+        private final IncludeGraph includeGraph;
+        private final Map<Path, Set<Path>> includes;
+        private final Set<Path> unresolved;
+        private PreprocessorReader reader;
+        private Path document;
+        private Path docdir;
+
+        private Recording(IncludeGraph includeGraph) {
+            this.includeGraph = includeGraph;
+            this.includes = new LinkedHashMap<>();
+            this.unresolved = new HashSet<>();
+        }
+
+        private void document(Document doc, PreprocessorReader reader) {
+            String file = reader.getFile();
+            if (file == null || file.isEmpty()) {
+                // not loaded from a file
+                this.reader = null;
+                return;
+            }
+            this.reader = reader;
+            this.document = Paths.get(file).toAbsolutePath().normalize();
+            // docdir is the base directory of the document
+            this.docdir = Paths.get(String.valueOf(doc.getAttribute("docdir")));
+            includes.computeIfAbsent(document, k -> new LinkedHashSet<>());
+        }
+
+        private void include(String target) {
+            if (reader == null) {
+                return;
+            }
+            String file = reader.getFile();
+            if (file != null && file.contains("://")) {
+                // included by a remote resource
+                unresolved.add(document);
+                return;
+            }
+            // the content pushed by the preprocessor has no file
+            Path includingFile = file == null || file.isEmpty()
+                    ? document
+                    : Paths.get(file).toAbsolutePath().normalize();
+            if (target.contains("://")) {
+                // remote resources cannot be tracked
+                unresolved.add(includingFile);
+                unresolved.add(document);
+                return;
+            }
+            Path includedFile = docdir.resolve(reader.getDir()).resolve(target).toAbsolutePath().normalize();
+            includes.computeIfAbsent(includingFile, k -> new LinkedHashSet<>()).add(includedFile);
+            includes.computeIfAbsent(includedFile, k -> new LinkedHashSet<>());
+        }
+
+        /**
+         * Stop the recording and record the includes in the include graph.
+         * The files that include remote resources, and their document, are
+         * removed from the graph instead.
+         */
+        @Override
+        public void close() {
+            RECORDING.remove();
+            if (includeGraph == null) {
+                return;
+            }
+            for (Map.Entry<Path, Set<Path>> entry : includes.entrySet()) {
+                if (unresolved.contains(entry.getKey())) {
+                    includeGraph.remove(entry.getKey());
+                } else {
+                    includeGraph.put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+}
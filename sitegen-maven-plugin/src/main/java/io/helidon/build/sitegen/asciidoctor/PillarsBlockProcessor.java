@@ -35,16 +35,14 @@ import org.asciidoctor.extension.Reader;
  */
 public class PillarsBlockProcessor extends BlockProcessor {
 
-    /**
-     * This block is of type example (delimited by ====).
-     */
-    private static final Map<String, Object> CONFIG = createConfig(Contexts.EXAMPLE);
-
     /**
      * Create a new instance of {@link PillarsBlockProcessor}.
      */
     public PillarsBlockProcessor() {
-        super("PILLARS", CONFIG);
+        // this block is of type example (delimited by ====)
+        // the config is bound to the runtime that registers the processor,
+        // each runtime needs its own instance
+        super("PILLARS", createConfig(Contexts.EXAMPLE));
         setConfigFinalized();
     }
 
@@ -16,8 +16,6 @@
 
 package io.helidon.build.sitegen.freemarker;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.Objects;
 
 import freemarker.template.TemplateHashModel;
@@ -67,34 +65,22 @@ public class ContentNodeHashModel implements TemplateHashModel {
             return this;
         }
 
-        // derive getter name from key
-        String getterName = "get";
-        getterName += Character.toUpperCase(key.charAt(0));
-        getterName += key.substring(1);
-
         // find getter method
-        Method getterMethod = null;
-        for (Method m : contentNode.getClass().getMethods()) {
-            if (getterName.equals(m.getName())) {
-                if (m.getParameterCount() == 0) {
-                    getterMethod = m;
-                    break;
-                }
-            }
-        }
+        MethodCache.Invoker getter = MethodCache.of(contentNode.getClass()).getter(key);
 
         // invoke getter if found
-        if (getterMethod != null) {
+        if (getter != null) {
             try {
-                return objectWrapper.wrap(getterMethod.invoke(contentNode));
-            } catch (InvocationTargetException
-                    | SecurityException
-                    | IllegalAccessException
-                    | IllegalArgumentException ex) {
+                return objectWrapper.wrap(getter.invoke(contentNode));
+            } catch (TemplateModelException ex) {
+                throw ex;
+            } catch (Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
                 throw new TemplateModelException(String.format(
                         "Error during getter invocation: node=%s, methodname=%s",
                         contentNode,
-                        getterMethod.getName()),
+                        getter.method().getName()),
                         ex);
             }
         }
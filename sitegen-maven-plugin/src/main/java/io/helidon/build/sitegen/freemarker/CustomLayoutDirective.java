@@ -18,8 +18,8 @@ package io.helidon.build.sitegen.freemarker;
 
 import java.io.IOException;
 import java.io.StringWriter;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 import io.helidon.build.sitegen.Page;
 
@@ -38,7 +38,7 @@ import org.asciidoctor.ast.ContentNode;
  */
 public class CustomLayoutDirective implements TemplateDirectiveModel {
 
-    private final Map<String, String> mappings = new HashMap<>();
+    private final Map<String, String> mappings = new ConcurrentSkipListMap<>();
 
     @Override
     public void execute(Environment env,
@@ -16,11 +16,10 @@
 
 package io.helidon.build.sitegen.freemarker;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -28,16 +27,16 @@ import java.util.Map.Entry;
 import io.helidon.build.sitegen.AbstractBuilder;
 import io.helidon.build.sitegen.RenderingContext;
 import io.helidon.build.sitegen.RenderingException;
+import io.helidon.build.sitegen.RenderingMetrics;
 import io.helidon.build.sitegen.Site;
 import io.helidon.config.Config;
 
+import freemarker.cache.StrongCacheStorage;
 import freemarker.core.Environment;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
-import freemarker.template.TemplateDirectiveModel;
 import freemarker.template.TemplateException;
 import freemarker.template.TemplateExceptionHandler;
-import freemarker.template.TemplateNotFoundException;
 import freemarker.template.Version;
 import org.asciidoctor.ast.ContentNode;
 import org.slf4j.Logger;
@@ -65,6 +64,7 @@ public class FreemarkerEngine {
     private final Map<String, String> directives;
     private final Map<String, String> model;
     private final Configuration freemarker;
+    private final TemplateRegistry templates;
 
     /**
      * Create a new instance of {@link FreemarkerEngine}.
@@ -80,12 +80,25 @@ public class FreemarkerEngine {
         this.directives = directives == null ? Collections.emptyMap() : directives;
         this.model = model == null ? Collections.emptyMap() : model;
         freemarker = new Configuration(FREEMARKER_VERSION);
-        freemarker.setTemplateLoader(new TemplateLoader());
+        TemplateLoader templateLoader = new TemplateLoader();
+        freemarker.setTemplateLoader(templateLoader);
+        // the templates are bundled resources, parse them once and never
+        // check them for updates
+        freemarker.setCacheStorage(new StrongCacheStorage());
+        freemarker.setTemplateUpdateDelayMilliseconds(Long.MAX_VALUE);
+        freemarker.setLocalizedLookup(false);
         freemarker.setDefaultEncoding(DEFAULT_ENCODING);
         freemarker.setObjectWrapper(OBJECT_WRAPPER);
         freemarker.setTemplateExceptionHandler(
                 TemplateExceptionHandler.RETHROW_HANDLER);
         freemarker.setLogTemplateExceptions(false);
+        // stateless variables, shared by all the rendering invocations
+        freemarker.setSharedVariable("helper", new Helper(OBJECT_WRAPPER));
+        freemarker.setSharedVariable("passthroughfix", new PassthroughFixDirective());
+        for (String name : TemplateSession.DIRECTIVE_NAMES) {
+            freemarker.setSharedVariable(name, new SessionDirective(name));
+        }
+        templates = new TemplateRegistry(freemarker, templateLoader.templatesDir(), backend);
     }
 
     /**
@@ -120,11 +133,9 @@ public class FreemarkerEngine {
                            RenderingContext ctx)
             throws RenderingException {
 
-        String rendered = renderString(template, model, ctx.getTemplateSession());
         File target = new File(ctx.getOutputdir(), targetPath);
-        target.getParentFile().mkdirs();
-        try (FileWriter writer = new FileWriter(target)) {
-            writer.write(rendered);
+        try (Writer writer = ctx.getOutput().newWriter(targetPath)) {
+            render(template, model, ctx.getTemplateSession(), writer);
         } catch (IOException ex) {
             throw new RenderingException(
                     "error while writing rendered output to file", ex);
@@ -132,6 +143,20 @@ public class FreemarkerEngine {
         return target;
     }
 
+    /**
+     * Render a template to a writer.
+     *
+     * @param template the relative path of the template to render
+     * @param node the asciidoctor node to use as model for the template
+     * @param writer the writer to write the rendered output to
+     * @throws RenderingException if an error occurred
+     */
+    public void render(String template, ContentNode node, Writer writer)
+            throws RenderingException {
+
+        render(template, node, templateSession(node), writer);
+    }
+
     /**
      * Render a template.
      *
@@ -143,15 +168,17 @@ public class FreemarkerEngine {
     public String renderString(String template, ContentNode node)
             throws RenderingException {
 
+        return renderString(template, node, templateSession(node));
+    }
+
+    private static TemplateSession templateSession(ContentNode node) {
         Object session = node.getDocument().getAttribute("templateSession");
         checkNonNull(session, "document attribute 'templateSession'");
         if (!(session instanceof TemplateSession)) {
             throw new IllegalStateException(
                     "document attribute 'templateSession' is not valid");
         }
-        // TODO extract page, pages, templateSession
-        // and set them as variables
-        return renderString(template, node, (TemplateSession) session);
+        return (TemplateSession) session;
     }
 
     /**
@@ -179,29 +206,46 @@ public class FreemarkerEngine {
     public String renderString(String template, Object model, TemplateSession session)
             throws RenderingException {
 
+        StringWriter writer = new StringWriter();
+        render(template, model, session, writer);
+        return writer.toString();
+    }
+
+    /**
+     * Render a template to a writer.
+     *
+     * @param template the relative path of the template to render
+     * @param model the model for the template to use
+     * @param session the session to share the global variable across invocations
+     * @param writer the writer to write the rendered output to
+     * @throws RenderingException if an error occurred
+     */
+    public void render(String template, Object model, TemplateSession session, Writer writer)
+            throws RenderingException {
+
         String templatePath = backend + "/" + template;
         try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            Template tpl = freemarker.getTemplate(templatePath);
-            OutputStreamWriter writer = new OutputStreamWriter(baos);
+            Template tpl = templates.get(template);
+            if (tpl == null) {
+                // missing templates are reported once by the registry
+                return;
+            }
             LOGGER.debug("Applying template: {}", templatePath);
             Environment env = tpl.createProcessingEnvironment(model,
                     writer);
+            RenderingMetrics metrics = null;
             if (session != null) {
-                for (Entry<String, TemplateDirectiveModel> directive
-                        : session.getDirectives().entrySet()) {
-                    env.setVariable(directive.getKey(), directive.getValue());
-                }
+                // the session directives are resolved with this attribute
+                env.setCustomAttribute(SessionDirective.SESSION_ATTR, session);
+                metrics = session.getMetrics();
+            }
+            if (metrics != null) {
+                long start = System.nanoTime();
+                env.process();
+                metrics.template(template, System.nanoTime() - start, model instanceof ContentNode);
+            } else {
+                env.process();
             }
-            env.setVariable("helper", new Helper(OBJECT_WRAPPER));
-            env.setVariable("passthroughfix", new PassthroughFixDirective());
-            env.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
-            env.setLogTemplateExceptions(false);
-            env.process();
-            return baos.toString(DEFAULT_ENCODING);
-        } catch (TemplateNotFoundException ex) {
-            LOGGER.warn("Unable to find template: {}", templatePath);
-            return "";
         } catch (TemplateException | IOException ex) {
             throw new RenderingException(
                     "An error occurred during rendering of " + templatePath, ex);
@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.freemarker;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A per-class cache of the public methods used by the template models.
+ *
+ * The methods of a class are indexed by name once, the resolved methods are
+ * cached as {@link MethodHandle} adapted to a generic type so that they can be
+ * invoked with {@code invokeExact}. The cache is thread-safe.
+ *
+ * @author rgrecour
+ */
+final class MethodCache {
+
+    private static final ClassValue<MethodCache> CACHE = new ClassValue<MethodCache>() {
+        @Override
+        protected MethodCache computeValue(Class<?> type) {
+            return new MethodCache(type);
+        }
+    };
+
+    /**
+     * Marker for keys that do not resolve to a method.
+     */
+    private static final Invoker NOT_FOUND = new Invoker(null, null);
+
+    private final Class<?> type;
+    private final Map<String, List<Method>> methods;
+    private final Map<String, Invoker> getters = new ConcurrentHashMap<>();
+    private final Map<Signature, Invoker> invokers = new ConcurrentHashMap<>();
+
+    private MethodCache(Class<?> type) {
+        this.type = type;
+        Map<String, List<Method>> index = new HashMap<>();
+        for (Method m : type.getMethods()) {
+            index.computeIfAbsent(m.getName(), k -> new ArrayList<>()).add(m);
+        }
+        this.methods = index;
+    }
+
+    /**
+     * Get the method cache for the given class.
+     *
+     * @param type the class
+     * @return the method cache, never {@code null}
+     */
+    static MethodCache of(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    /**
+     * Test if the class has a public method with the given name.
+     *
+     * @param name the method name
+     * @return {@code true} if found, {@code false} otherwise
+     */
+    boolean hasMethod(String name) {
+        return methods.containsKey(name);
+    }
+
+    /**
+     * Get the getter for the given property key, i.e. the public method named
+     * {@code getKey} without parameters.
+     *
+     * @param key the property key
+     * @return the invoker, or {@code null} if not found
+     */
+    Invoker getter(String key) {
+        Invoker invoker = getters.computeIfAbsent(key, k -> {
+            String getterName = "get" + Character.toUpperCase(k.charAt(0)) + k.substring(1);
+            for (Method m : methods.getOrDefault(getterName, Collections.emptyList())) {
+                if (m.getParameterCount() == 0) {
+                    return new Invoker(m, handle(m));
+                }
+            }
+            return NOT_FOUND;
+        });
+        return invoker == NOT_FOUND ? null : invoker;
+    }
+
+    /**
+     * Get the method with the given name that matches the given argument
+     * types. A method with one more trailing array parameter also matches.
+     *
+     * @param name the method name
+     * @param argTypes the argument types, a {@code null} element matches any type
+     * @return the invoker, or {@code null} if not found
+     */
+    Invoker method(String name, Class<?>[] argTypes) {
+        Invoker invoker = invokers.computeIfAbsent(new Signature(name, argTypes), sig -> {
+            int numArgs = argTypes.length;
+            for (Method m : methods.getOrDefault(name, Collections.emptyList())) {
+                int paramsOffset = m.getParameterCount() - numArgs;
+                Class<?>[] mParameterTypes = m.getParameterTypes();
+                if (!(paramsOffset == 0
+                        || (paramsOffset == 1
+                        && mParameterTypes[numArgs].isArray()))) {
+                    // method params do not match
+                    // or has more more but the last param is not an array
+                    continue;
+                }
+                boolean paramsMatch = true;
+                for (int i = 0; i < numArgs; i++) {
+                    // treat null as a match
+                    if (argTypes[i] == null) {
+                        continue;
+                    }
+                    if (!mParameterTypes[i].isAssignableFrom(argTypes[i])) {
+                        paramsMatch = false;
+                        break;
+                    }
+                }
+                if (paramsMatch) {
+                    return new Invoker(m, handle(m));
+                }
+            }
+            return NOT_FOUND;
+        });
+        return invoker == NOT_FOUND ? null : invoker;
+    }
+
+    /**
+     * Create a method handle of type {@code (Object, Object[])Object} for the
+     * given method.
+     */
+    private MethodHandle handle(Method m) {
+        MethodHandle handle;
+        try {
+            handle = MethodHandles.publicLookup().unreflect(m);
+        } catch (IllegalAccessException ex) {
+            // public method of a non public class, look it up in the public
+            // super classes and interfaces
+            handle = publicHandle(type, m);
+            if (handle == null) {
+                return null;
+            }
+        }
+        handle = handle.asFixedArity();
+        if (Modifier.isStatic(m.getModifiers())) {
+            // ignore the target
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        return handle
+                .asType(handle.type().generic())
+                .asSpreader(Object[].class, m.getParameterCount());
+    }
+
+    private static MethodHandle publicHandle(Class<?> clazz, Method m) {
+        if (clazz == null) {
+            return null;
+        }
+        if (Modifier.isPublic(clazz.getModifiers())) {
+            try {
+                return MethodHandles.publicLookup().findVirtual(clazz, m.getName(),
+                        MethodType.methodType(m.getReturnType(), m.getParameterTypes()));
+            } catch (NoSuchMethodException | IllegalAccessException ex) {
+                // not declared by this type
+            }
+        }
+        for (Class<?> iface : clazz.getInterfaces()) {
+            MethodHandle handle = publicHandle(iface, m);
+            if (handle != null) {
+                return handle;
+            }
+        }
+        return publicHandle(clazz.getSuperclass(), m);
+    }
+
+    /**
+     * A resolved method.
+     */
+    static final class Invoker {
+
+        private static final Object[] NO_ARGS = new Object[0];
+
+        private final Method method;
+        private final MethodHandle handle;
+
+        private Invoker(Method method, MethodHandle handle) {
+            this.method = method;
+            this.handle = handle;
+        }
+
+        /**
+         * Get the resolved method.
+         *
+         * @return the method
+         */
+        Method method() {
+            return method;
+        }
+
+        /**
+         * Invoke the method.
+         *
+         * @param target the object to invoke the method on
+         * @param args the arguments
+         * @return the returned value
+         * @throws Throwable if an error occurs or if the method is not accessible
+         */
+        Object invoke(Object target, Object... args) throws Throwable {
+            if (handle == null) {
+                // not accessible, let reflection report the error
+                return method.invoke(target, args);
+            }
+            Object[] arguments = args == null ? NO_ARGS : args;
+            return (Object) handle.invokeExact(target, arguments);
+        }
+    }
+
+    /**
+     * Cache key for a method name and argument types.
+     */
+    private static final class Signature {
+
+        private final String name;
+        private final Class<?>[] argTypes;
+        private final int hashCode;
+
+        Signature(String name, Class<?>[] argTypes) {
+            this.name = name;
+            this.argTypes = argTypes.clone();
+            this.hashCode = 31 * name.hashCode() + Arrays.hashCode(argTypes);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Signature)) {
+                return false;
+            }
+            Signature other = (Signature) obj;
+            return name.equals(other.name) && Arrays.equals(argTypes, other.argTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -21,6 +21,7 @@ import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 import io.helidon.build.sitegen.Page;
 import io.helidon.build.sitegen.SearchEntry;
@@ -38,11 +39,19 @@ import org.asciidoctor.ast.StructuralNode;
 /**
  * A freemarker directive to accumulate entries for the search index.
  *
+ * The entries are grouped by page so that pages can be rendered concurrently,
+ * the accumulated entries are always returned ordered by page source path.
+ *
  * @author rgrecour
  */
 public class SearchIndexDirective implements TemplateDirectiveModel {
 
-    private final List<SearchEntry> entries = new ArrayList<>();
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(StringBuilder::new);
+    private static final int MAX_ENTITY_LENGTH = 10;
+    private static final String[] ENTITY_NAMES = {"amp", "lt", "gt", "quot", "apos", "nbsp"};
+    private static final char[] ENTITY_CHARS = {'&', '<', '>', '"', '\'', ' '};
+
+    private final Map<String, List<SearchEntry>> entries = new ConcurrentSkipListMap<>();
 
     @Override
     public void execute(Environment env,
@@ -91,19 +100,128 @@ public class SearchIndexDirective implements TemplateDirectiveModel {
         body.render(writer);
 
         SearchEntry entry = new SearchEntry(
-                page.getTargetPath(), stripHtmlMarkups(writer.toString()), title);
-        entries.add(entry);
+                page.getTargetPath(), stripHtmlMarkups(writer.getBuffer()), title);
+        entries.computeIfAbsent(page.getSourcePath(), k -> new ArrayList<>())
+                .add(entry);
     }
 
-    // TODO write a unit test for this
-    private static String stripHtmlMarkups(String content){
+    /**
+     * Strip the HTML markups of the given content in a single pass. The tags
+     * and the escaped new lines ({@code \n}) are removed, the common HTML
+     * entities are decoded and the white spaces are collapsed into a single
+     * space. A tag is replaced by a space.
+     *
+     * @param content the content to strip, may be {@code null}
+     * @return the stripped content, {@code null} if {@code content} is
+     * {@code null}
+     */
+    static String stripHtmlMarkups(CharSequence content) {
         if (content == null) {
             return null;
         }
-        return content
-                .replaceAll("\\<.*?\\>", " ")
-                .replaceAll("\\\\n", "")
-                .replaceAll("\\s+", " ");
+        StringBuilder sb = BUFFER.get();
+        sb.setLength(0);
+        int len = content.length();
+        boolean space = false;
+        for (int i = 0; i < len; i++) {
+            char c = content.charAt(i);
+            if (c == '<') {
+                int end = indexOf(content, '>', i + 1);
+                if (end > 0) {
+                    space = true;
+                    i = end;
+                    continue;
+                }
+            } else if (c == '\\' && i + 1 < len && content.charAt(i + 1) == 'n') {
+                i++;
+                continue;
+            } else if (c == '&') {
+                int end = indexOf(content, ';', i + 1);
+                if (end > 0 && end - i <= MAX_ENTITY_LENGTH) {
+                    int decoded = decodeEntity(content, i + 1, end);
+                    if (decoded >= 0) {
+                        i = end;
+                        if (Character.isWhitespace(decoded) || Character.isSpaceChar(decoded)) {
+                            space = true;
+                        } else {
+                            if (space) {
+                                sb.append(' ');
+                                space = false;
+                            }
+                            sb.appendCodePoint(decoded);
+                        }
+                        continue;
+                    }
+                }
+            }
+            if (Character.isWhitespace(c)) {
+                space = true;
+                continue;
+            }
+            if (space) {
+                sb.append(' ');
+                space = false;
+            }
+            sb.append(c);
+        }
+        if (space) {
+            sb.append(' ');
+        }
+        return sb.toString();
+    }
+
+    private static int indexOf(CharSequence content, char c, int from) {
+        for (int i = from; i < content.length(); i++) {
+            if (content.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Decode the entity between {@code start} and {@code end}.
+     *
+     * @return the decoded code point, or {@code -1} if the entity is unknown
+     * or invalid
+     */
+    private static int decodeEntity(CharSequence content, int start, int end) {
+        if (end - start > 1 && content.charAt(start) == '#') {
+            int radix = 10;
+            int i = start + 1;
+            if (content.charAt(i) == 'x' || content.charAt(i) == 'X') {
+                radix = 16;
+                i++;
+            }
+            if (i == end) {
+                return -1;
+            }
+            int codePoint = 0;
+            for (; i < end; i++) {
+                int digit = Character.digit(content.charAt(i), radix);
+                if (digit < 0) {
+                    return -1;
+                }
+                codePoint = codePoint * radix + digit;
+            }
+            return Character.isValidCodePoint(codePoint) ? codePoint : -1;
+        }
+        for (int n = 0; n < ENTITY_NAMES.length; n++) {
+            String name = ENTITY_NAMES[n];
+            if (name.length() == end - start && regionMatches(content, start, name)) {
+                return ENTITY_CHARS[n];
+            }
+        }
+        return -1;
+    }
+
+    private static boolean regionMatches(CharSequence content, int start, String str) {
+        for (int i = 0; i < str.length(); i++) {
+            if (content.charAt(start + i) != str.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -112,6 +230,32 @@ public class SearchIndexDirective implements TemplateDirectiveModel {
      * @return the list of search index entries.
      */
     public List<SearchEntry> getEntries() {
-        return entries;
+        List<SearchEntry> allEntries = new ArrayList<>();
+        for (List<SearchEntry> pageEntries : entries.values()) {
+            allEntries.addAll(pageEntries);
+        }
+        return allEntries;
+    }
+
+    /**
+     * Get the search index entries accumulated for a given page.
+     *
+     * @param sourcePath the source path of the page
+     * @return the list of search index entries, never {@code null}
+     */
+    public List<SearchEntry> getEntries(String sourcePath) {
+        List<SearchEntry> pageEntries = entries.get(sourcePath);
+        return pageEntries == null ? new ArrayList<>() : pageEntries;
+    }
+
+    /**
+     * Add search index entries for a given page.
+     *
+     * @param sourcePath the source path of the page
+     * @param pageEntries the entries to add
+     */
+    public void addEntries(String sourcePath, List<SearchEntry> pageEntries) {
+        entries.computeIfAbsent(sourcePath, k -> new ArrayList<>())
+                .addAll(pageEntries);
     }
 }
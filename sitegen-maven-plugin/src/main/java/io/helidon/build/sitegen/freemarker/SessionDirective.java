@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.sitegen.freemarker;
+
+import java.io.IOException;
+import java.util.Map;
+
+import freemarker.core.Environment;
+import freemarker.template.TemplateDirectiveBody;
+import freemarker.template.TemplateDirectiveModel;
+import freemarker.template.TemplateException;
+import freemarker.template.TemplateModel;
+import freemarker.template.TemplateModelException;
+
+/**
+ * A directive shared by all the rendering invocations of an engine that
+ * delegates to the directive of the {@link TemplateSession} of the current
+ * invocation.
+ *
+ * @author rgrecour
+ */
+final class SessionDirective implements TemplateDirectiveModel {
+
+    /**
+     * The name of the {@link Environment} custom attribute holding the
+     * {@link TemplateSession}.
+     */
+    static final String SESSION_ATTR = TemplateSession.class.getName();
+
+    private final String name;
+
+    /**
+     * Create a new session directive.
+     *
+     * @param name the name of the session directive to delegate to
+     */
+    SessionDirective(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public void execute(Environment env,
+            Map params, TemplateModel[] loopVars,
+            TemplateDirectiveBody body)
+            throws TemplateException, IOException {
+
+        Object session = env.getCustomAttribute(SESSION_ATTR);
+        if (!(session instanceof TemplateSession)) {
+            throw new TemplateModelException(
+                    "No template session for directive: " + name);
+        }
+        TemplateDirectiveModel directive = ((TemplateSession) session).getDirectives().get(name);
+        if (directive == null) {
+            throw new TemplateModelException(
+                    "Unknown session directive: " + name);
+        }
+        directive.execute(env, params, loopVars, body);
+    }
+}
@@ -17,7 +17,6 @@
 package io.helidon.build.sitegen.freemarker;
 
 import java.lang.reflect.Array;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.List;
 import java.util.Objects;
@@ -65,12 +64,7 @@ public class SimpleMethodModel implements TemplateMethodModelEx {
      * otherwise.
      */
     public static boolean hasMethodWithName(Object object, String methodName){
-        for (Method m : object.getClass().getMethods()) {
-            if (m.getName().equals(methodName)) {
-                return true;
-            }
-        }
-        return false;
+        return MethodCache.of(object.getClass()).hasMethod(methodName);
     }
 
     @Override
@@ -97,48 +91,11 @@ public class SimpleMethodModel implements TemplateMethodModelEx {
         }
 
         // find a method with matching parameters
-        Method method = null;
-        for (Method m : object.getClass().getMethods()) {
-            if (methodName.equals(m.getName())) {
-                int paramsOffset = m.getParameterCount() - numArgs;
-                Class<?>[] mParameterTypes = m.getParameterTypes();
-                if (!(paramsOffset == 0
-                   || (paramsOffset == 1
-                        && mParameterTypes[numArgs].isArray()))) {
-                    // method params do not match
-                    // or has more more but the last param is not an array
-                    continue;
-                }
-                boolean paramsMatch = true;
-                for (int i = 0; i < numArgs; i++) {
-                    // treat null as a match
-                    if (parameterTypes[i] == null) {
-                        continue;
-                    }
-                    if (!mParameterTypes[i].isAssignableFrom(parameterTypes[i])) {
-                        paramsMatch = false;
-                        break;
-                    }
-                }
-                if (paramsMatch) {
-                    method = m;
-                    if (paramsOffset == 1) {
-                        // varargs, put an empty array of the right type
-                        // as last parameter
-                        Object[] newParameters = new Object[numArgs + 1];
-                        System.arraycopy(parameters, 0, newParameters, 0,
-                                numArgs);
-                        newParameters[numArgs] = Array.newInstance(
-                                m.getParameterTypes()[numArgs], 0);
-                        parameters = newParameters;
-                    }
-                    break;
-                }
-            }
-        }
+        MethodCache.Invoker invoker = MethodCache.of(object.getClass())
+                .method(methodName, parameterTypes);
 
         // throw an exception if no method found
-        if (method == null) {
+        if (invoker == null) {
             throw new TemplateModelException(String.format(
                     "Unable to find method to invoke: object=%s, methodname=%s, parameters=%s",
                     object,
@@ -146,17 +103,30 @@ public class SimpleMethodModel implements TemplateMethodModelEx {
                     arguments));
         }
 
+        Method method = invoker.method();
+        if (method.getParameterCount() > numArgs) {
+            // varargs, put an empty array of the right type
+            // as last parameter
+            Object[] newParameters = new Object[numArgs + 1];
+            System.arraycopy(parameters, 0, newParameters, 0,
+                    numArgs);
+            newParameters[numArgs] = Array.newInstance(
+                    method.getParameterTypes()[numArgs].getComponentType(), 0);
+            parameters = newParameters;
+        }
+
         // invoke the method
         try {
-            Object value = method.invoke(object, parameters);
+            Object value = invoker.invoke(object, parameters);
             if (value == null) {
                 return null;
             }
             return objectWrapper.wrap(value);
-        } catch (SecurityException
-                | IllegalAccessException
-                | IllegalArgumentException
-                | InvocationTargetException ex) {
+        } catch (TemplateModelException ex) {
+            throw ex;
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
             throw new TemplateModelException(String.format(
                     "Error during method invocation: object=%s, method=%s",
                     object, methodName),
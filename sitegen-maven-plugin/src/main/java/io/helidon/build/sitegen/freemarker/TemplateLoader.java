@@ -36,7 +36,10 @@ public class TemplateLoader extends URLTemplateLoader {
 
     private static final String TEMPLATES_RESOURCE =
             "/helidon-sitegen-templates/";
-    private static final String TEMPLATE_FILE_EXT = ".ftl";
+    /**
+     * The template file extension.
+     */
+    static final String TEMPLATE_FILE_EXT = ".ftl";
 
     private final Path templatesDir;
 
@@ -55,6 +58,15 @@ public class TemplateLoader extends URLTemplateLoader {
         }
     }
 
+    /**
+     * Get the templates directory.
+     *
+     * @return the templates directory, never {@code null}
+     */
+    Path templatesDir() {
+        return templatesDir;
+    }
+
     @Override
     protected URL getURL(String name) {
         String tplName = name;
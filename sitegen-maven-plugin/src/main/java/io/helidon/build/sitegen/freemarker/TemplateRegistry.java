@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.sitegen.freemarker;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The templates of a backend, parsed once when the registry is created.
+ *
+ * All the templates located under the backend directory are parsed eagerly,
+ * the lookups are then served from memory. The names that do not match any
+ * template are remembered so that a missing template is reported only once.
+ *
+ * @author rgrecour
+ */
+final class TemplateRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TemplateRegistry.class);
+
+    private final Configuration freemarker;
+    private final String backend;
+    private final Set<String> names;
+    private final Map<String, Template> templates;
+    private final Set<String> missing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Create a new registry.
+     *
+     * @param freemarker the freemarker configuration used to parse the
+     * templates
+     * @param templatesDir the templates directory
+     * @param backend the backend name
+     */
+    TemplateRegistry(Configuration freemarker, Path templatesDir, String backend) {
+        this.freemarker = freemarker;
+        this.backend = backend;
+        this.names = Collections.unmodifiableSet(scan(templatesDir.resolve(backend)));
+        Map<String, Template> parsed = new HashMap<>();
+        for (String name : names) {
+            try {
+                parsed.put(name, freemarker.getTemplate(backend + "/" + name));
+            } catch (IOException ex) {
+                // reported when the template is used
+                LOGGER.debug("Unable to parse template: {}/{}", backend, name, ex);
+            }
+        }
+        this.templates = Collections.unmodifiableMap(parsed);
+        LOGGER.debug("Parsed {} template(s) for backend: {}", templates.size(), backend);
+    }
+
+    /**
+     * Scan the template names of a backend directory.
+     *
+     * @param dir the backend directory
+     * @return the template names, relative to the backend directory and
+     * without the template file extension
+     */
+    private static Set<String> scan(Path dir) {
+        if (!Files.isDirectory(dir)) {
+            return Collections.emptySet();
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            List<Path> templateFiles = files
+                    .filter(f -> f.getFileName() != null
+                            && f.getFileName().toString().endsWith(TemplateLoader.TEMPLATE_FILE_EXT)
+                            && Files.isRegularFile(f))
+                    .collect(Collectors.toList());
+            Set<String> names = new HashSet<>();
+            for (Path file : templateFiles) {
+                names.add(name(dir.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/")));
+            }
+            return names;
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to scan templates directory: " + dir, ex);
+        }
+    }
+
+    private static String name(String template) {
+        if (template.endsWith(TemplateLoader.TEMPLATE_FILE_EXT)) {
+            return template.substring(0, template.length() - TemplateLoader.TEMPLATE_FILE_EXT.length());
+        }
+        return template;
+    }
+
+    /**
+     * Get a template.
+     *
+     * @param template the relative path of the template, with or without
+     * the template file extension
+     * @return the template, or {@code null} if the backend has no such
+     * template
+     * @throws IOException if the template cannot be parsed
+     */
+    Template get(String template) throws IOException {
+        String name = name(template);
+        Template tpl = templates.get(name);
+        if (tpl != null) {
+            return tpl;
+        }
+        if (names.contains(name)) {
+            // failed to parse, throws the parsing error
+            return freemarker.getTemplate(backend + "/" + name);
+        }
+        if (missing.add(name)) {
+            LOGGER.warn("Unable to find template: {}/{}", backend, name);
+        }
+        return null;
+    }
+}
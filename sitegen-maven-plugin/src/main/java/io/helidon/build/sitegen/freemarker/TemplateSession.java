@@ -16,9 +16,14 @@
 
 package io.helidon.build.sitegen.freemarker;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import io.helidon.build.sitegen.RenderingMetrics;
+
 import freemarker.template.TemplateDirectiveModel;
 
 /**
@@ -32,7 +37,18 @@ import freemarker.template.TemplateDirectiveModel;
  */
 public class TemplateSession {
 
-    private final Map<String, TemplateDirectiveModel> directives = new HashMap<>();
+    private static final String SEARCH_INDEX_DIRECTIVE = "searchIndex";
+    private static final String VUE_BINDINGS_DIRECTIVE = "vueBindings";
+    private static final String CUSTOM_LAYOUT_DIRECTIVE = "customLayout";
+
+    /**
+     * The names of the directives of a session.
+     */
+    static final List<String> DIRECTIVE_NAMES = Collections.unmodifiableList(Arrays.asList(
+            SEARCH_INDEX_DIRECTIVE, VUE_BINDINGS_DIRECTIVE, CUSTOM_LAYOUT_DIRECTIVE));
+
+    private final Map<String, TemplateDirectiveModel> directives;
+    private final RenderingMetrics metrics;
     private final SearchIndexDirective searchIndexDirective = new SearchIndexDirective();
     private final VueBindingsDirective vueBindingsDirective = new VueBindingsDirective();
     private final CustomLayoutDirective customLayoutDirective = new CustomLayoutDirective();
@@ -41,20 +57,42 @@ public class TemplateSession {
      * Create a new TemplateSession instance.
      */
     public TemplateSession() {
-        directives.put("searchIndex", searchIndexDirective);
-        directives.put("vueBindings", vueBindingsDirective);
-        directives.put("customLayout", customLayoutDirective);
+        this(null);
+    }
+
+    /**
+     * Create a new TemplateSession instance.
+     *
+     * @param metrics the metrics updated by the template rendering
+     * invocations of this session, may be {@code null}
+     */
+    public TemplateSession(RenderingMetrics metrics) {
+        this.metrics = metrics;
+        Map<String, TemplateDirectiveModel> map = new HashMap<>();
+        map.put(SEARCH_INDEX_DIRECTIVE, searchIndexDirective);
+        map.put(VUE_BINDINGS_DIRECTIVE, vueBindingsDirective);
+        map.put(CUSTOM_LAYOUT_DIRECTIVE, customLayoutDirective);
+        directives = Collections.unmodifiableMap(map);
     }
 
     /**
      * Get the directives for this session.
      *
-     * @return the list of directive
+     * @return the directives indexed by name, unmodifiable
      */
     public Map<String, TemplateDirectiveModel> getDirectives() {
         return directives;
     }
 
+    /**
+     * Get the metrics of this session.
+     *
+     * @return the metrics, or {@code null} if metrics are not collected
+     */
+    public RenderingMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Get the search index directive of this session.
      *
@@ -22,15 +22,25 @@ import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import io.helidon.build.sitegen.asciidoctor.AsciidocExtensionRegistry;
+import io.helidon.build.sitegen.IncludeGraph;
+import io.helidon.build.sitegen.RenderingException;
+import io.helidon.build.sitegen.asciidoctor.AsciidoctorPool;
+import io.helidon.build.sitegen.asciidoctor.DocumentHeaderScanner;
+import io.helidon.build.sitegen.asciidoctor.IncludeRecorder;
 
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -44,7 +54,9 @@ import org.asciidoctor.SafeMode;
 import org.asciidoctor.ast.Document;
 import org.asciidoctor.log.LogHandler;
 import org.asciidoctor.log.LogRecord;
+import org.asciidoctor.log.Severity;
 
+import static io.helidon.build.sitegen.Helper.invokeAll;
 import static io.helidon.build.sitegen.maven.Constants.PROPERTY_PREFIX;
 
 /**
@@ -86,13 +98,37 @@ import static io.helidon.build.sitegen.maven.Constants.PROPERTY_PREFIX;
  * <td>glob expressions for .adoc files to skip</td>
  * </tr>
  *
+ * <tr>
+ * <td>threads</td>
+ * <td>number of files processed in parallel</td>
+ * </tr>
+ *
+ * <tr>
+ * <td>headerAttributes</td>
+ * <td>gather the document attributes from the document header only</td>
+ * </tr>
+ *
+ * <tr>
+ * <td>cacheAttributes</td>
+ * <td>cache the document attributes gathered by the preliminary processing</td>
+ * </tr>
+ *
  * </table>
+ * <p>
+ * The files included by each processed document are recorded in an
+ * {@link IncludeGraph} saved in the build directory, see
+ * {@link #includeGraphFile()}. The document attributes gathered by the
+ * preliminary processing are cached in the build directory, the preliminary
+ * processing is skipped for the documents that did not change, see
+ * {@link #attributesCacheFile()}.
  *
  */
 public abstract class AbstractAsciiDocMojo extends AbstractMojo {
 
     private static final String DEFAULT_SRC_DIR = "${project.basedir}";
     private static final String JRUBY_DEBUG_PROPERTY_NAME = "jruby.cli.verbose";
+    private static final String BACKEND_NAME = "simple";
+    private static final String CACHE_DIR = "sitegen";
 
     @Parameter(defaultValue = "${project}", readonly = true)
     private MavenProject project;
@@ -124,6 +160,37 @@ public abstract class AbstractAsciiDocMojo extends AbstractMojo {
     @Parameter(property = PROPERTY_PREFIX + "excludes")
     private String[] excludes;
 
+    /**
+     * Number of files processed in parallel, each thread uses its own pooled
+     * Asciidoctor runtime. Uses the number of available processors if
+     * {@code 0} or less.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "threads",
+            defaultValue = "1")
+    private int threads;
+
+    /**
+     * Gather the document attributes needed to resolve the includes from the
+     * document header only, instead of loading the full document. The
+     * attributes defined after the header are not available.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "headerAttributes",
+            defaultValue = "false")
+    private boolean headerAttributes;
+
+    /**
+     * Cache the document attributes gathered by the preliminary processing,
+     * the preliminary processing is skipped if the document, the files it
+     * includes and the project properties are unchanged.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "cacheAttributes",
+            defaultValue = "false")
+    private boolean cacheAttributes;
+
+    private IncludeGraph includeGraph;
+    private DocumentAttributesCache attributesCache;
+    private Map<String, Object> projectProperties;
+
     /**
      * @return the Maven project for this mojo
      */
@@ -131,6 +198,61 @@ public abstract class AbstractAsciiDocMojo extends AbstractMojo {
         return project;
     }
 
+    /**
+     * Get the file where the include graph of the processed documents is
+     * saved.
+     *
+     * @return the include graph file
+     */
+    File includeGraphFile() {
+        return cacheFile("includes.ser");
+    }
+
+    /**
+     * Get the file where the document attributes cache is saved.
+     *
+     * @return the attributes cache file
+     */
+    File attributesCacheFile() {
+        return cacheFile("attributes.ser");
+    }
+
+    /**
+     * Get a file in the build directory used to persist state between the
+     * executions of this goal.
+     *
+     * @param name the file name, prefixed with the output type
+     * @return the file
+     */
+    File cacheFile(String name) {
+        return new File(new File(project.getBuild().getDirectory(), CACHE_DIR),
+                outputType() + "-" + name);
+    }
+
+    /**
+     * Get the settings that invalidate the persisted caches when changed,
+     * i.e. the project properties and the parameters of this goal.
+     *
+     * @return the settings
+     */
+    Map<String, Object> cacheSettings() {
+        Map<String, Object> settings = new HashMap<>(projectPropertiesMap(project));
+        settings.put(PROPERTY_PREFIX + "headerAttributes", headerAttributes);
+        settings.put(PROPERTY_PREFIX + "inputDirectory", inputDirectory.getAbsolutePath());
+        settings.put(PROPERTY_PREFIX + "outputDirectory",
+                outputDirectory == null ? "" : outputDirectory.getAbsolutePath());
+        return settings;
+    }
+
+    /**
+     * Get the include graph of the processed documents.
+     *
+     * @return the include graph, {@code null} if not executing
+     */
+    IncludeGraph includeGraph() {
+        return includeGraph;
+    }
+
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
         validateParams(inputDirectory, includes);
@@ -141,15 +263,49 @@ public abstract class AbstractAsciiDocMojo extends AbstractMojo {
             System.setProperty(JRUBY_DEBUG_PROPERTY_NAME, "true");
         }
 
-        AtomicBoolean isPrelim = new AtomicBoolean();
-        Asciidoctor asciiDoctor = createAsciiDoctor("simple", isPrelim);
+        includeGraph = IncludeGraph.load(includeGraphFile());
+        projectProperties = projectPropertiesMap(project);
+        if (cacheAttributes) {
+            attributesCache = DocumentAttributesCache.load(attributesCacheFile(), cacheSettings());
+        } else {
+            attributesCache = null;
+        }
+        FileLogHandler logHandler = new FileLogHandler();
         try {
-            for (Path p : inputs(inputDirectory.toPath(), includes, excludes)) {
-                processFile(asciiDoctor, inputDirectory.toPath(), p, isPrelim);
+            Collection<Path> inputs = inputs(inputDirectory.toPath(), includes, excludes);
+            int nThreads = Math.min(
+                    threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+                    Math.max(1, inputs.size()));
+            AsciidoctorPool pool = AsciidoctorPool.get(BACKEND_NAME, Collections.emptyList(), nThreads);
+            List<Callable<MojoFailureException>> tasks = new ArrayList<>(inputs.size());
+            for (Path p : inputs) {
+                tasks.add(() -> processFile(pool, logHandler, inputDirectory.toPath(), p));
+            }
+            List<MojoFailureException> failures = new ArrayList<>();
+            for (MojoFailureException failure : invokeAll(outputType(), nThreads, tasks)) {
+                if (failure != null) {
+                    failures.add(failure);
+                }
+            }
+            includeGraph.save(includeGraphFile());
+            if (attributesCache != null) {
+                attributesCache.save(attributesCacheFile());
+            }
+            if (failures.size() == 1) {
+                throw failures.get(0);
+            } else if (!failures.isEmpty()) {
+                for (MojoFailureException failure : failures) {
+                    getLog().error(failure.getMessage());
+                }
+                throw new MojoFailureException(String.format(
+                        "%d files failed to process to format '%s'", failures.size(), outputType()));
             }
         } catch (IOException ex) {
             throw new MojoExecutionException("Error collecting inputs", ex);
+        } catch (RenderingException ex) {
+            throw new MojoExecutionException(ex.getMessage(), ex);
         } finally {
+            logHandler.unregisterAll();
             if (getLog().isDebugEnabled()) {
                 if (previousJRubyCliVerboseValue == null) {
                     System.clearProperty(JRUBY_DEBUG_PROPERTY_NAME);
@@ -196,6 +352,55 @@ public abstract class AbstractAsciiDocMojo extends AbstractMojo {
     void postProcessFile(Path adocFilePath, Path outputPath) throws
             IOException, MojoFailureException, MojoExecutionException {}
 
+    /**
+     * Tests if the processing of a file can be skipped.
+     *
+     * @param adocFilePath path to the AsciiDoc input file
+     * @param outputPath path to the AsciiDoc output file
+     * @return {@code true} if the file does not need to be processed
+     * @throws IOException in case of I/O errors working with the files
+     */
+    boolean isUpToDate(Path adocFilePath, Path outputPath) throws IOException {
+        return false;
+    }
+
+    /**
+     * Processes the AsciiDoctor file using a pooled Asciidoctor runtime, the
+     * messages logged by Asciidoctor are logged once the file is processed.
+     *
+     * @param pool the pool of Asciidoctor runtimes
+     * @param logHandler the log handler routing the messages to the file
+     * @param inputDirectory Path for the directory where the input file resides
+     * @param adocFilePath Full Path for the input file
+     * @return the user-correctable error found by the post-processing, or
+     * {@code null}
+     * @throws IOException in case of I/O errors working with the files
+     * @throws MojoExecutionException in case the post-processing encounters a system error
+     */
+    private MojoFailureException processFile(
+            AsciidoctorPool pool,
+            FileLogHandler logHandler,
+            Path inputDirectory,
+            Path adocFilePath) throws IOException, MojoExecutionException {
+
+        Path outputPath = outputDirectory.toPath().resolve(inputDirectory.relativize(adocFilePath));
+        if (isUpToDate(adocFilePath, outputPath)) {
+            getLog().info(String.format("%s is up-to-date", adocFilePath.toString()));
+            return null;
+        }
+        FileLog fileLog = logHandler.begin(adocFilePath);
+        try (AsciidoctorPool.Lease lease = pool.acquire()) {
+            Asciidoctor asciiDoctor = lease.asciidoctor();
+            logHandler.register(asciiDoctor);
+            processFile(asciiDoctor, inputDirectory, adocFilePath, fileLog);
+            return null;
+        } catch (MojoFailureException ex) {
+            return ex;
+        } finally {
+            logHandler.end(fileLog);
+        }
+    }
+
     /**
      * Processes the AsciiDoctor file using a previously-created Asciidoctor
      * instance.
@@ -203,15 +408,16 @@ public abstract class AbstractAsciiDocMojo extends AbstractMojo {
      * @param asciiDoctor Asciidoctor instance (reusable for multiple files)
      * @param inputDirectory Path for the directory where the input file resides
      * @param adocFilePath Full Path for the input file
+     * @param fileLog the log of the file
      * @throws IOException in case of I/O errors working with the files
      * @throws MojoFailureException in case the post-processing finds a user-correctable error
      * @throws MojoExecutionException in case the post-processing encounters a system error
      */
-    void processFile(
+    private void processFile(
             Asciidoctor asciiDoctor,
             Path inputDirectory,
             Path adocFilePath,
-            AtomicBoolean isPrelim) throws IOException, MojoFailureException, MojoExecutionException {
+            FileLog fileLog) throws IOException, MojoFailureException, MojoExecutionException {
 
         Path relativeInputPath = inputDirectory.relativize(adocFilePath);
         Path outputPath = outputDirectory.toPath().resolve(relativeInputPath);
@@ -225,27 +431,37 @@ public abstract class AbstractAsciiDocMojo extends AbstractMojo {
          * Process the document once, suppressing the preprocessing,
          * to gather attributes that might be needed to resolve include
          * references during the second, real AsciiDoctor processing.
+         * The attributes are cached, the preliminary processing is skipped
+         * if the document and the files it includes did not change.
          */
-        Map<String, Object> attributes = projectPropertiesMap(project);
-        isPrelim.set(true);
-        Document doc = asciiDoctor.loadFile(adocFilePath.toFile(),
-                asciiDoctorOptions(
-                        attributes,
-                        relativeInputPath,
-                        outputDirectory,
-                        inputDirectory.toAbsolutePath(),
-                        false));
-
-        attributes.putAll(doc.getAttributes());
-
-        isPrelim.set(false);
-        asciiDoctor.loadFile(adocFilePath.toFile(),
-                asciiDoctorOptions(
-                        attributes,
-                        relativeInputPath,
-                        outputDirectory,
-                        inputDirectory.toAbsolutePath(),
-                        true));
+        Map<String, Object> attributes = new HashMap<>(projectProperties);
+        Map<String, Object> docAttributes = null;
+        if (attributesCache != null) {
+            docAttributes = attributesCache.get(adocFilePath, includeGraph);
+        }
+        boolean cached = docAttributes != null;
+        if (cached) {
+            getLog().debug(String.format("using the cached attributes of %s", adocFilePath));
+        } else {
+            fileLog.prelim = true;
+            docAttributes = prelimAttributes(asciiDoctor, inputDirectory, adocFilePath, attributes);
+        }
+        attributes.putAll(docAttributes);
+
+        fileLog.prelim = false;
+        // record the includes resolved by asciidoctor in the include graph
+        try (IncludeRecorder.Recording recording = IncludeRecorder.start(includeGraph)) {
+            asciiDoctor.loadFile(adocFilePath.toFile(),
+                    asciiDoctorOptions(
+                            attributes,
+                            relativeInputPath,
+                            outputDirectory,
+                            inputDirectory.toAbsolutePath(),
+                            true));
+        }
+        if (attributesCache != null && !cached) {
+            attributesCache.put(adocFilePath, includeGraph, docAttributes);
+        }
         /*
          * We do not need to convert the document because the
          * preprocessor has written the updated version of the .adoc
@@ -256,6 +472,44 @@ public abstract class AbstractAsciiDocMojo extends AbstractMojo {
         postProcessFile(adocFilePath, outputPath);
 
     }
+
+    /**
+     * Gathers the attributes of a document, either by loading the document
+     * with the preprocessing suppressed, or by reading its header only.
+     *
+     * @param asciiDoctor Asciidoctor instance (reusable for multiple files)
+     * @param inputDirectory Path for the directory where the input file resides
+     * @param adocFilePath Full Path for the input file
+     * @param attributes the project attributes
+     * @return the document attributes
+     * @throws IOException in case of I/O errors reading the file
+     */
+    private Map<String, Object> prelimAttributes(
+            Asciidoctor asciiDoctor,
+            Path inputDirectory,
+            Path adocFilePath,
+            Map<String, Object> attributes) throws IOException {
+
+        if (headerAttributes) {
+            Map<String, Object> header = DocumentHeaderScanner.scan(adocFilePath.toFile());
+            if (header != null) {
+                header.remove("h1");
+                return header;
+            }
+        }
+        Map<String, Object> options = asciiDoctorOptions(
+                attributes,
+                inputDirectory.relativize(adocFilePath),
+                outputDirectory,
+                inputDirectory.toAbsolutePath(),
+                false);
+        if (headerAttributes) {
+            options.put("parse_header_only", true);
+        }
+        Document doc = asciiDoctor.loadFile(adocFilePath.toFile(), options);
+        return doc.getAttributes();
+    }
+
     /**
      * Creates a stream of PathMatchers, one for each glob.
      * @param inputDirectory Path within which the globs are applied
@@ -286,25 +540,76 @@ public abstract class AbstractAsciiDocMojo extends AbstractMojo {
         }
     }
 
-    private Asciidoctor createAsciiDoctor(String backendName, AtomicBoolean isPrelim) {
-        Asciidoctor asciiDoctor = Asciidoctor.Factory.create();
-        asciiDoctor.registerLogHandler(new SelectiveLogHandler(isPrelim));
-        new AsciidocExtensionRegistry(backendName).register(asciiDoctor);
-        return asciiDoctor;
+    /**
+     * The messages logged by Asciidoctor while processing a file.
+     */
+    private static final class FileLog {
+
+        private final Path file;
+        private final List<LogRecord> records = new ArrayList<>();
+        private boolean prelim;
+
+        private FileLog(Path file) {
+            this.file = file;
+        }
     }
 
-    private static class SelectiveLogHandler implements LogHandler {
+    /**
+     * Routes the messages logged by Asciidoctor to the file processed by the
+     * current thread. The messages of the preliminary processing are
+     * discarded, the other messages of a file are logged together once the
+     * file is processed.
+     */
+    private final class FileLogHandler implements LogHandler {
 
-        private final AtomicBoolean isPrelim;
+        private final ThreadLocal<FileLog> current = new ThreadLocal<>();
+        private final Set<Asciidoctor> runtimes = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        private FileLog begin(Path file) {
+            FileLog fileLog = new FileLog(file);
+            current.set(fileLog);
+            return fileLog;
+        }
 
-        private SelectiveLogHandler(AtomicBoolean isPrelim) {
-            this.isPrelim = isPrelim;
+        private void end(FileLog fileLog) {
+            current.remove();
+            if (fileLog.records.isEmpty()) {
+                return;
+            }
+            synchronized (this) {
+                for (LogRecord logRecord : fileLog.records) {
+                    String message = String.format("%s: %s", fileLog.file, logRecord.getMessage());
+                    Severity severity = logRecord.getSeverity();
+                    if (severity == Severity.ERROR || severity == Severity.FATAL) {
+                        getLog().error(message);
+                    } else if (severity == Severity.WARN) {
+                        getLog().warn(message);
+                    } else {
+                        getLog().info(message);
+                    }
+                }
+            }
+        }
+
+        private synchronized void register(Asciidoctor asciiDoctor) {
+            if (runtimes.add(asciiDoctor)) {
+                asciiDoctor.registerLogHandler(this);
+            }
+        }
+
+        private synchronized void unregisterAll() {
+            for (Asciidoctor asciiDoctor : runtimes) {
+                asciiDoctor.unregisterLogHandler(this);
+            }
+            runtimes.clear();
         }
 
         @Override
         public void log(LogRecord logRecord) {
-            if (!isPrelim.get()) {
-                System.err.println(logRecord.getMessage());
+            // records of other threads are routed by their own handler
+            FileLog fileLog = current.get();
+            if (fileLog != null && !fileLog.prelim) {
+                fileLog.records.add(logRecord);
             }
         }
     }
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.maven;
+
+import io.helidon.build.sitegen.asciidoctor.AsciidoctorPool;
+
+import org.apache.maven.AbstractMavenLifecycleParticipant;
+import org.apache.maven.execution.MavenSession;
+
+/**
+ * A Maven life-cycle participant that shuts down the pooled Asciidoctor
+ * runtimes at the end of the Maven session.
+ *
+ * This participant is active when the plugin is declared as an extension,
+ * otherwise the runtimes are kept until the plugin class-loader is discarded.
+ *
+ * @author rgrecour
+ */
+public class AsciidoctorPoolLifecycleParticipant extends AbstractMavenLifecycleParticipant {
+
+    @Override
+    public void afterSessionEnd(MavenSession session) {
+        AsciidoctorPool.removeAll();
+    }
+}
@@ -24,4 +24,6 @@ abstract class Constants {
     static final String PROPERTY_PREFIX = "sitegen.";
     static final String DEFAULT_SITE_OUTPUT_DIR = "${project.build.directory}/site";
     static final String DEFAULT_SITE_SOURCE_DIR = "${project.basedir}/src/main/site";
+    static final String DEFAULT_SITE_BUILD_MANIFEST = "${project.build.directory}/sitegen/build-manifest.ser";
+    static final String DEFAULT_SITE_METRICS_REPORT = "${project.build.directory}/sitegen/metrics.json";
 }
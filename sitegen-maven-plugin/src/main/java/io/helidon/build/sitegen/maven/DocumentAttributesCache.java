@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.sitegen.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.helidon.build.sitegen.IncludeGraph;
+
+import static io.helidon.build.sitegen.Helper.digest;
+
+/**
+ * A cache of the document attributes gathered by the preliminary processing
+ * of {@link AbstractAsciiDocMojo}.
+ *
+ * An entry is valid as long as the digest of the document and of all the
+ * files it includes is unchanged. The cache is discarded if the project
+ * properties or the settings of the preliminary processing have changed.
+ *
+ * @author rgrecour
+ */
+final class DocumentAttributesCache extends PersistedCache {
+
+    private static final long serialVersionUID = 1L;
+    private static final int VERSION = 1;
+
+    /*
+     * attributes computed by Asciidoctor for each load, not cached
+     */
+    private static final Set<String> VOLATILE_ATTRIBUTES = new HashSet<>(Arrays.asList(
+            "localdate", "localtime", "localdatetime", "localyear",
+            "docdate", "doctime", "docdatetime", "docyear"));
+
+    private final Map<String, Entry> entries;
+
+    private DocumentAttributesCache(String settingsDigest) {
+        super(VERSION, settingsDigest);
+        this.entries = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Get the cached attributes of a document.
+     *
+     * @param document the document
+     * @param includeGraph the include graph recorded for the document
+     * @return the attributes, or {@code null} if not cached or if the
+     * document or one of its included files has changed
+     * @throws IOException if an error occurs while reading the files
+     */
+    Map<String, Object> get(Path document, IncludeGraph includeGraph) throws IOException {
+        Path file = document.toAbsolutePath().normalize();
+        Entry entry = entries.get(file.toString());
+        if (entry == null || !includeGraph.contains(file)
+                || !entry.digest.equals(digest(file, includeGraph))) {
+            return null;
+        }
+        return new HashMap<>(entry.attributes);
+    }
+
+    /**
+     * Cache the attributes of a document. The attributes are not cached if a
+     * value cannot be persisted.
+     *
+     * @param document the document
+     * @param includeGraph the include graph recorded for the document
+     * @param attributes the attributes to cache
+     * @throws IOException if an error occurs while reading the files
+     */
+    void put(Path document, IncludeGraph includeGraph, Map<String, Object> attributes) throws IOException {
+        Path file = document.toAbsolutePath().normalize();
+        HashMap<String, Object> values = new HashMap<>();
+        for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+            Object value = attribute.getValue();
+            if (VOLATILE_ATTRIBUTES.contains(attribute.getKey())) {
+                continue;
+            }
+            if (!(value == null || value instanceof String || value instanceof Number || value instanceof Boolean)) {
+                entries.remove(file.toString());
+                return;
+            }
+            values.put(attribute.getKey(), value);
+        }
+        if (includeGraph.contains(file)) {
+            entries.put(file.toString(), new Entry(digest(file, includeGraph), values));
+        } else {
+            entries.remove(file.toString());
+        }
+    }
+
+    /**
+     * Load a cache from a file.
+     *
+     * @param file the file to load
+     * @param settings the project properties and the settings of the
+     * preliminary processing
+     * @return the loaded cache, or an empty cache if the file does not exist,
+     * cannot be read or was saved with different settings
+     */
+    static DocumentAttributesCache load(File file, Map<String, Object> settings) {
+        return load(file, DocumentAttributesCache.class, VERSION, settings, DocumentAttributesCache::new);
+    }
+
+    /**
+     * A cached entry.
+     */
+    private static final class Entry implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String digest;
+        private final HashMap<String, Object> attributes;
+
+        Entry(String digest, HashMap<String, Object> attributes) {
+            this.digest = digest;
+            this.attributes = attributes;
+        }
+    }
+}
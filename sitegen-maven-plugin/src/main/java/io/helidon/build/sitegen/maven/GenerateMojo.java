@@ -19,7 +19,10 @@ package io.helidon.build.sitegen.maven;
 import java.io.File;
 import java.util.Properties;
 
+import io.helidon.build.sitegen.AssetSync;
+import io.helidon.build.sitegen.FileOutput;
 import io.helidon.build.sitegen.RenderingException;
+import io.helidon.build.sitegen.RenderingMetrics;
 import io.helidon.build.sitegen.Site;
 
 import org.apache.maven.plugin.AbstractMojo;
@@ -30,6 +33,8 @@ import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 
+import static io.helidon.build.sitegen.maven.Constants.DEFAULT_SITE_BUILD_MANIFEST;
+import static io.helidon.build.sitegen.maven.Constants.DEFAULT_SITE_METRICS_REPORT;
 import static io.helidon.build.sitegen.maven.Constants.DEFAULT_SITE_OUTPUT_DIR;
 import static io.helidon.build.sitegen.maven.Constants.DEFAULT_SITE_SOURCE_DIR;
 import static io.helidon.build.sitegen.maven.Constants.PROPERTY_PREFIX;
@@ -77,6 +82,74 @@ public class GenerateMojo extends AbstractMojo {
             required = false)
     private boolean siteGenerateSkip;
 
+    /**
+     * Render the site pages in parallel.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "siteParallelRendering",
+            defaultValue = "false",
+            required = false)
+    private boolean siteParallelRendering;
+
+    /**
+     * Number of threads used to render the pages in parallel, uses the
+     * number of available processors if {@code 0} or less.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "siteRenderingThreads",
+            defaultValue = "0",
+            required = false)
+    private int siteRenderingThreads;
+
+    /**
+     * Only render the pages that have changed since the last invocation.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "siteIncremental",
+            defaultValue = "false",
+            required = false)
+    private boolean siteIncremental;
+
+    /**
+     * File used to record the state of the rendered pages for incremental
+     * rendering.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "siteBuildManifest",
+            defaultValue = DEFAULT_SITE_BUILD_MANIFEST,
+            required = false)
+    private File siteBuildManifest;
+
+    /**
+     * Strategy used to synchronize the static assets with the output
+     * directory, one of {@code COPY}, {@code UPDATE} or {@code LINK}.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "siteAssetSync",
+            defaultValue = "COPY",
+            required = false)
+    private AssetSync siteAssetSync;
+
+    /**
+     * Write a JSON report of the rendering metrics.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "siteMetricsReport",
+            defaultValue = "false",
+            required = false)
+    private boolean siteMetricsReport;
+
+    /**
+     * File where the JSON report of the rendering metrics is written.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "siteMetricsReportFile",
+            defaultValue = DEFAULT_SITE_METRICS_REPORT,
+            required = false)
+    private File siteMetricsReportFile;
+
+    /**
+     * Number of slowest pages and templates included in the rendering
+     * metrics summary and report.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "siteMetricsTop",
+            defaultValue = "10",
+            required = false)
+    private int siteMetricsTop;
+
     @SuppressWarnings("CanBeFinal")
     private Site site = null;
 
@@ -87,6 +160,35 @@ public class GenerateMojo extends AbstractMojo {
             return;
         }
 
+        site = createSite(siteIncremental ? siteBuildManifest : null);
+
+        RenderingMetrics metrics = new RenderingMetrics();
+        try {
+            site.generate(siteSourceDirectory, new FileOutput(siteOutputDirectory), null, metrics);
+            if (siteMetricsReport) {
+                for (String line : metrics.summary(siteMetricsTop)) {
+                    getLog().info(line);
+                }
+                metrics.writeJson(siteMetricsReportFile, siteMetricsTop);
+                getLog().info("Metrics report written to " + siteMetricsReportFile);
+            } else if (getLog().isDebugEnabled()) {
+                for (String line : metrics.summary(siteMetricsTop)) {
+                    getLog().debug(line);
+                }
+            }
+        } catch (RenderingException ex) {
+            throw new MojoExecutionException(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Create the site instance.
+     *
+     * @param buildManifest the build manifest file used for incremental
+     * rendering, or {@code null} to render all pages
+     * @return the created site
+     */
+    Site createSite(File buildManifest) {
         project.addCompileSourceRoot(siteSourceDirectory.getAbsolutePath());
 
         Properties properties = new Properties();
@@ -96,20 +198,53 @@ public class GenerateMojo extends AbstractMojo {
         properties.setProperty("project.version", project.getVersion());
         properties.setProperty("project.basedir", project.getBasedir().getAbsolutePath());
 
-        site = Site.builder()
+        Site.Builder siteBuilder = Site.builder()
                 .config(siteConfigFile, properties)
-                .build();
+                .assetSync(siteAssetSync);
+        if (siteParallelRendering) {
+            siteBuilder.renderingThreads(siteRenderingThreads);
+        }
+        if (buildManifest != null) {
+            siteBuilder.buildManifest(buildManifest);
+        }
 
         // enable jruby verbose mode on debugging
         if (getLog().isDebugEnabled()) {
             System.setProperty("jruby.cli.verbose", "true");
         }
+        return siteBuilder.build();
+    }
 
-        try {
-            site.generate(siteSourceDirectory, siteOutputDirectory);
-        } catch (RenderingException ex) {
-            throw new MojoExecutionException(ex.getMessage(), ex);
-        }
+    /**
+     * Indicate if the goal execution should be skipped.
+     * @return {@code true} if skipped
+     */
+    boolean isSkip() {
+        return siteGenerateSkip;
+    }
+
+    /**
+     * Get the directory containing the site sources.
+     * @return the source directory
+     */
+    File getSiteSourceDirectory() {
+        return siteSourceDirectory;
+    }
+
+    /**
+     * Get the build manifest file used for incremental rendering.
+     * @return the build manifest file
+     */
+    File getSiteBuildManifest() {
+        return siteBuildManifest;
+    }
+
+    /**
+     * Get the directory containing the generated site files.
+     * @return the output directory
+     */
+    File getSiteOutputDirectory() {
+        return siteOutputDirectory;
     }
 
     /**
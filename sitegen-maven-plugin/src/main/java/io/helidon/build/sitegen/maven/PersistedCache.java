@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.helidon.build.sitegen.maven;
+
+import java.io.File;
+import java.io.Serializable;
+import java.util.Map;
+import java.util.function.Function;
+
+import io.helidon.build.sitegen.RenderingException;
+
+import static io.helidon.build.sitegen.Helper.digest;
+import static io.helidon.build.sitegen.Helper.readObject;
+import static io.helidon.build.sitegen.Helper.writeObject;
+
+/**
+ * Base class of the caches persisted in the build directory by the AsciiDoc
+ * goals.
+ *
+ * A cache is saved with its version and with the digest of the settings it
+ * was computed with. It is discarded when loaded with a different version or
+ * with different settings.
+ *
+ * @author rgrecour
+ */
+abstract class PersistedCache implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int version;
+    private final String settingsDigest;
+
+    /**
+     * Create a new cache.
+     *
+     * @param version the version of the cache type
+     * @param settingsDigest the digest of the settings
+     */
+    PersistedCache(int version, String settingsDigest) {
+        this.version = version;
+        this.settingsDigest = settingsDigest;
+    }
+
+    /**
+     * Load a cache from a file.
+     *
+     * @param <T> the cache type
+     * @param file the file to load
+     * @param type the cache type
+     * @param version the current version of the cache type
+     * @param settings the settings of the cache
+     * @param factory the function that creates an empty cache for a settings
+     * digest
+     * @return the loaded cache, or an empty cache if the file does not exist,
+     * cannot be read or was saved with a different version or different
+     * settings
+     */
+    static <T extends PersistedCache> T load(File file,
+                                             Class<T> type,
+                                             int version,
+                                             Map<String, Object> settings,
+                                             Function<String, T> factory) {
+
+        String settingsDigest = digest(settings);
+        T cache = readObject(file, type);
+        if (cache != null) {
+            PersistedCache persisted = cache;
+            if (persisted.version == version && settingsDigest.equals(persisted.settingsDigest)) {
+                return cache;
+            }
+        }
+        return factory.apply(settingsDigest);
+    }
+
+    /**
+     * Save this cache to a file.
+     *
+     * @param file the file to write
+     * @throws RenderingException if an IO error occurs
+     */
+    void save(File file) {
+        writeObject(file, this);
+    }
+}
@@ -16,18 +16,19 @@
  */
 package io.helidon.build.sitegen.maven;
 
-import java.io.BufferedInputStream;
+import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import io.helidon.build.sitegen.Helper;
+import io.helidon.build.sitegen.RenderingException;
+
 import com.github.difflib.DiffUtils;
 import com.github.difflib.algorithm.DiffException;
 import com.github.difflib.patch.Delta;
@@ -58,6 +59,11 @@ import static io.helidon.build.sitegen.maven.Constants.PROPERTY_PREFIX;
  * </td>
  * </tr>
  * </table>
+ * <p>
+ * The documents that pass the check are recorded in the build directory with
+ * the digest of the document, of the files it includes and of its output, see
+ * {@link #checkCacheFile()}. The check of an unchanged document passes without
+ * processing it again.
  *
  */
 @Mojo(name = "preprocess-adoc",
@@ -75,6 +81,43 @@ public class PreprocessAsciiDocMojo extends AbstractAsciiDocMojo {
             defaultValue = "false")
     private boolean checkPreprocess;
 
+    private PreprocessCheckCache checkCache;
+
+    /**
+     * Get the file where the documents that passed the check are recorded.
+     *
+     * @return the check cache file
+     */
+    File checkCacheFile() {
+        return cacheFile("check.ser");
+    }
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (!checkPreprocess) {
+            super.execute();
+            return;
+        }
+        checkCache = PreprocessCheckCache.load(checkCacheFile(), cacheSettings());
+        try {
+            super.execute();
+        } finally {
+            try {
+                checkCache.save(checkCacheFile());
+            } catch (RenderingException ex) {
+                getLog().warn(ex.getMessage());
+            }
+            checkCache = null;
+        }
+    }
+
+    @Override
+    boolean isUpToDate(Path adocFilePath, Path outputPath) throws IOException {
+        return checkCache != null
+                && !adocFilePath.equals(outputPath)
+                && checkCache.isChecked(adocFilePath, outputPath, includeGraph());
+    }
+
     @Override
     void postProcessFile(Path adocFilePath, Path outputPath)
             throws IOException, MojoFailureException, MojoExecutionException {
@@ -96,15 +139,19 @@ public class PreprocessAsciiDocMojo extends AbstractAsciiDocMojo {
                                 + "input and output files are the same"));
         }
         try {
-            byte[] inputDigest = digest(pathA);
-            byte[] outputDigest = digest(pathB);
-            if (!Arrays.equals(inputDigest, outputDigest)) {
+            if (!sameContent(pathA, pathB)) {
+                if (checkCache != null) {
+                    checkCache.remove(pathA);
+                }
                 throw new MojoFailureException(String.format(
                         "file %s does not match its expected pre-processed form; "
                                 + "the commit might need an up-to-date file from running 'preprocess-adoc'%n%s ",
                         pathA.toString(),
                         formatDiffs(pathA, pathB)));
             }
+            if (checkCache != null) {
+                checkCache.checked(pathA, pathB, includeGraph());
+            }
         } catch (NoSuchAlgorithmException e) {
             throw new MojoExecutionException("error checking for matching input and output files", e);
         } catch (DiffException ex) {
@@ -116,14 +163,16 @@ public class PreprocessAsciiDocMojo extends AbstractAsciiDocMojo {
         }
     }
 
+    private boolean sameContent(Path pathA, Path pathB) throws IOException, NoSuchAlgorithmException {
+        if (Files.size(pathA) != Files.size(pathB)) {
+            return false;
+        }
+        return Arrays.equals(digest(pathA), digest(pathB));
+    }
+
     private byte[] digest(Path path) throws IOException, NoSuchAlgorithmException {
         MessageDigest md = MessageDigest.getInstance("MD5");
-
-        byte[] buffer = new byte[256];
-        try (InputStream is = new BufferedInputStream(Files.newInputStream(path));
-             DigestInputStream dis = new DigestInputStream(is, md)) {
-            while (dis.read(buffer) != -1) {}
-        }
+        Helper.update(md, path);
         return md.digest();
     }
 
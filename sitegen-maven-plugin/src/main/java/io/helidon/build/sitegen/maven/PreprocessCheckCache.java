@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.sitegen.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.helidon.build.sitegen.Helper;
+import io.helidon.build.sitegen.IncludeGraph;
+
+/**
+ * A cache of the documents that passed the check of
+ * {@link PreprocessAsciiDocMojo}.
+ *
+ * A document is recorded with the digest of the document, of all the files it
+ * includes and of its pre-processed output. The check of a document passes
+ * without processing it as long as this digest is unchanged. The cache is
+ * discarded if the project properties or the settings of the processing
+ * have changed.
+ *
+ * @author rgrecour
+ */
+final class PreprocessCheckCache extends PersistedCache {
+
+    private static final long serialVersionUID = 1L;
+    private static final int VERSION = 1;
+
+    private final Map<String, String> entries;
+
+    private PreprocessCheckCache(String settingsDigest) {
+        super(VERSION, settingsDigest);
+        this.entries = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Test if a document passed the check and did not change since.
+     *
+     * @param document the document
+     * @param output the pre-processed output of the document
+     * @param includeGraph the include graph recorded for the document
+     * @return {@code true} if the document passed the check and is unchanged,
+     * {@code false} otherwise
+     * @throws IOException if an error occurs while reading the files
+     */
+    boolean isChecked(Path document, Path output, IncludeGraph includeGraph) throws IOException {
+        Path file = document.toAbsolutePath().normalize();
+        String digest = entries.get(file.toString());
+        return digest != null
+                && includeGraph.contains(file)
+                && Files.isRegularFile(output)
+                && digest.equals(digest(file, output, includeGraph));
+    }
+
+    /**
+     * Record a document that passed the check. The document is not recorded
+     * if its includes are not recorded in the include graph.
+     *
+     * @param document the document
+     * @param output the pre-processed output of the document
+     * @param includeGraph the include graph recorded for the document
+     * @throws IOException if an error occurs while reading the files
+     */
+    void checked(Path document, Path output, IncludeGraph includeGraph) throws IOException {
+        Path file = document.toAbsolutePath().normalize();
+        if (includeGraph.contains(file)) {
+            entries.put(file.toString(), digest(file, output, includeGraph));
+        } else {
+            entries.remove(file.toString());
+        }
+    }
+
+    /**
+     * Remove a document.
+     *
+     * @param document the document
+     */
+    void remove(Path document) {
+        entries.remove(document.toAbsolutePath().normalize().toString());
+    }
+
+    private static String digest(Path file, Path output, IncludeGraph includeGraph) throws IOException {
+        String digest = Helper.digest(file, includeGraph);
+        Path outputFile = output.toAbsolutePath().normalize();
+        if (outputFile.equals(file)) {
+            return digest;
+        }
+        return digest + ":" + Helper.digest(outputFile, new IncludeGraph());
+    }
+
+    /**
+     * Load a cache from a file.
+     *
+     * @param file the file to load
+     * @param settings the project properties and the settings of the
+     * processing
+     * @return the loaded cache, or an empty cache if the file does not exist,
+     * cannot be read or was saved with different settings
+     */
+    static PreprocessCheckCache load(File file, Map<String, Object> settings) {
+        return load(file, PreprocessCheckCache.class, VERSION, settings, PreprocessCheckCache::new);
+    }
+}
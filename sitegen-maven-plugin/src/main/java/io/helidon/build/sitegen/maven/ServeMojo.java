@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.sitegen.maven;
+
+import java.io.File;
+import java.io.IOException;
+
+import io.helidon.build.sitegen.MemoryOutput;
+import io.helidon.build.sitegen.Site;
+import io.helidon.build.sitegen.SiteServer;
+import io.helidon.build.sitegen.SiteWatcher;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import static io.helidon.build.sitegen.maven.Constants.PROPERTY_PREFIX;
+
+/**
+ * Goal that generates the site in memory and serves it with a local HTTP
+ * server. The site is re-generated when the site sources change, until the
+ * build is interrupted.
+ *
+ * The generated files are not written to the site output directory, use the
+ * {@code generate} goal to create the files to package.
+ *
+ * @author rgrecour
+ */
+@Mojo(name = "serve",
+      requiresProject = true)
+public class ServeMojo extends GenerateMojo {
+
+    private static final String BUILD_MANIFEST_NAME = "serve-manifest.ser";
+
+    /**
+     * Port of the local HTTP server.
+     */
+    @Parameter(property = PROPERTY_PREFIX + "siteServePort",
+            defaultValue = "8080",
+            required = false)
+    private int siteServePort;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (isSkip()) {
+            getLog().info("processing is skipped.");
+            return;
+        }
+
+        // not using the build manifest of the generate goal as it describes
+        // the files in the output directory
+        File buildManifest = new File(getSiteBuildManifest().getParentFile(), BUILD_MANIFEST_NAME);
+        buildManifest.delete();
+        Site site = createSite(buildManifest);
+        MemoryOutput output = new MemoryOutput(getSiteOutputDirectory());
+        try (SiteWatcher watcher = new SiteWatcher(site, getSiteSourceDirectory(), output, SiteWatcher.DEFAULT_QUIET_PERIOD);
+                SiteServer server = new SiteServer(output, siteServePort)) {
+            watcher.generate();
+            server.start();
+            getLog().info("Serving site at http://localhost:" + server.port() + "/");
+            watcher.watch();
+        } catch (IOException ex) {
+            throw new MojoExecutionException(ex.getMessage(), ex);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.maven;
+
+import java.io.IOException;
+
+import io.helidon.build.sitegen.Site;
+import io.helidon.build.sitegen.SiteWatcher;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+
+/**
+ * Goal that generates the site files and re-generates them when the site
+ * sources change, until the build is interrupted.
+ *
+ * The pages are always rendered incrementally, only the pages whose source
+ * or included files have changed are rendered again. Changes to the site
+ * configuration file require to restart the goal.
+ *
+ * @author rgrecour
+ */
+@Mojo(name = "watch",
+      requiresProject = true)
+public class WatchMojo extends GenerateMojo {
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (isSkip()) {
+            getLog().info("processing is skipped.");
+            return;
+        }
+
+        Site site = createSite(getSiteBuildManifest());
+        try (SiteWatcher watcher = new SiteWatcher(site, getSiteSourceDirectory(), getSiteOutputDirectory())) {
+            watcher.generate();
+            watcher.watch();
+        } catch (IOException ex) {
+            throw new MojoExecutionException(ex.getMessage(), ex);
+        }
+    }
+}
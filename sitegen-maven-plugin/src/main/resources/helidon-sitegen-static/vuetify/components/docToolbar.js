@@ -14,7 +14,7 @@
  * limitations under the License.
  */
 
-/* global Vue, lunr, search_index, searchIndex */
+/* global Vue, searchIndex */
 
 window.allComponents['docToolbar'] = {
     init: function(){
@@ -104,14 +104,34 @@ window.allComponents['docToolbar'] = {
             other: "# matching documents"
         };
 
-        const truncate = (string, n) => {
-            let i = n;
-            if (string.length > i) {
-                while (string[i] !== " " && --i > 0)
-                    ;
-                return `${string.substring(0, i)}...`;
+        /* The tokenization of the build-time indexer, defined by the manifest */
+        const tokenizer = (manifest) => {
+            const separator = new RegExp(manifest.separator, "u");
+            const trim = new RegExp(`^${manifest.nonWord}|${manifest.nonWord}$`, "gu");
+            const stopWords = new Set(manifest.stopWords);
+            return (text) => text.toLowerCase()
+                    .split(separator)
+                    .map(term => term.replace(trim, ""))
+                    .filter(term => term.length > 0 && !stopWords.has(term));
+        };
+
+        const escapeRegExp = (string) => string.replace(/[.*+?^${}()|[\]\\]/g, "\\$&");
+
+        /* The indexed text is plain text with decoded entities */
+        const escapeHtml = (string) => string.replace(/[&<>"']/g, c => `&#${c.charCodeAt(0)};`);
+
+        /* Index of the first term greater or equal to the given prefix */
+        const lowerBound = (terms, prefix) => {
+            let low = 0;
+            let high = terms.length;
+            while (low < high) {
+                const mid = (low + high) >>> 1;
+                if (terms[mid] < prefix)
+                    low = mid + 1;
+                else
+                    high = mid;
             }
-            return string;
+            return low;
         };
 
         Vue.component('docToolbar', {
@@ -120,7 +140,7 @@ window.allComponents['docToolbar'] = {
                 return{
                     results: [],
                     values_: null,
-                    index_: null,
+                    tokenize_: null,
                     searchMeta: messages.placeholder,
                     search: ''
                 };
@@ -128,8 +148,8 @@ window.allComponents['docToolbar'] = {
 
             watch: {
                 search(val) {
-                    /* Abort early, if index is not build or input hasn't changed */
-                    if (!this.index_ || val === this.value_)
+                    /* Abort early, if input hasn't changed */
+                    if (val === this.value_)
                         return;
 
                     this.value_ = val;
@@ -141,80 +161,83 @@ window.allComponents['docToolbar'] = {
                         return;
                     }
 
-                    /* Perform search on index and group sections by document */
-                    const result = this.index_
-
-                            /* Append trailing wildcard to all terms for prefix querying */
-                            .query(query => {
-                                this.value_.toLowerCase().split(" ")
-                                        .filter(Boolean)
-                                        .forEach(term => {
-                                            query.term(term, {wildcard: lunr.Query.wildcard.LEADING | lunr.Query.wildcard.TRAILING});
-                                        });
-                            })
-
-                            /* Process query results */
-                            .reduce((items, item) => {
-                                const doc = this.docs_.get(item.ref);
-                                //if (doc.parent) {
-                                //  const ref = doc.parent.location
-                                //  items.set(ref, (items.get(ref) || []).concat(item))
-                                //} else {
-                                const ref = doc.location;
-                                items.set(ref, (items.get(ref) || []));
-                                //}
-                                return items;
-                            }, new Map);
+                    /* Fetch the documents and the shards of the query terms, on first use */
+                    const value = this.value_;
+                    searchIndex.manifest().then(manifest => {
+                        if (manifest.version !== 3)
+                            throw `unsupported search index version ${manifest.version}`;
+                        if (!this.tokenize_)
+                            this.tokenize_ = tokenizer(manifest);
+                        const queryTerms = this.tokenize_(value);
+                        const keys = Array.from(new Set(queryTerms.map(query => query.charAt(0))));
+                        return Promise.all([
+                            searchIndex.docs(manifest),
+                            Promise.all(keys.map(key => searchIndex.shard(manifest, key)))
+                        ]).then(([docs, shards]) => {
+                            /* Ignore the results of a stale query */
+                            if (value === this.value_) {
+                                const shardsByKey = {};
+                                keys.forEach((key, i) => shardsByKey[key] = shards[i]);
+                                this.showResults(manifest, docs, shardsByKey, queryTerms);
+                            }
+                        });
+                    }).catch(ex => {
+                        console.error("searchIndex error", ex);
+                    });
+                }
+            },
+            methods: {
+                showResults(manifest, docs, shardsByKey, queryTerms) {
+                    /* Score the documents of the terms starting with the query terms */
+                    const scores = new Map();
+                    queryTerms.forEach(query => {
+                        const shard = shardsByKey[query.charAt(0)];
+                        if (!shard)
+                            return;
+                        for (let i = lowerBound(shard.terms, query);
+                                i < shard.terms.length && shard.terms[i].startsWith(query); i++) {
+                            const postings = shard.postings[i];
+                            const idf = Math.log(1 + manifest.size / (postings.length / 2));
+                            let docId = 0;
+                            for (let j = 0; j < postings.length; j += 2) {
+                                docId += postings[j];
+                                scores.set(docId, (scores.get(docId) || 0) + postings[j + 1] * idf);
+                            }
+                        }
+                    });
+                    const result = Array.from(scores.entries())
+                            .sort((a, b) => b[1] - a[1])
+                            .map(score => score[0]);
 
-                    /* Assemble regular expressions for matching */
-                    const matches = [];
-                    this.value_.toLowerCase().split(" ")
-                            .filter(Boolean)
-                            .forEach(query => {
-                                matches.push(new RegExp(`(|${lunr.tokenizer.separator})(${query})`, "img"));
-                            });
+                    /* Assemble regular expression for matching */
+                    const match = new RegExp(queryTerms.map(escapeRegExp).join("|"), "ig");
 
-                    const highlight = (_, separator, token) =>
-                            `${separator}<em>${token}</em>`;
+                    const highlight = (string) => {
+                        let html = "";
+                        let last = 0;
+                        string.replace(match, (token, offset) => {
+                            html += `${escapeHtml(string.substring(last, offset))}<em>${escapeHtml(token)}</em>`;
+                            last = offset + token.length;
+                            return token;
+                        });
+                        return html + escapeHtml(string.substring(last));
+                    };
 
                     /* Reset stack and render results */
-                    this.results = [];
-                    result.forEach((items, ref) => {
-                        const doc = this.docs_.get(ref);
-
+                    this.results = result.map(docId => {
+                        const [location, title, text] = docs[docId];
                         const entry = {};
-
-                        /* render article */
                         entry.doc = {};
-                        entry.doc.location = doc.location;
-                        entry.doc.title = doc.title;
-                        entry.doc.h1 = doc.title;
-                        entry.doc.text = doc.text;
-                        matches.forEach(match => {
-                            entry.doc.h1 = entry.doc.h1.replace(match, highlight);
-                            entry.doc.text = entry.doc.text.replace(match, highlight);
-                        });
-
-                        /* render sections */
-                        entry.sections = items.map(item => {
-                            const section = this.docs_.get(item.ref);
-                            const sectionEntry = {};
-                            sectionEntry.location = section.location;
-                            sectionEntry.title = section.title;
-                            sectionEntry.h1 = section.title;
-                            sectionEntry.text = truncate(section.text, 400);
-                            matches.forEach(match => {
-                                sectionEntry.h1 = sectionEntry.h1.replace(match, highlight);
-                                sectionEntry.text = sectionEntry.text.replace(match, highlight);
-                            });
-                            return sectionEntry;
-                        });
-
-                        this.results.push(entry);
+                        entry.doc.location = location;
+                        entry.doc.title = title;
+                        entry.doc.h1 = highlight(title);
+                        entry.doc.text = highlight(text);
+                        entry.sections = [];
+                        return entry;
                     });
 
                     /* Update search metadata */
-                    switch (result.size) {
+                    switch (result.length) {
                         case 0:
                             this.searchMeta = messages.none;
                             break;
@@ -222,21 +245,8 @@ window.allComponents['docToolbar'] = {
                             this.searchMeta = messages.one;
                             break;
                         default:
-                            this.searchMeta = messages.other.replace("#", result.size);
+                            this.searchMeta = messages.other.replace("#", result.length);
                     }
-                }
-            },
-            mounted() {
-                this.init();
-            },
-            methods: {
-                init() {
-                    const _this = this;
-                    searchIndex.then(function (search_index) {
-                        _this.initDocSearch(search_index);
-                    }).catch(function (ex){
-                        console.error("searchIndex error", ex);
-                    });
                 },
                 setIsSearching(val) {
                     this.$refs.toolbar.isScrolling = !val;
@@ -249,62 +259,6 @@ window.allComponents['docToolbar'] = {
                         this.search = null;
                     }
                 },
-                initDocSearch(search_index) {
-                    /* Preprocess and index sections and documents */
-                    const data = search_index.docs;
-                    this.docs_ = data.reduce((docs, doc) => {
-                        const [path, hash] = doc.location.split("#");
-
-                        /* Associate section with parent document */
-                        if (hash) {
-                            doc.parent = docs.get(path);
-
-                            /* Override page title with document title if first section */
-                            if (doc.parent && !doc.parent.done) {
-                                doc.parent.title = doc.title;
-                                doc.parent.text = doc.text;
-                                doc.parent.done = true;
-                            }
-                        }
-
-                        /* Index sections and documents, but skip top-level headline */
-                        if (!doc.parent || doc.parent.title !== doc.title)
-                            docs.set(doc.location, doc);
-                        return docs;
-                    }, new Map);
-
-                    /* eslint-disable no-invalid-this */
-                    const docs = this.docs_,
-                            lang = this.lang_;
-
-                    /* Create stack and index */
-                    this.stack_ = [];
-                    this.index_ = lunr(function () {
-                        const filters = {
-                            "search.pipeline.trimmer": lunr.trimmer,
-                            "search.pipeline.stopwords": lunr.stopWordFilter
-                        };
-
-                        /* Disable stop words filter and trimmer, if desired */
-                        const pipeline = Object.keys(filters).reduce((result, name) => {
-                            result.push(filters[name]);
-                            return result;
-                        }, []);
-
-                        /* Remove stemmer, as it cripples search experience */
-                        this.pipeline.reset();
-                        if (pipeline)
-                            this.pipeline.add(...pipeline);
-
-                        /* Index fields */
-                        this.field("title", {boost: 10});
-                        this.field("text");
-                        this.ref("location");
-
-                        /* Index documents */
-                        docs.forEach(doc => this.add(doc));
-                    });
-                },
                 toggleSidebar() {
                     this.$store.commit('vuetify/SIDEBAR', !this.$store.state.sidebar);
                 }
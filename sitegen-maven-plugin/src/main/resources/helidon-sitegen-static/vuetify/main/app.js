@@ -18,15 +18,43 @@
 
 const config = createConfig();
 const navItems = createNav();
-const searchIndex = new Promise(function(resolve, reject){
-    superagent.get("main/search-index.json").end(function (error, response) {
-      if(error){
-        reject("unable to load search index: " + error);
-        return;
-      }
-      resolve(JSON.parse(response.text));
-    });
-});
+const searchIndex = createSearchIndex();
+
+/**
+ * Lazy loader for the search index files, nothing is fetched until the first
+ * search. The manifest references the documents file and one shard per first
+ * character of the indexed terms.
+ */
+function createSearchIndex() {
+    const files = {};
+    const load = function (path) {
+        if (!files[path]) {
+            files[path] = new Promise(function (resolve, reject) {
+                superagent.get(path).end(function (error, response) {
+                    if (error) {
+                        delete files[path];
+                        reject("unable to load search index: " + error);
+                        return;
+                    }
+                    resolve(JSON.parse(response.text));
+                });
+            });
+        }
+        return files[path];
+    };
+    return {
+        manifest: function () {
+            return load("main/search-index.json");
+        },
+        docs: function (manifest) {
+            return load(manifest.docs);
+        },
+        shard: function (manifest, key) {
+            const path = manifest.shards[key];
+            return path ? load(path) : Promise.resolve(null);
+        }
+    };
+}
 
 function main() {
 
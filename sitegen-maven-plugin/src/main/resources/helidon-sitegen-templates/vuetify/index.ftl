@@ -70,7 +70,6 @@
   <script src="https://unpkg.com/vue@2.5.13/dist/vue.js"></script>
   <script src="https://unpkg.com/vue-router@3.0.1/dist/vue-router.js"></script>
   <script src="https://unpkg.com/vuex@3.0.1/dist/vuex.js"></script>
-  <script src="https://unpkg.com/lunr@2.1.6/lunr.js"></script>
   <script src="https://cdnjs.cloudflare.com/ajax/libs/highlight.js/9.12.0/highlight.min.js"></script>
   <script src="libs/vuex-router-sync.js"></script>
 
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.sitegen.Helper.copyResources;
+import static io.helidon.build.sitegen.Helper.readObject;
+import static io.helidon.build.sitegen.Helper.toHex;
+import static io.helidon.build.sitegen.Helper.writeObject;
+import static io.helidon.build.sitegen.TestHelper.getFile;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link Helper}.
+ *
+ * @author rgrecour
+ */
+public class HelperTest {
+
+    private static final File OUTPUT_DIR = getFile("target/helper-test");
+
+    private static Path createResources(String name) throws IOException {
+        Path resources = OUTPUT_DIR.toPath().resolve(name);
+        Files.createDirectories(resources.resolve("images"));
+        Files.write(resources.resolve("images/logo.png"), "logo".getBytes());
+        Files.write(resources.resolve("index.css"), "body {}".getBytes());
+        return resources;
+    }
+
+    @Test
+    public void testCopyResourcesUpdate() throws IOException {
+        Path resources = createResources("update-src");
+        File outputdir = new File(OUTPUT_DIR, "update-out");
+        copyResources(resources, outputdir, AssetSync.UPDATE);
+        Path css = outputdir.toPath().resolve("index.css");
+        assertEquals("body {}", new String(Files.readAllBytes(css)));
+        assertEquals(Files.getLastModifiedTime(resources.resolve("index.css")).toMillis(),
+                Files.getLastModifiedTime(css).toMillis());
+
+        // same size and last modified time, not copied
+        Files.write(css, "xxxx {}".getBytes());
+        Files.setLastModifiedTime(css, Files.getLastModifiedTime(resources.resolve("index.css")));
+        copyResources(resources, outputdir, AssetSync.UPDATE);
+        assertEquals("xxxx {}", new String(Files.readAllBytes(css)));
+
+        // different last modified time, copied
+        Files.setLastModifiedTime(css, FileTime.fromMillis(0));
+        copyResources(resources, outputdir, AssetSync.UPDATE);
+        assertEquals("body {}", new String(Files.readAllBytes(css)));
+    }
+
+    @Test
+    public void testCopyResourcesLink() throws IOException {
+        Path resources = createResources("link-src");
+        File outputdir = new File(OUTPUT_DIR, "link-out");
+        Files.createDirectories(outputdir.toPath());
+        // a link left by a previous run would write through to the source
+        Files.deleteIfExists(outputdir.toPath().resolve("index.css"));
+        Files.write(outputdir.toPath().resolve("index.css"), "stale".getBytes());
+        copyResources(resources, outputdir, AssetSync.LINK);
+        Path logo = outputdir.toPath().resolve("images/logo.png");
+        Path css = outputdir.toPath().resolve("index.css");
+        assertEquals("logo", new String(Files.readAllBytes(logo)));
+        assertEquals("body {}", new String(Files.readAllBytes(css)));
+        assertTrue(Files.isSameFile(resources.resolve("images/logo.png"), logo));
+        assertTrue(Files.isSameFile(resources.resolve("index.css"), css));
+    }
+
+    @Test
+    public void testCopyResourcesCopy() throws IOException {
+        Path resources = createResources("copy-src");
+        File outputdir = new File(OUTPUT_DIR, "copy-out");
+        copyResources(resources, outputdir, AssetSync.COPY);
+        Path css = outputdir.toPath().resolve("index.css");
+        assertEquals("body {}", new String(Files.readAllBytes(css)));
+        assertFalse(Files.isSameFile(resources.resolve("index.css"), css));
+    }
+
+    @Test
+    public void testToHex() {
+        assertEquals("", toHex(new byte[0]));
+        assertEquals("00017f80ff", toHex(new byte[] {0, 1, 127, -128, -1}));
+    }
+
+    @Test
+    public void testReadWriteObject() throws IOException {
+        File file = new File(OUTPUT_DIR, "object/object.ser");
+        Files.deleteIfExists(file.toPath());
+        assertNull(readObject(file, String.class));
+        writeObject(file, "foo");
+        assertEquals("foo", readObject(file, String.class));
+        assertNull(readObject(file, Integer.class));
+        Files.write(file.toPath(), "corrupted".getBytes());
+        assertNull(readObject(file, String.class));
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.sitegen;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.sitegen.TestHelper.getFile;
+import static io.helidon.common.CollectionsHelper.listOf;
+import static io.helidon.common.CollectionsHelper.setOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link IncludeGraph}.
+ *
+ * @author rgrecour
+ */
+public class IncludeGraphTest {
+
+    private static final File TEST_DIR = getFile("target/include-graph-test");
+
+    private static Path path(String path) {
+        return TEST_DIR.toPath().resolve(path).toAbsolutePath().normalize();
+    }
+
+    @Test
+    public void testDependents() throws Exception {
+        IncludeGraph graph = new IncludeGraph();
+        Path page1 = path("page1.adoc");
+        Path page2 = path("page2.adoc");
+        Path part = path("_part.adoc");
+        Path sample = path("samples/Sample.java");
+        graph.put(page1, listOf(part));
+        graph.put(page2, listOf(sample));
+        graph.put(part, listOf(sample));
+        assertEquals(setOf(part, sample), graph.includes(page1));
+        assertEquals(setOf(page1, page2, part), graph.dependents(listOf(sample)));
+        assertEquals(setOf(page1), graph.dependents(listOf(part)));
+        assertEquals(Collections.emptySet(), graph.dependents(listOf(page2)));
+
+        // updated includes
+        graph.put(page2, Collections.emptyList());
+        assertEquals(setOf(page1, part), graph.dependents(listOf(sample)));
+        graph.remove(page1);
+        assertFalse(graph.contains(page1));
+        assertEquals(setOf(part), graph.dependents(listOf(sample)));
+    }
+
+    @Test
+    public void testCycle() throws Exception {
+        IncludeGraph graph = new IncludeGraph();
+        Path a = path("a.adoc");
+        Path b = path("b.adoc");
+        graph.put(a, listOf(b));
+        graph.put(b, listOf(a));
+        assertEquals(setOf(b), graph.includes(a));
+        assertEquals(setOf(b), graph.dependents(listOf(a)));
+    }
+
+    @Test
+    public void testSaveLoad() throws Exception {
+        IncludeGraph graph = new IncludeGraph();
+        Path page = path("page.adoc");
+        Path part = path("_part.adoc");
+        graph.put(page, listOf(part));
+        File file = new File(TEST_DIR, "includes.ser");
+        graph.save(file);
+        IncludeGraph loaded = IncludeGraph.load(file);
+        assertTrue(loaded.contains(page));
+        assertEquals(setOf(page), loaded.dependents(listOf(part)));
+        assertFalse(IncludeGraph.load(new File(TEST_DIR, "missing.ser")).contains(page));
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.sitegen.TestHelper.getFile;
+import static io.helidon.common.CollectionsHelper.listOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests {@link MemoryOutput}.
+ *
+ * @author rgrecour
+ */
+public class MemoryOutputTest {
+
+    private static final File TEST_DIR = getFile("target/memory-output-test");
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testRegeneration() throws IOException {
+        Path sourcedir = TEST_DIR.toPath().resolve("src");
+        Files.deleteIfExists(sourcedir.resolve("renamed.adoc"));
+        write(sourcedir.resolve("page.adoc"), "= Page\n\nPage content.\n");
+        write(sourcedir.resolve("other.adoc"), "= Other\n\nOther content.\n");
+        File manifest = new File(TEST_DIR, "build-manifest.ser");
+        manifest.delete();
+        Site site = Site.builder()
+                .pages(listOf(SourcePathFilter.builder()
+                        .includes(listOf("**/*.adoc"))
+                        .build()))
+                .buildManifest(manifest)
+                .build();
+        MemoryOutput output = new MemoryOutput(new File(TEST_DIR, "out"));
+        site.generate(sourcedir.toFile(), output);
+        assertNotNull(output.get("page.html"));
+        assertNotNull(output.get("other.html"));
+        MemoryOutput.Resource page = output.get("page.html");
+
+        // the up-to-date pages are not rendered again
+        site.generate(sourcedir.toFile(), output);
+        assertSame(page, output.get("page.html"), "up-to-date page should be kept");
+        assertNotNull(output.get("other.html"));
+
+        // rename the other page
+        Files.move(sourcedir.resolve("other.adoc"), sourcedir.resolve("renamed.adoc"));
+        site.generate(sourcedir.toFile(), output);
+        assertNotNull(output.get("page.html"));
+        assertNull(output.get("other.html"), "renamed page should be removed");
+        assertNotNull(output.get("renamed.html"));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.sitegen;
+
+import java.io.File;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.sitegen.TestHelper.getFile;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link RenderingMetrics}.
+ *
+ * @author rgrecour
+ */
+public class RenderingMetricsTest {
+
+    private static final File OUTPUT_DIR = getFile("target/rendering-metrics-test");
+
+    @Test
+    public void testSummary() throws Exception {
+        RenderingMetrics metrics = new RenderingMetrics();
+        metrics.phase(RenderingMetrics.RENDER, 3_000_000);
+        metrics.phase(RenderingMetrics.SCAN, 1_000_000);
+        metrics.phase(RenderingMetrics.RENDER, 2_000_000);
+        metrics.page("fast.adoc", 1_000_000);
+        metrics.page("slow.adoc", 4_000_000);
+        metrics.pageSkipped();
+        metrics.template("block_paragraph", 500_000, true);
+        metrics.template("block_paragraph", 1_500_000, true);
+        metrics.template("document", 4_000_000, true);
+        metrics.template("index", 100_000, false);
+        metrics.bytesWritten(42);
+
+        assertEquals(5_000_000, metrics.getPhaseNanos(RenderingMetrics.RENDER));
+        assertEquals(2, metrics.getRenderedPages());
+        assertEquals(1, metrics.getSkippedPages());
+        assertEquals(3, metrics.getRenderedNodes());
+        assertEquals(42, metrics.getBytesWritten());
+
+        List<String> summary = metrics.summary(1);
+        assertEquals(4, summary.size());
+        assertEquals("Phases: scan=1.000ms render=5.000ms", summary.get(0));
+        assertEquals("Rendered 2 page(s), skipped 1 page(s), rendered 3 node(s), wrote 42 byte(s)", summary.get(1));
+        assertEquals("Slow page: slow.adoc 4.000ms", summary.get(2));
+        assertEquals("Slow template: document 4.000ms (1 invocation(s), max 4.000ms)", summary.get(3));
+
+        String json = metrics.toJson(2);
+        assertTrue(json.contains("\"render\": 5.000"), json);
+        assertTrue(json.contains("{ \"template\": \"block_paragraph\", \"invocations\": 2, \"millis\": 2.000, "
+                + "\"maxMillis\": 1.500 }"), json);
+        assertTrue(json.contains("\"bytesWritten\": 42"), json);
+    }
+
+    @Test
+    public void testMeteredOutput() throws Exception {
+        RenderingMetrics metrics = new RenderingMetrics();
+        SiteOutput output = new MeteredOutput(new FileOutput(OUTPUT_DIR), metrics);
+        String content = "a\u00e9\u20ac\ud83d\ude00";
+        try (Writer writer = output.newWriter("metered.txt")) {
+            writer.write(content);
+        }
+        byte[] bytes = Files.readAllBytes(new File(OUTPUT_DIR, "metered.txt").toPath());
+        assertEquals(content.getBytes(StandardCharsets.UTF_8).length, bytes.length);
+        assertEquals(bytes.length, metrics.getBytesWritten());
+    }
+}
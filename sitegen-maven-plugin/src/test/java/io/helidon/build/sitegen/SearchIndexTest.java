@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.helidon.build.sitegen;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link SearchIndex}.
+ *
+ * @author rgrecour
+ */
+public class SearchIndexTest {
+
+    @Test
+    public void testTokenize() {
+        assertEquals(Arrays.asList("hello", "world", "config", "source", "helidon's"),
+                SearchIndex.tokenize("  Hello, (World)! the config-source \"Helidon's\" -- "));
+    }
+
+    @Test
+    public void testTokenizeNonAscii() throws Exception {
+        String text = "\u00dcber \u00abna\u00efve\u00bb caf\u00e9, \u6771\u4eac \u00bdx (\u0152UVRE) the-Stra\u00dfe";
+        List<String> expected = Arrays.asList(
+                "\u00fcber", "na\u00efve", "caf\u00e9", "\u6771\u4eac", "x", "\u0153uvre", "stra\u00dfe");
+        assertEquals(expected, SearchIndex.tokenize(text));
+
+        // the client tokenizes the queries with the definitions of the manifest
+        StringWriter writer = new StringWriter();
+        SearchIndex.create(new ArrayList<>()).writeManifest(writer, "search");
+        assertEquals(expected, clientTokenize(writer.toString(), text));
+    }
+
+    @Test
+    public void testSnippet() {
+        assertEquals("short", SearchIndex.snippet("short", 10));
+        assertEquals("foo bar...", SearchIndex.snippet("foo bar baz", 9));
+        assertEquals("https://hel...", SearchIndex.snippet("https://helidon.io/docs", 11));
+        assertEquals("\u6771\u4eac...", SearchIndex.snippet("\u6771\u4eac\u30bf\u30ef\u30fc", 2));
+    }
+
+    @Test
+    public void testPostings() {
+        SearchIndex index = SearchIndex.create(Arrays.asList(
+                new SearchEntry("/config", "", ""),
+                new SearchEntry("/config#intro", "Config sources and config files", "Config"),
+                new SearchEntry("/config#files", "Reading files", "Files"),
+                new SearchEntry("/webserver", "Routing config", "WebServer")));
+
+        // the first section is merged with the page
+        assertEquals(3, index.size());
+        assertEquals("/config", index.location(0));
+        assertEquals("/config#files", index.location(1));
+        assertEquals("/webserver", index.location(2));
+
+        assertArrayEquals(new int[]{0, SearchIndex.TITLE_BOOST + 2, 2, 1}, index.postings("config"));
+        assertArrayEquals(new int[]{0, 1, 1, SearchIndex.TITLE_BOOST + 1}, index.postings("files"));
+        assertNull(index.postings("and"));
+        assertEquals(Arrays.asList("config", "files", "reading", "routing", "sources", "webserver"),
+                Arrays.asList(index.terms().toArray()));
+    }
+
+    @Test
+    public void testWriteShards() throws Exception {
+        SearchIndex index = SearchIndex.create(Arrays.asList(
+                new SearchEntry("/a", "foo \"bar\" _baz", "A"),
+                new SearchEntry("/b", "foo", "B")));
+        assertEquals(Arrays.asList("_", "b", "f"), Arrays.asList(index.shards().toArray()));
+        assertEquals("u005f.json", SearchIndex.shardFile("_"));
+
+        StringWriter writer = new StringWriter();
+        index.writeManifest(writer, "search");
+        String json = writer.toString();
+        assertTrue(json.startsWith("{\"version\":3,\n\"size\":2,"), json);
+        assertTrue(json.contains("\"docs\":\"search/docs.json\""), json);
+        assertTrue(json.contains("\"f\":\"search/f.json\""), json);
+
+        writer = new StringWriter();
+        index.writeDocs(writer);
+        assertTrue(writer.toString().contains("[\"/a\",\"A\",\"foo \\\"bar\\\" _baz\"]"), writer.toString());
+
+        writer = new StringWriter();
+        index.writeShard(writer, "b");
+        json = writer.toString();
+        assertTrue(json.contains("\"terms\":[\"b\",\"bar\"]"), json);
+
+        // delta-encoded document ids
+        writer = new StringWriter();
+        index.writeShard(writer, "f");
+        assertEquals("{\"terms\":[\"foo\"],\n\"postings\":[[0,1,1,1]]}\n", writer.toString());
+    }
+
+    /**
+     * Replicate the client tokenization, with the definitions of the given
+     * manifest.
+     */
+    private static List<String> clientTokenize(String manifest, String text) {
+        String separator = jsonString(manifest, "separator");
+        String nonWord = jsonString(manifest, "nonWord");
+        Matcher matcher = Pattern.compile("\"stopWords\":\\[([^\\]]*)\\]").matcher(manifest);
+        assertTrue(matcher.find(), manifest);
+        Set<String> stopWords = new HashSet<>();
+        for (String stopWord : matcher.group(1).split(",")) {
+            stopWords.add(stopWord.substring(1, stopWord.length() - 1));
+        }
+        Pattern trim = Pattern.compile("^" + nonWord + "|" + nonWord + "$", Pattern.UNICODE_CHARACTER_CLASS);
+        List<String> terms = new ArrayList<>();
+        for (String token : Pattern.compile(separator, Pattern.UNICODE_CHARACTER_CLASS)
+                .split(text.toLowerCase(Locale.ENGLISH))) {
+            String term = trim.matcher(token).replaceAll("");
+            if (!term.isEmpty() && !stopWords.contains(term)) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    private static String jsonString(String json, String name) {
+        Matcher matcher = Pattern.compile("\"" + name + "\":\"((?:[^\"\\\\]|\\\\.)*)\"").matcher(json);
+        assertTrue(matcher.find(), json);
+        return matcher.group(1).replace("\\\\", "\\");
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.sitegen.TestHelper.getFile;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Tests {@link SiteServer}.
+ *
+ * @author rgrecour
+ */
+public class SiteServerTest {
+
+    private static String read(InputStream is) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        byte[] buf = new byte[1024];
+        int read;
+        while ((read = is.read(buf)) > 0) {
+            baos.write(buf, 0, read);
+        }
+        is.close();
+        return new String(baos.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testServe() throws IOException {
+        MemoryOutput output = new MemoryOutput(getFile("target/site-server-test"));
+        try (Writer writer = output.newWriter("index.html")) {
+            writer.write("<p>index</p>");
+        }
+        try (Writer writer = output.newWriter("main/config.js")) {
+            writer.write("var config = {};");
+        }
+        try (SiteServer server = new SiteServer(output, 0)) {
+            server.start();
+            String baseUri = "http://localhost:" + server.port();
+
+            HttpURLConnection conn = (HttpURLConnection) new URL(baseUri + "/").openConnection();
+            conn.setRequestProperty("Accept-Encoding", "gzip");
+            assertEquals(200, conn.getResponseCode());
+            assertEquals("text/html; charset=UTF-8", conn.getContentType());
+            assertEquals("gzip", conn.getContentEncoding());
+            assertEquals("<p>index</p>", read(new GZIPInputStream(conn.getInputStream())));
+            assertEquals("Accept-Encoding", conn.getHeaderField("Vary"));
+            String gzipETag = conn.getHeaderField("ETag");
+            assertEquals(output.get("index.html").getGzipETag(), gzipETag);
+
+            conn = (HttpURLConnection) new URL(baseUri + "/index.html").openConnection();
+            conn.setRequestProperty("Accept-Encoding", "gzip");
+            conn.setRequestProperty("If-None-Match", gzipETag);
+            assertEquals(304, conn.getResponseCode());
+            assertEquals("Accept-Encoding", conn.getHeaderField("Vary"));
+
+            // the identity representation has its own entity tag
+            conn = (HttpURLConnection) new URL(baseUri + "/index.html").openConnection();
+            conn.setRequestProperty("If-None-Match", gzipETag);
+            assertEquals(200, conn.getResponseCode());
+            assertEquals(output.get("index.html").getETag(), conn.getHeaderField("ETag"));
+            assertNotEquals(gzipETag, conn.getHeaderField("ETag"));
+            assertEquals("Accept-Encoding", conn.getHeaderField("Vary"));
+            assertEquals("<p>index</p>", read(conn.getInputStream()));
+
+            conn = (HttpURLConnection) new URL(baseUri + "/main/config.js").openConnection();
+            assertEquals(200, conn.getResponseCode());
+            assertEquals("Accept-Encoding", conn.getHeaderField("Vary"));
+            assertEquals("var config = {};", read(conn.getInputStream()));
+
+            conn = (HttpURLConnection) new URL(baseUri + "/missing.html").openConnection();
+            assertEquals(404, conn.getResponseCode());
+        }
+    }
+}
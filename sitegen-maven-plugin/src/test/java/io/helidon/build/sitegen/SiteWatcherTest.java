@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.sitegen.TestHelper.getFile;
+import static io.helidon.common.CollectionsHelper.listOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link SiteWatcher}.
+ *
+ * @author rgrecour
+ */
+public class SiteWatcherTest {
+
+    private static final File TEST_DIR = getFile("target/site-watcher-test");
+
+    private static void write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testIncludeChange() throws Exception {
+        Path sourcedir = TEST_DIR.toPath().resolve("src");
+        File outputdir = new File(TEST_DIR, "out");
+        write(sourcedir.resolve("page.adoc"), "= Page\n\ninclude::_part.adoc[]\n");
+        write(sourcedir.resolve("_part.adoc"), "Original content.\n");
+        Site site = Site.builder()
+                .pages(listOf(SourcePathFilter.builder()
+                        .includes(listOf("**/*.adoc"))
+                        .excludes(listOf("**/_*"))
+                        .build()))
+                .buildManifest(new File(TEST_DIR, "build-manifest.ser"))
+                .build();
+        try (SiteWatcher watcher = new SiteWatcher(site, sourcedir.toFile(), new FileOutput(outputdir), 10)) {
+            assertTrue(watcher.generate());
+            Path page = outputdir.toPath().resolve("page.html");
+            assertTrue(read(page).contains("Original content."));
+
+            write(sourcedir.resolve("_part.adoc"), "Updated content.\n");
+            assertTrue(watcher.awaitChanges());
+            assertTrue(watcher.generate());
+            assertTrue(read(page).contains("Updated content."));
+
+            // new directory is watched
+            write(sourcedir.resolve("sub/other.adoc"), "= Other\n\nOther content.\n");
+            assertTrue(watcher.awaitChanges());
+            write(sourcedir.resolve("sub/other.adoc"), "= Other\n\nOther updated content.\n");
+            assertTrue(watcher.awaitChanges());
+            assertTrue(watcher.generate());
+            assertTrue(read(outputdir.toPath().resolve("sub/other.html")).contains("Other updated content."));
+        }
+    }
+}
@@ -16,6 +16,10 @@
 
 package io.helidon.build.sitegen;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -23,6 +27,7 @@ import java.util.List;
 import org.junit.jupiter.api.Test;
 
 import static io.helidon.build.sitegen.SourcePath.wildcardMatch;
+import static io.helidon.build.sitegen.TestHelper.getFile;
 import static io.helidon.common.CollectionsHelper.listOf;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -160,6 +165,35 @@ public class SourcePathTest {
                 + "\n\ninstead of: \n" + printPaths(paths));
     }
 
+    @Test
+    public void testCompiledPatterns(){
+        SourcePath path = new SourcePath("abc/def/ghi/index.html");
+        assertEquals(true, path.matches(SourcePathPattern.compile("abc/**/*.html")), "abc/**/*.html");
+        assertEquals(true, path.matches(SourcePathPattern.compile("abc/d*f/g*/i*x.h*ml")), "abc/d*f/g*/i*x.h*ml");
+        assertEquals(false, path.matches(SourcePathPattern.compile("abc/def/ghi/index.html/foo")), "longer pattern");
+        assertEquals(false, path.matches(SourcePathPattern.compile("**/a*z")), "**/a*z");
+        assertEquals(false, path.matches(SourcePathPattern.compile("abc/**/abc")), "abc/**/abc");
+        assertEquals(true, path.matches(SourcePathPattern.compile("abc/**/ghi")), "abc/**/ghi");
+        assertEquals(false, new SourcePath("a").matches(SourcePathPattern.compile("a*a")), "a*a");
+        assertSame(SourcePathPattern.compile("**/*.html"), SourcePathPattern.compile("**/*.html"));
+    }
+
+    @Test
+    public void testSourcePathFilter(){
+        List<SourcePath> paths = new ArrayList<>();
+        paths.add(new SourcePath("abc/def/index.html"));
+        paths.add(new SourcePath("abc/index.html"));
+        paths.add(new SourcePath("abc/_foo.html"));
+        paths.add(new SourcePath("index.html"));
+
+        List<SourcePath> filtered = SourcePathFilter.builder()
+                .includes(listOf("abc/**", "**/*.html"))
+                .excludes(listOf("**/_*"))
+                .build()
+                .filter(paths);
+        assertEquals("/abc/def/index.html\n/abc/index.html\n/index.html", printPaths(filtered));
+    }
+
     private static void assertWildcardMatch(boolean expectedIsMatch,
                                             String segment,
                                             String pattern) {
@@ -231,4 +265,21 @@ public class SourcePathTest {
         assertWildcardMatch(true, "index.html", "i*x.h*ml");
         assertWildcardMatch(false, "index.html", "i*x.h*ml*a");
     }
+
+    @Test
+    public void testScan() throws IOException {
+        File dir = getFile("target/source-path-scan-test");
+        for (String path : listOf("index.adoc", "docs/a.adoc", "docs/b/c.adoc", "images/logo.png", "apidocs/x/y.html")) {
+            Path file = dir.toPath().resolve(path);
+            Files.createDirectories(file.getParent());
+            Files.write(file, new byte[0]);
+        }
+        assertEquals("/apidocs/x/y.html\n/docs/a.adoc\n/docs/b/c.adoc\n/images/logo.png\n/index.adoc",
+                printPaths(SourcePath.scan(dir)));
+        List<String> includes = listOf("*.adoc", "docs/**", "images/*.png");
+        assertEquals("/docs/a.adoc\n/docs/b/c.adoc\n/images/logo.png\n/index.adoc",
+                printPaths(SourcePath.scan(dir, SourcePathPattern.compile(includes))));
+        assertEquals("/docs/a.adoc\n/index.adoc",
+                printPaths(SourcePath.scan(dir, SourcePathPattern.compile(listOf("*.adoc", "docs/*.adoc")))));
+    }
 }
@@ -17,10 +17,17 @@
 package io.helidon.build.sitegen;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 
 import io.helidon.build.sitegen.asciidoctor.AsciidocEngine;
+import io.helidon.build.sitegen.asciidoctor.AsciidoctorPool;
 
 import org.junit.jupiter.api.Test;
 
@@ -164,4 +171,124 @@ public class VuetifyBackendTest {
         File homeCustom = new File(outputdir, "pages/home_custom.js");
         assertTrue(homeCustom.exists());
     }
+
+    @Test
+    public void testParallelRendering() throws Exception {
+        File sourcedir = getFile(SOURCE_DIR_PREFIX + "testvuetify1");
+        File serialdir = getFile("target/vuetify-backend-test/testparallel-serial");
+        File paralleldir = getFile("target/vuetify-backend-test/testparallel-parallel");
+
+        parallelRenderingSite(1).generate(sourcedir, serialdir);
+        // render the parallel site with new runtimes only
+        AsciidoctorPool.remove(VuetifyBackend.BACKEND_NAME, Collections.emptyList());
+        parallelRenderingSite(4).generate(sourcedir, paralleldir);
+
+        assertArrayEquals(
+                Files.readAllBytes(new File(serialdir, "main/config.js").toPath()),
+                Files.readAllBytes(new File(paralleldir, "main/config.js").toPath()));
+        assertEquals(searchIndexFiles(serialdir), searchIndexFiles(paralleldir));
+        Map<String, String> pages = pageFiles(serialdir);
+        assertTrue(pages.size() > 1, "pages should be rendered");
+        assertEquals(pages, pageFiles(paralleldir));
+
+        // rendered with the block extensions on every runtime
+        String intro = pages.get("pages/about/01_intro.js");
+        assertTrue(intro.contains("class=\"pillars\""), "pillars markup missing");
+        assertTrue(intro.contains("<v-card-title primary class=\"headline layout justify-center\">"),
+                "card markup missing");
+        assertTrue(intro.contains("More Fun Less Trouble"), "card title missing");
+    }
+
+    @Test
+    public void testIncrementalRendering() throws Exception {
+        File sourcedir = getFile(SOURCE_DIR_PREFIX + "testvuetify1");
+        File outputdir = getFile("target/vuetify-backend-test/testincremental");
+        File manifest = getFile("target/vuetify-backend-test/testincremental-manifest.ser");
+        manifest.delete();
+
+        incrementalSite(manifest).generate(sourcedir, outputdir);
+        Map<String, String> searchIndex = searchIndexFiles(outputdir);
+        assertTrue(searchIndex.size() > 2, "search index should have shards");
+        File page = new File(outputdir, "pages/about/01_intro.js");
+        assertTrue(page.exists());
+        assertTrue(page.setLastModified(0));
+
+        incrementalSite(manifest).generate(sourcedir, outputdir);
+        assertEquals(0, page.lastModified(), "page should not be rendered again");
+        assertEquals(searchIndex, searchIndexFiles(outputdir));
+    }
+
+    /**
+     * Read the search index manifest, documents and shards.
+     *
+     * @return the file contents indexed by relative path
+     */
+    private static Map<String, String> searchIndexFiles(File outputdir) throws IOException {
+        Map<String, String> files = new TreeMap<>();
+        Path manifest = new File(outputdir, "main/search-index.json").toPath();
+        files.put("main/search-index.json", new String(Files.readAllBytes(manifest), StandardCharsets.UTF_8));
+        try (Stream<Path> paths = Files.list(new File(outputdir, "main/search-index").toPath())) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                files.put("main/search-index/" + path.getFileName(),
+                        new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Read the rendered pages.
+     *
+     * @return the file contents indexed by relative path
+     */
+    private static Map<String, String> pageFiles(File outputdir) throws IOException {
+        Map<String, String> files = new TreeMap<>();
+        Path pagesdir = new File(outputdir, "pages").toPath();
+        try (Stream<Path> paths = Files.walk(pagesdir)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                if (path.toString().endsWith(".js")) {
+                    files.put("pages/" + pagesdir.relativize(path).toString().replace('\\', '/'),
+                            new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return files;
+    }
+
+    private static Site incrementalSite(File manifest) {
+        return Site.builder()
+                .pages(listOf(SourcePathFilter.builder()
+                        .includes(listOf("**/*.adoc"))
+                        .build()))
+                .backend(VuetifyBackend.builder()
+                        .homePage("home.adoc")
+                        .build())
+                .buildManifest(manifest)
+                .build();
+    }
+
+    private static Site parallelRenderingSite(int threads) {
+        return Site.builder()
+                .pages(listOf(SourcePathFilter.builder()
+                        .includes(listOf("**/*.adoc"))
+                        .build()))
+                .backend(VuetifyBackend.builder()
+                        .homePage("home.adoc")
+                        .navigation(VuetifyNavigation.builder()
+                                .title("Pet Project doc")
+                                .items(listOf(VuetifyNavigation.Group.builder()
+                                        .items(listOf(VuetifyNavigation.SubGroup.builder()
+                                                .pathprefix("/about")
+                                                .items(listOf(VuetifyNavigation.Pages.builder()
+                                                        .includes(listOf("about/*.adoc"))
+                                                        .build()))
+                                                .title("What is it about?")
+                                                .build()))
+                                        .title("Main documentation")
+                                        .build()))
+                                .build())
+                        .build())
+                .renderingThreads(threads)
+                .build();
+    }
 }
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.asciidoctor;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import io.helidon.build.sitegen.Site;
+import io.helidon.build.sitegen.SourcePathFilter;
+
+import org.asciidoctor.ast.StructuralNode;
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.sitegen.TestHelper.SOURCE_DIR_PREFIX;
+import static io.helidon.build.sitegen.TestHelper.getFile;
+import static io.helidon.common.CollectionsHelper.listOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link AsciidoctorPool}.
+ */
+public class AsciidoctorPoolTest {
+
+    private static final String BACKEND_NAME = "pool-test";
+    private static final List<String> NO_LIBRARIES = Collections.emptyList();
+
+    @Test
+    public void testKey() {
+        List<String> libraries = listOf("asciidoctor-diagram");
+        try {
+            AsciidoctorPool pool = AsciidoctorPool.get(BACKEND_NAME, NO_LIBRARIES, 1);
+            assertSame(pool, AsciidoctorPool.get(BACKEND_NAME, NO_LIBRARIES, 1));
+            assertNotSame(pool, AsciidoctorPool.get(BACKEND_NAME, libraries, 1));
+            assertNotSame(pool, AsciidoctorPool.get(BACKEND_NAME + "2", NO_LIBRARIES, 1));
+        } finally {
+            AsciidoctorPool.remove(BACKEND_NAME, NO_LIBRARIES);
+            AsciidoctorPool.remove(BACKEND_NAME, libraries);
+            AsciidoctorPool.remove(BACKEND_NAME + "2", NO_LIBRARIES);
+        }
+    }
+
+    @Test
+    public void testRemoveLeased() {
+        AsciidoctorPool pool = AsciidoctorPool.get(BACKEND_NAME, NO_LIBRARIES, 1);
+        try (AsciidoctorPool.Lease lease = pool.acquire()) {
+            AsciidoctorPool.remove(BACKEND_NAME, NO_LIBRARIES);
+            assertTrue(pool.isClosed());
+            assertNotSame(pool, AsciidoctorPool.get(BACKEND_NAME, NO_LIBRARIES, 1));
+            // the leased runtime is not shut down
+            assertEquals(1, pool.runtimeCount());
+            assertTrue(lease.asciidoctor().convert("*foo*", new HashMap<>()).contains("<strong>foo</strong>"));
+        } finally {
+            AsciidoctorPool.remove(BACKEND_NAME, NO_LIBRARIES);
+        }
+        assertEquals(0, pool.runtimeCount());
+    }
+
+    @Test
+    public void testRemoveAll() {
+        AsciidoctorPool pool = AsciidoctorPool.get(BACKEND_NAME, NO_LIBRARIES, 1);
+        assertFalse(pool.isClosed());
+        AsciidoctorPool.removeAll();
+        assertTrue(pool.isClosed());
+    }
+
+    @Test
+    public void testGrow() {
+        AsciidoctorPool pool = AsciidoctorPool.get(BACKEND_NAME, NO_LIBRARIES, 1);
+        try {
+            pool.grow(2);
+            assertEquals(2, pool.size());
+            try (AsciidoctorPool.Lease lease1 = pool.acquire();
+                    AsciidoctorPool.Lease lease2 = pool.acquire()) {
+                assertNotSame(lease1.asciidoctor(), lease2.asciidoctor());
+            }
+            assertEquals(2, pool.runtimeCount());
+        } finally {
+            AsciidoctorPool.remove(BACKEND_NAME, NO_LIBRARIES);
+        }
+    }
+
+    @Test
+    public void testRenderingThreads() throws Exception {
+        File sourcedir = getFile(SOURCE_DIR_PREFIX + "testbasic1");
+        File outputdir = getFile("target/asciidoctor-pool-test");
+        Site site = Site.builder()
+                .pages(listOf(SourcePathFilter.builder()
+                        .includes(listOf("**/*.adoc"))
+                        .excludes(listOf("**/_*"))
+                        .build()))
+                .renderingThreads(4)
+                .build();
+        site.generate(sourcedir, outputdir);
+        AsciidoctorPool pool = site.getEngine().asciidoc().pool();
+        assertTrue(pool.size() >= 4, "pool should be grown to the rendering threads");
+        try (AsciidoctorPool.Lease lease1 = pool.acquire();
+                AsciidoctorPool.Lease lease2 = pool.acquire()) {
+            assertNotSame(lease1.asciidoctor(), lease2.asciidoctor());
+        }
+        assertTrue(pool.runtimeCount() > 1, "more than one runtime should be created");
+    }
+
+    @Test
+    public void testBlockProcessors() {
+        String source = "[CARD]\n--\nA card.\n--\n\n[PILLARS]\n====\nSome pillars.\n====\n";
+        AsciidoctorPool pool = AsciidoctorPool.get(BACKEND_NAME, NO_LIBRARIES, 2);
+        try (AsciidoctorPool.Lease lease1 = pool.acquire();
+                AsciidoctorPool.Lease lease2 = pool.acquire()) {
+            assertNotSame(lease1.asciidoctor(), lease2.asciidoctor());
+            for (AsciidoctorPool.Lease lease : listOf(lease1, lease2)) {
+                List<StructuralNode> blocks = lease.asciidoctor().load(source, new HashMap<>()).getBlocks();
+                assertEquals(2, blocks.size());
+                assertEquals("card", blocks.get(0).getContext());
+                assertEquals("pillars", blocks.get(1).getContext());
+            }
+        } finally {
+            AsciidoctorPool.remove(BACKEND_NAME, NO_LIBRARIES);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.build.sitegen.asciidoctor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Unit tests for {@link DocumentHeaderScanner}.
+ */
+public class DocumentHeaderScannerTest {
+
+    private static final Path OUTPUT_DIR = Paths.get("target", "document-header-scanner-test");
+
+    private static Map<String, Object> scan(String name, String content) throws IOException {
+        Files.createDirectories(OUTPUT_DIR);
+        File file = OUTPUT_DIR.resolve(name).toFile();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return DocumentHeaderScanner.scan(file);
+    }
+
+    @Test
+    public void testTitleAndAttributes() throws IOException {
+        Map<String, Object> header = scan("title_and_attributes.adoc",
+                "////\ncomment\n////\n\n"
+                + "= The title\n"
+                + "John Doe <john@doe.com>\n"
+                + "// a comment\n"
+                + ":description: A description\n"
+                + ":Keywords: keyword1, keyword2\n"
+                + ":toc:\n"
+                + "\n"
+                + "== Section\n");
+        assertNotNull(header);
+        assertEquals("The title", header.get("doctitle"));
+        assertEquals("The title", header.get("h1"));
+        assertEquals("A description", header.get("description"));
+        assertEquals("keyword1, keyword2", header.get("keywords"));
+        assertEquals("", header.get("toc"));
+    }
+
+    @Test
+    public void testDoctitleAttribute() throws IOException {
+        Map<String, Object> header = scan("doctitle_attribute.adoc",
+                "= An h1 title\n"
+                + ":doctitle: The document title\n"
+                + ":foo: bar\n"
+                + ":foo!:\n");
+        assertNotNull(header);
+        assertEquals("The document title", header.get("doctitle"));
+        assertEquals("An h1 title", header.get("h1"));
+        assertFalse(header.containsKey("foo"));
+    }
+
+    @Test
+    public void testAttributesBeforeTitle() throws IOException {
+        Map<String, Object> header = scan("attributes_before_title.adoc",
+                "////\ncomment\n////\n\n"
+                + ":version: 1.0.0\n"
+                + "\n"
+                + "= The title\n"
+                + ":description: A description\n"
+                + "\n"
+                + "== Section\n");
+        assertNotNull(header);
+        assertEquals("The title", header.get("doctitle"));
+        assertEquals("The title", header.get("h1"));
+        assertEquals("1.0.0", header.get("version"));
+        assertEquals("A description", header.get("description"));
+    }
+
+    @Test
+    public void testNoHeader() throws IOException {
+        Map<String, Object> header = scan("no_header.adoc",
+                "A preamble\n"
+                + "\n"
+                + "= A level-0 section\n");
+        assertNotNull(header);
+        assertNull(header.get("doctitle"));
+        assertEquals("A level-0 section", header.get("h1"));
+    }
+
+    @Test
+    public void testUnsupportedHeaders() throws IOException {
+        assertNull(scan("setext.adoc", "The title\n=========\n"));
+        assertNull(scan("directive.adoc", "= Title\nifdef::foo[]\n:bar: baz\nendif::[]\n"));
+        assertNull(scan("reference.adoc", "= Title\n:description: {product} description\n"));
+        assertNull(scan("multiline.adoc", "= Title\n:description: A long \\\n description\n"));
+        assertNull(scan("block_attributes.adoc", "[[id]]\n= Title\n"));
+    }
+}
@@ -25,7 +25,6 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
 
 import com.github.difflib.DiffUtils;
 import com.github.difflib.algorithm.DiffException;
@@ -68,11 +67,10 @@ public class IncludePreprocessorTest {
         List<String> content = asList(contentText);
         expectedIncludes.add(new Include(2, 1, 5, asList(includedContentText), "A.java"));
 
-        AtomicInteger lineNumber = new AtomicInteger(0);
-        Block sba = Block.consumeBlock(content, lineNumber);
+        Block sba = Block.consumeBlock(content, 0);
         List<Include> includes = sba.includes();
 
-        assertEquals(content.size(), lineNumber.get(), "returned line number did not match");
+        assertEquals(content.size(), sba.endLineNumber(), "returned line number did not match");
         assertEquals(expectedIncludes, includes);
 
     }
@@ -122,7 +120,7 @@ public class IncludePreprocessorTest {
         int expectedEndWithinBlock = 2;
         int expectedFinalLineAfterConsuming = 7;
 
-        AtomicInteger lineNumber = new AtomicInteger(2);
+        int lineNumber = 2;
         List<String> result = new ArrayList<>();
         Include ia = Include.consumeBracketedInclude(content, lineNumber, result, result.size());
 
@@ -130,7 +128,7 @@ public class IncludePreprocessorTest {
         assertEquals(expectedEndWithinBlock, ia.endWithinBlock(), "unexpected end within block");
         assertEquals(includedContent, ia.body(), "unexpected body");
         assertEquals(expectedIncludeTarget, ia.includeTarget(), "unexpected include target");
-        assertEquals(expectedFinalLineAfterConsuming, lineNumber.get(), "unexpected final line number");
+        assertEquals(expectedFinalLineAfterConsuming, lineNumber + ia.bracketedSize(), "unexpected final line number");
     }
 
     @Test
@@ -318,8 +316,7 @@ public class IncludePreprocessorTest {
                 + "----"
         );
 
-        AtomicInteger lineNumber = new AtomicInteger(0);
-        Block sba = Block.consumeBlock(orig, lineNumber);
+        Block sba = Block.consumeBlock(orig, 0);
 
         List<String> bracketed = sba.asBracketedBlock();
         assertEquals(expectedBracketed, bracketed,
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.helidon.build.sitegen.asciidoctor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import io.helidon.build.sitegen.IncludeGraph;
+
+import org.asciidoctor.OptionsBuilder;
+import org.asciidoctor.SafeMode;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.sitegen.TestHelper.getFile;
+import static io.helidon.common.CollectionsHelper.listOf;
+import static io.helidon.common.CollectionsHelper.setOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link IncludeRecorder}.
+ */
+public class IncludeRecorderTest {
+
+    private static final String BACKEND_NAME = "include-recorder-test";
+    private static final List<String> NO_LIBRARIES = Collections.emptyList();
+    private static final File TEST_DIR = getFile("target/include-recorder-test");
+
+    @AfterAll
+    public static void cleanup() {
+        AsciidoctorPool.remove(BACKEND_NAME, NO_LIBRARIES);
+    }
+
+    private static Path write(String path, String content) throws IOException {
+        Path file = TEST_DIR.toPath().resolve(path).toAbsolutePath().normalize();
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static IncludeGraph load(Path document) {
+        IncludeGraph graph = new IncludeGraph();
+        AsciidoctorPool pool = AsciidoctorPool.get(BACKEND_NAME, NO_LIBRARIES, 1);
+        try (AsciidoctorPool.Lease lease = pool.acquire();
+                IncludeRecorder.Recording recording = IncludeRecorder.start(graph)) {
+            lease.asciidoctor().loadFile(document.toFile(), OptionsBuilder.options()
+                    .safe(SafeMode.UNSAFE)
+                    .baseDir(document.getParent().toFile())
+                    .asMap());
+        }
+        return graph;
+    }
+
+    @Test
+    public void testRecord() throws IOException {
+        Path sample = write("samples/Sample.java", "// tag::main[]\nclass Sample {}\n// end::main[]\n");
+        Path nested = write("docs/parts/_nested.adoc", "Nested.\n");
+        Path part = write("docs/parts/_part.adoc", "Part.\n\ninclude::_nested.adoc[]\n");
+        write("docs/_skipped.adoc", "Skipped.\n");
+        Path page = write("docs/page.adoc", "= Page\n"
+                + ":samples-dir: ../samples\n"
+                + "\n"
+                + "include::parts/_part.adoc[]\n"
+                + "\n"
+                + "ifdef::skip[]\n"
+                + "include::_skipped.adoc[]\n"
+                + "endif::[]\n"
+                + "\n"
+                + "[source,java]\n"
+                + "----\n"
+                + "include::{samples-dir}/Sample.java[tag=main]\n"
+                + "----\n");
+        IncludeGraph graph = load(page);
+        assertTrue(graph.contains(page));
+        assertTrue(graph.contains(sample));
+        assertEquals(setOf(part, nested, sample), graph.includes(page));
+        assertEquals(setOf(page, part), graph.dependents(listOf(nested)));
+        assertEquals(setOf(page), graph.dependents(listOf(sample)));
+    }
+
+    @Test
+    public void testRemoteInclude() throws IOException {
+        Path part = write("remote/_part.adoc", "include::https://example.com/remote.adoc[]\n");
+        Path page = write("remote/page.adoc", "= Page\n\ninclude::_part.adoc[]\n");
+        IncludeGraph graph = load(page);
+        assertFalse(graph.contains(page));
+        assertFalse(graph.contains(part));
+    }
+}
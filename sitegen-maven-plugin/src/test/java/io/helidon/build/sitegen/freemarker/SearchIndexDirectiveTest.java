@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package io.helidon.build.sitegen.freemarker;
+
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.sitegen.freemarker.SearchIndexDirective.stripHtmlMarkups;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests {@link SearchIndexDirective}.
+ *
+ * @author rgrecour
+ */
+public class SearchIndexDirectiveTest {
+
+    @Test
+    public void testStripTags() {
+        assertNull(stripHtmlMarkups(null));
+        assertEquals("", stripHtmlMarkups(""));
+        assertEquals(" Hello world ", stripHtmlMarkups("<p>Hello <b>world</b></p>"));
+        assertEquals(" a link ", stripHtmlMarkups("<a href=\"#\"\n   class=\"x\">a link</a>"));
+        assertEquals("a < b", stripHtmlMarkups("a < b"));
+    }
+
+    @Test
+    public void testWhitespaces() {
+        assertEquals(" foo bar ", stripHtmlMarkups("\n\t foo \\n \r\n  bar  "));
+        assertEquals("foobar", stripHtmlMarkups("foo\\nbar"));
+    }
+
+    @Test
+    public void testEntities() {
+        assertEquals("List<String> & \"x\" 'y'",
+                stripHtmlMarkups("List&lt;String&gt; &amp; &quot;x&quot; &apos;y&#39;"));
+        assertEquals("a b", stripHtmlMarkups("a&nbsp;&#160;b"));
+        assertEquals("\u00e9\u00e9", stripHtmlMarkups("&#233;&#xE9;"));
+        assertEquals("&foo; &#xZZ; & b", stripHtmlMarkups("&foo; &#xZZ; & b"));
+    }
+}
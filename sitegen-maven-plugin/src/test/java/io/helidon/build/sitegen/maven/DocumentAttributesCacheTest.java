@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.sitegen.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.helidon.build.sitegen.IncludeGraph;
+
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.sitegen.TestHelper.getFile;
+import static io.helidon.common.CollectionsHelper.listOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests {@link DocumentAttributesCache}.
+ *
+ * @author rgrecour
+ */
+public class DocumentAttributesCacheTest {
+
+    private static final File TEST_DIR = getFile("target/attributes-cache-test");
+
+    private static Path write(String path, String content) throws IOException {
+        Path file = TEST_DIR.toPath().resolve(path).toAbsolutePath().normalize();
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static Map<String, Object> settings(String version) {
+        Map<String, Object> settings = new HashMap<>();
+        settings.put("project.version", version);
+        return settings;
+    }
+
+    @Test
+    public void testCache() throws Exception {
+        Path doc = write("doc.adoc", "= Doc\n:foo: bar\n\ninclude::_part.adoc[]\n");
+        Path part = write("_part.adoc", "part\n");
+        IncludeGraph graph = new IncludeGraph();
+        graph.put(doc, listOf(part));
+        graph.put(part, listOf());
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("foo", "bar");
+        attributes.put("localdate", "2019-01-01");
+
+        File cacheFile = new File(TEST_DIR, "attributes.ser");
+        Files.deleteIfExists(cacheFile.toPath());
+        DocumentAttributesCache cache = DocumentAttributesCache.load(cacheFile, settings("1.0"));
+        assertNull(cache.get(doc, graph));
+        cache.put(doc, graph, attributes);
+        cache.save(cacheFile);
+
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("foo", "bar");
+        cache = DocumentAttributesCache.load(cacheFile, settings("1.0"));
+        assertEquals(expected, cache.get(doc, graph));
+
+        // project properties changed
+        assertNull(DocumentAttributesCache.load(cacheFile, settings("1.1")).get(doc, graph));
+
+        // included file changed
+        write("_part.adoc", "updated part\n");
+        assertNull(cache.get(doc, graph));
+    }
+
+    @Test
+    public void testNotCached() throws Exception {
+        Path doc = write("other.adoc", "= Other\n");
+        IncludeGraph graph = new IncludeGraph();
+        DocumentAttributesCache cache = DocumentAttributesCache.load(
+                new File(TEST_DIR, "other.ser"), settings("1.0"));
+
+        // includes not recorded
+        cache.put(doc, graph, new HashMap<>());
+        assertNull(cache.get(doc, graph));
+
+        // value cannot be persisted
+        graph.put(doc, listOf());
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("foo", new Object());
+        cache.put(doc, graph, attributes);
+        assertNull(cache.get(doc, graph));
+    }
+}
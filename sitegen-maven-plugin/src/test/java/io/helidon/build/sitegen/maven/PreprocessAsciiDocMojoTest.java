@@ -18,6 +18,7 @@ package io.helidon.build.sitegen.maven;
 
 import com.github.difflib.DiffUtils;
 import com.github.difflib.algorithm.DiffException;
+import io.helidon.build.sitegen.IncludeGraph;
 import io.helidon.build.sitegen.MavenPluginHelper;
 import static io.helidon.build.sitegen.TestHelper.getFile;
 import java.io.File;
@@ -31,6 +32,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -41,9 +43,9 @@ public class PreprocessAsciiDocMojoTest {
     private static final String[] EMPTY_STRING_ARRAY = new String[0];
 
     private static final File BASIC2_OUTPUT_DIR = getFile("target/basic-backend-test");
+    private static final File BUILD_DIR = getFile("target/preprocess-adoc-test");
 
     private static final Path TEST_ROOT = Paths.get("src/test/resources/testpreprocess");
-    private static final Path INCLUDES_TEST_ROOT = Paths.get("src/test/resources/preprocess-adoc");
 
     @Test
     public void testSimpleIncludes() throws IOException {
@@ -140,12 +142,18 @@ public class PreprocessAsciiDocMojoTest {
             Class<? extends AbstractAsciiDocMojo> mojoClass) throws Exception {
         AbstractAsciiDocMojo mojo = MavenPluginHelper.getInstance().getMojo(
                 pomFile,
-                INCLUDES_TEST_ROOT.toFile(),
+                BUILD_DIR,
                 goal,
                 mojoClass);
         mojo.execute();
+        assertTrue(mojo.includeGraphFile().exists(), "include graph not saved");
 
         String baseDir = mojo.project().getBasedir().toPath().toString();
+        Path inputDir = Paths.get(baseDir, "../preprocess-adoc").toAbsolutePath().normalize();
+        Set<Path> includes = IncludeGraph.load(mojo.includeGraphFile())
+                .includes(inputDir.resolve("variousIncludes.adoc"));
+        assertTrue(includes.contains(inputDir.resolve("aFewLines.adoc")), "include not recorded");
+        assertTrue(includes.contains(inputDir.resolve("fiveRandomLines.adoc")), "numbered include not recorded");
         Path mojoOutputPath = Paths.get(baseDir, "../../../../target/docs",
                 "variousIncludes.adoc").normalize();
         List<String> mojoOutput = Files.readAllLines(mojoOutputPath);
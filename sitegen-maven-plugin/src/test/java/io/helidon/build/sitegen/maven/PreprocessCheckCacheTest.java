@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2019 Oracle and/or its affiliates. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.build.sitegen.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+
+import io.helidon.build.sitegen.IncludeGraph;
+
+import org.junit.jupiter.api.Test;
+
+import static io.helidon.build.sitegen.TestHelper.getFile;
+import static io.helidon.common.CollectionsHelper.listOf;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link PreprocessCheckCache}.
+ *
+ * @author rgrecour
+ */
+public class PreprocessCheckCacheTest {
+
+    private static final File TEST_DIR = getFile("target/preprocess-check-cache-test");
+
+    private static Path write(String path, String content) throws IOException {
+        Path file = TEST_DIR.toPath().resolve(path).toAbsolutePath().normalize();
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Test
+    public void testChecked() throws Exception {
+        Path doc = write("src/doc.adoc", "= Doc\n\ninclude::_part.adoc[]\n");
+        Path part = write("src/_part.adoc", "part\n");
+        Path output = write("out/doc.adoc", "= Doc\n\n// _include::0-0:_part.adoc[]\npart\n");
+        IncludeGraph graph = new IncludeGraph();
+        graph.put(doc, listOf(part));
+
+        File cacheFile = new File(TEST_DIR, "check.ser");
+        Files.deleteIfExists(cacheFile.toPath());
+        PreprocessCheckCache cache = PreprocessCheckCache.load(cacheFile, new HashMap<>());
+        assertFalse(cache.isChecked(doc, output, graph));
+        cache.checked(doc, output, graph);
+        cache.save(cacheFile);
+
+        cache = PreprocessCheckCache.load(cacheFile, new HashMap<>());
+        assertTrue(cache.isChecked(doc, output, graph));
+
+        // output changed
+        write("out/doc.adoc", "= Doc\n");
+        assertFalse(cache.isChecked(doc, output, graph));
+        cache.checked(doc, output, graph);
+        assertTrue(cache.isChecked(doc, output, graph));
+
+        // included file changed
+        write("src/_part.adoc", "updated part\n");
+        assertFalse(cache.isChecked(doc, output, graph));
+
+        cache.checked(doc, output, graph);
+        cache.remove(doc);
+        assertFalse(cache.isChecked(doc, output, graph));
+    }
+}